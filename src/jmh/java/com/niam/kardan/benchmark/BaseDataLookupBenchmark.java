@@ -0,0 +1,39 @@
+package com.niam.kardan.benchmark;
+
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.service.GenericBaseDataService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GenericBaseDataService#getByCode} on a warm cache, i.e. the cost every transition paid per status lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseDataLookupBenchmark {
+    private GenericBaseDataService<TaskStatus> service;
+
+    @Setup
+    public void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // no EntityManager or registry: every lookup below is a cache hit
+        service = new GenericBaseDataService<>(TaskStatus.class, null, cacheManager, null);
+        for (TASK_STATUS status : TASK_STATUS.values()) {
+            TaskStatus taskStatus = new TaskStatus();
+            taskStatus.setCode(status.name());
+            cacheManager.getCache("basedata::TaskStatus::code").put(status.name(), taskStatus);
+        }
+    }
+
+    @Benchmark
+    public TaskStatus getByCode() {
+        return service.getByCode(TASK_STATUS.IN_PROGRESS.name());
+    }
+}
@@ -0,0 +1,72 @@
+package com.niam.kardan.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of base data values, which runs for every status embedded in an API response.
+ * {@code accessor} uses the current {@code BaseDataSerializer}; {@code reflective} the previous implementation.
+ * Run with the default {@code -prof gc} to compare allocation per operation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseDataSerializerBenchmark {
+    private ObjectMapper accessorMapper;
+    private ObjectMapper reflectiveMapper;
+    private TaskStatus value;
+    private List<BaseData> row;
+
+    @Setup
+    public void setUp() {
+        accessorMapper = new ObjectMapper();
+        reflectiveMapper = new ObjectMapper().addMixIn(BaseData.class, ReflectiveMixIn.class);
+        value = status(new TaskStatus(), 3L, "IN_PROGRESS", "In progress");
+        // the base data embedded in one execution list row
+        row = List.of(value, status(new ExecutionStatus(), 2L, "STARTED", "Started"),
+                status(new TaskStatus(), 1L, "PENDING", "Pending"));
+    }
+
+    @Benchmark
+    public byte[] accessor() throws Exception {
+        return accessorMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] reflective() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] accessorRow() throws Exception {
+        return accessorMapper.writeValueAsBytes(row);
+    }
+
+    @Benchmark
+    public byte[] reflectiveRow() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(row);
+    }
+
+    private static <T extends BaseData> T status(T status, Long id, String code, String name) {
+        if (status instanceof TaskStatus task) task.setId(id);
+        if (status instanceof ExecutionStatus execution) execution.setId(id);
+        status.setCode(code);
+        status.setName(name);
+        status.setDescription(name);
+        return status;
+    }
+
+    @JsonSerialize(using = ReflectiveBaseDataSerializer.class)
+    private abstract static class ReflectiveMixIn {
+    }
+}
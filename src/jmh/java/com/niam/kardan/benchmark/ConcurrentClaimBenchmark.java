@@ -0,0 +1,113 @@
+package com.niam.kardan.benchmark;
+
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.OperatorMachine;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.repository.OperatorMachineRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shift start: {@code terminals} operators claim their next task at the same moment. Each request first blocks for
+ * {@code ioMillis} (network, authentication, slow clients), then runs {@code claimNext} against the database.
+ * {@code platform} hands requests to a pool of 200 threads like Tomcat's default connector, {@code virtual} boots with
+ * the virtual profile and gives every request its own virtual thread, as Tomcat does with
+ * {@code spring.threads.virtual.enabled}. One invocation is one burst; terminals / score is the claim throughput.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ConcurrentClaimBenchmark"}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentClaimBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000"})
+    public int terminals;
+
+    @Param({"50"})
+    public int machines;
+
+    @Param({"0", "20"})
+    public long ioMillis;
+
+    private final KardanBenchmarkContext ctx = new KardanBenchmarkContext();
+    private final List<Machine> shopFloor = new ArrayList<>();
+    private ExecutorService requests;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        if ("virtual".equals(threads)) {
+            ctx.start("virtual");
+            requests = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            ctx.start();
+            requests = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < machines; i++) {
+            Machine machine = new Machine();
+            machine.setCode("LOAD-" + suffix + "-" + i);
+            machine.setMachineType(ctx.machine.getMachineType());
+            machine.setMachineStatus(ctx.machine.getMachineStatus());
+            machine = ctx.bean(MachineRepository.class).save(machine);
+            OperatorMachine assignment = new OperatorMachine();
+            assignment.setOperator(ctx.operator);
+            assignment.setMachine(machine);
+            assignment.setAssignedAt(LocalDateTime.now());
+            ctx.bean(OperatorMachineRepository.class).save(assignment);
+            shopFloor.add(machine);
+        }
+    }
+
+    // one pending task per terminal, spread over the machines
+    @Setup(Level.Iteration)
+    public void seed() {
+        for (int i = 0; i < terminals; i++) {
+            PartOperationTask task = new PartOperationTask();
+            task.setPartOperation(ctx.partOperation);
+            task.setTargetMachine(shopFloor.get(i % machines));
+            ctx.taskService.create(task);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException, InterruptedException {
+        requests.shutdown();
+        requests.awaitTermination(1, TimeUnit.MINUTES);
+        ctx.stop();
+    }
+
+    @Benchmark
+    public int shiftStart() throws Exception {
+        List<Future<Boolean>> claims = new ArrayList<>(terminals);
+        for (int i = 0; i < terminals; i++) {
+            Long machineId = shopFloor.get(i % machines).getId();
+            claims.add(requests.submit(() -> {
+                if (ioMillis > 0) Thread.sleep(ioMillis);
+                return ctx.executionService.claimNext(ctx.operator.getId(), machineId).isPresent();
+            }));
+        }
+        int claimed = 0;
+        for (Future<Boolean> claim : claims) {
+            if (claim.get()) claimed++;
+        }
+        return claimed;
+    }
+}
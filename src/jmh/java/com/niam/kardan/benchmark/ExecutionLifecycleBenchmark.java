@@ -0,0 +1,74 @@
+package com.niam.kardan.benchmark;
+
+import com.niam.kardan.model.OperationExecution;
+import com.niam.kardan.model.OperationStop;
+import com.niam.kardan.service.OperationExecutionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each execution transition against a real database, including the transaction, locking and flush.
+ * The state a transition needs (a pending task, a started or a stopped execution) is prepared per invocation.
+ * Run with {@code -prof gc} (the profile default) to also get allocation per call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ExecutionLifecycleBenchmark {
+
+    @State(Scope.Thread)
+    public static class PendingTask {
+        Long taskId;
+
+        @Setup(Level.Invocation)
+        public void prepare(KardanBenchmarkContext ctx) {
+            taskId = ctx.newTask().getId();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StartedExecution {
+        Long executionId;
+
+        @Setup(Level.Invocation)
+        public void prepare(KardanBenchmarkContext ctx) {
+            executionId = ctx.executionService.claimAndStartTask(
+                    ctx.newTask().getId(), ctx.operator.getId(), ctx.machine.getId()).getId();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StoppedExecution {
+        Long executionId;
+
+        @Setup(Level.Invocation)
+        public void prepare(KardanBenchmarkContext ctx) {
+            OperationExecutionService service = ctx.executionService;
+            executionId = service.claimAndStartTask(ctx.newTask().getId(), ctx.operator.getId(), ctx.machine.getId()).getId();
+            service.stopExecution(executionId, ctx.stopReason.getId(), "bench");
+        }
+    }
+
+    @Benchmark
+    public OperationExecution claimAndStartTask(KardanBenchmarkContext ctx, PendingTask task) {
+        return ctx.executionService.claimAndStartTask(task.taskId, ctx.operator.getId(), ctx.machine.getId());
+    }
+
+    @Benchmark
+    public OperationStop stopExecution(KardanBenchmarkContext ctx, StartedExecution exec) {
+        return ctx.executionService.stopExecution(exec.executionId, ctx.stopReason.getId(), "bench");
+    }
+
+    @Benchmark
+    public OperationExecution resumeAfterStop(KardanBenchmarkContext ctx, StoppedExecution exec) {
+        return ctx.executionService.resumeAfterStop(exec.executionId);
+    }
+
+    @Benchmark
+    public OperationExecution finishExecution(KardanBenchmarkContext ctx, StartedExecution exec) {
+        return ctx.executionService.finishExecution(exec.executionId);
+    }
+}
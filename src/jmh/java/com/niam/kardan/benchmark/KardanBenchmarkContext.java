@@ -0,0 +1,140 @@
+package com.niam.kardan.benchmark;
+
+import com.niam.kardan.KardanApplication;
+import com.niam.kardan.model.*;
+import com.niam.kardan.model.basedata.*;
+import com.niam.kardan.model.basedata.enums.*;
+import com.niam.kardan.repository.*;
+import com.niam.kardan.service.BaseDataRegistry;
+import com.niam.kardan.service.OperationExecutionService;
+import com.niam.kardan.service.PartOperationTaskService;
+import com.niam.kardan.service.UserAccountService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application once per trial against an embedded PostgreSQL and seeds one machine, one part operation
+ * and an operator assigned to the machine. Lifecycle benchmarks create their tasks through {@link #newTask()}.
+ */
+@State(Scope.Benchmark)
+public class KardanBenchmarkContext {
+    EmbeddedPostgres postgres;
+    ConfigurableApplicationContext context;
+    BaseDataRegistry registry;
+    OperationExecutionService executionService;
+    PartOperationTaskService taskService;
+    Machine machine;
+    PartOperation partOperation;
+    UserAccount operator;
+    StopReason stopReason;
+
+    @Setup
+    public void start() throws IOException {
+        start(new String[0]);
+    }
+
+    /**
+     * Boot with additional Spring profiles, for benchmarks that compare configurations.
+     */
+    void start(String... profiles) throws IOException {
+        start(profiles, new String[0]);
+    }
+
+    /**
+     * Boot with additional Spring profiles and {@code name=value} overrides of application.properties.
+     */
+    void start(String[] profiles, String... properties) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        // passed as command line arguments, which take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        for (String property : properties) args.add("--" + property);
+        context = new SpringApplicationBuilder(KardanApplication.class)
+                .profiles("init")
+                .profiles(profiles)
+                .run(args.toArray(String[]::new));
+        registry = context.getBean(BaseDataRegistry.class);
+        executionService = context.getBean(OperationExecutionService.class);
+        taskService = context.getBean(PartOperationTaskService.class);
+        seed();
+    }
+
+    @TearDown
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    PartOperationTask newTask() {
+        PartOperationTask task = new PartOperationTask();
+        task.setPartOperation(partOperation);
+        task.setTargetMachine(machine);
+        return taskService.create(task);
+    }
+
+    private void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        machine = new Machine();
+        machine.setCode("BENCH-" + suffix);
+        machine.setMachineType(registry.get(MachineType.class, MACHINE_TYPE.CNC));
+        machine.setMachineStatus(registry.get(MachineStatus.class, MACHINE_STATUS.ACTIVE));
+        machine = bean(MachineRepository.class).save(machine);
+
+        Project project = new Project();
+        project.setName("bench-" + suffix);
+        project.setStatus(registry.get(ProjectStatus.class, PROJECT_STATUS.IN_PROGRESS));
+        project = bean(ProjectRepository.class).save(project);
+
+        Part part = new Part();
+        part.setName("bench-" + suffix);
+        part.setCode("BENCH-" + suffix);
+        part.setProject(project);
+        part.setStatus(registry.get(PartStatus.class, PART_STATUS.IN_PROGRESS));
+        part = bean(PartRepository.class).save(part);
+
+        Operation operation = new Operation();
+        operation.setName("bench-" + suffix);
+        operation = bean(OperationRepository.class).save(operation);
+
+        partOperation = new PartOperation();
+        partOperation.setSequence(1);
+        partOperation.setPart(part);
+        partOperation.setOperation(operation);
+        partOperation.setMachine(machine);
+        partOperation.setPartOperationStatus(registry.get(PartOperationStatus.class, PART_OPERATION_STATUS.IN_PROGRESS));
+        partOperation = bean(PartOperationRepository.class).save(partOperation);
+
+        stopReason = new StopReason();
+        stopReason.setName("bench-" + suffix);
+        stopReason.setCategory(registry.get(StopReasonCategory.class, STOP_REASON_CATEGORY.MACHINE));
+        stopReason = bean(StopReasonRepository.class).save(stopReason);
+
+        // seeded by BaseDataInitializer under the init profile
+        operator = bean(UserAccountService.class).getByUsername("AmirNaby");
+        OperatorMachine assignment = new OperatorMachine();
+        assignment.setOperator(operator);
+        assignment.setMachine(machine);
+        assignment.setAssignedAt(LocalDateTime.now());
+        bean(OperatorMachineRepository.class).save(assignment);
+    }
+}
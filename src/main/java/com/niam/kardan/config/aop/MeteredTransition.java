@@ -0,0 +1,15 @@
+package com.niam.kardan.config.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times the annotated execution transition as {@code kardan.execution.transition}, tagged by transition and outcome.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MeteredTransition {
+    String value();
+}
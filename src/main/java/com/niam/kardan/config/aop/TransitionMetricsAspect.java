@@ -0,0 +1,79 @@
+package com.niam.kardan.config.aop;
+
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.kardan.exception.TransitionRejectedException;
+import com.niam.kardan.model.dto.TaskClaimResult;
+import com.niam.kardan.model.enums.TransitionOutcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Transition timers and task lock-wait timers. Runs outside the transaction advice so commit time is included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TransitionMetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(transition)")
+    public Object timeTransition(ProceedingJoinPoint joinPoint, MeteredTransition transition) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransitionOutcome outcome = TransitionOutcome.ERROR;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = result instanceof Optional<?> optional && optional.isEmpty()
+                    ? TransitionOutcome.NO_PENDING_TASK : TransitionOutcome.SUCCESS;
+            if (result instanceof List<?> results) countClaimResults(transition.value(), results);
+            return result;
+        } catch (TransitionRejectedException e) {
+            outcome = e.getOutcome();
+            throw e;
+        } catch (EntityNotFoundException e) {
+            outcome = TransitionOutcome.NOT_FOUND;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("kardan.execution.transition")
+                    .description("Execution state transitions")
+                    .tag("transition", transition.value())
+                    .tag("outcome", outcome.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Time spent acquiring the row locks on tasks (SELECT ... FOR UPDATE), i.e. waiting for concurrent claims.
+     */
+    @Around("execution(* com.niam.kardan.repository.PartOperationTaskRepository.*ForUpdate(..))")
+    public Object timeLockWait(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sample.stop(Timer.builder("kardan.task.lock.wait")
+                    .description("Task row lock acquisition")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry));
+        }
+    }
+
+    private void countClaimResults(String transition, List<?> results) {
+        for (Object result : results) {
+            if (result instanceof TaskClaimResult claim && claim.getOutcome() != null) {
+                meterRegistry.counter("kardan.execution.claim.results",
+                        "transition", transition, "outcome", claim.getOutcome().getTag()).increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.niam.kardan.config.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.service.BaseDataRegistry;
+import com.niam.kardan.util.EntityClassResolver;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Loads and refreshes {@code basedata::<Entity>::<id|code|all>} entries from the {@link BaseDataRegistry},
+ * so refresh-after-write never touches the database.
+ */
+class BaseDataCacheLoader implements CacheLoader<Object, Object> {
+    private final ObjectProvider<BaseDataRegistry> registry;
+    private final Class<? extends BaseData> type;
+    private final String kind;
+
+    BaseDataCacheLoader(String cacheName, ObjectProvider<BaseDataRegistry> registry, EntityClassResolver resolver) {
+        String[] parts = cacheName.split("::");
+        if (parts.length != 3) throw new IllegalArgumentException("Unexpected base data cache name: " + cacheName);
+        this.registry = registry;
+        this.type = resolver.resolve(parts[1]);
+        this.kind = parts[2];
+    }
+
+    @Override
+    public Object load(Object key) {
+        try {
+            return switch (kind) {
+                case "id" -> registry.getObject().getById(type, (Long) key);
+                case "code" -> registry.getObject().getByCode(type, (String) key);
+                case "all" -> registry.getObject().getAll(type);
+                default -> null;
+            };
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+}
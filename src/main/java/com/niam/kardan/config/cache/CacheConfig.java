@@ -0,0 +1,24 @@
+package com.niam.kardan.config.cache;
+
+import com.niam.kardan.service.BaseDataRegistry;
+import com.niam.kardan.util.EntityClassResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@EnableCaching
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    @Primary
+    public KardanCacheManager cacheManager(CacheProperties properties, ObjectProvider<BaseDataRegistry> registry,
+                                           EntityClassResolver resolver, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new KardanCacheManager(properties, registry, resolver, meterRegistry);
+    }
+}
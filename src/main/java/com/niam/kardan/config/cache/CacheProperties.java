@@ -0,0 +1,26 @@
+package com.niam.kardan.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specs per cache name, e.g. {@code kardan.cache.specs[machine]=maximumSize=2000,expireAfterWrite=30m}.
+ * Dynamic caches such as {@code basedata::TaskStatus::code} are matched by their prefix ({@code basedata}).
+ */
+@Data
+@ConfigurationProperties(prefix = "kardan.cache")
+public class CacheProperties {
+    private String defaultSpec = "maximumSize=500,expireAfterWrite=10m";
+    private Map<String, String> specs = new LinkedHashMap<>();
+
+    public String specFor(String cacheName) {
+        String spec = specs.get(cacheName);
+        if (spec == null && cacheName.contains("::")) {
+            spec = specs.get(cacheName.substring(0, cacheName.indexOf("::")));
+        }
+        return spec != null ? spec : defaultSpec;
+    }
+}
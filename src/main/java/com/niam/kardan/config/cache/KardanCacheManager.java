@@ -0,0 +1,79 @@
+package com.niam.kardan.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.niam.kardan.model.dto.CacheStatistics;
+import com.niam.kardan.service.BaseDataRegistry;
+import com.niam.kardan.util.EntityClassResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches with a spec per cache name (see {@link CacheProperties}) and statistics always recorded.
+ * refreshAfterWrite is only supported on {@code basedata::*} caches, which reload from the {@link BaseDataRegistry}.
+ * Caches are created on first use, so each one is bound to Micrometer here rather than by the startup registrar.
+ */
+public class KardanCacheManager extends CaffeineCacheManager {
+    static final String BASE_DATA_PREFIX = "basedata::";
+    private static final String CACHE_MANAGER_TAG = "cache.manager";
+
+    private final CacheProperties properties;
+    private final ObjectProvider<BaseDataRegistry> registry;
+    private final EntityClassResolver resolver;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public KardanCacheManager(CacheProperties properties, ObjectProvider<BaseDataRegistry> registry,
+                              EntityClassResolver resolver, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.resolver = resolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Cache<Object, Object> createNativeCaffeineCache(String name) {
+        Cache<Object, Object> cache = buildNativeCaffeineCache(name);
+        // same tags as Spring Boot's CacheMetricsRegistrar, so meters never clash
+        meterRegistry.ifAvailable(r -> CaffeineCacheMetrics.monitor(r, cache, name, CACHE_MANAGER_TAG, "cacheManager"));
+        return cache;
+    }
+
+    private Cache<Object, Object> buildNativeCaffeineCache(String name) {
+        String spec = properties.specFor(name);
+        Caffeine<Object, Object> builder = Caffeine.from(CaffeineSpec.parse(spec)).recordStats();
+        if (!spec.contains("refreshAfterWrite")) {
+            return builder.build();
+        }
+        if (!name.startsWith(BASE_DATA_PREFIX)) {
+            throw new IllegalStateException("refreshAfterWrite needs a loader and is only supported for "
+                    + BASE_DATA_PREFIX + "* caches, not " + name);
+        }
+        return builder.build(new BaseDataCacheLoader(name, registry, resolver));
+    }
+
+    public List<CacheStatistics> statistics() {
+        return getCacheNames().stream().sorted()
+                .map(this::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats stats = cache.getNativeCache().stats();
+                    return CacheStatistics.builder()
+                            .name(cache.getName())
+                            .size(cache.getNativeCache().estimatedSize())
+                            .hitCount(stats.hitCount())
+                            .missCount(stats.missCount())
+                            .hitRate(stats.hitRate())
+                            .evictionCount(stats.evictionCount())
+                            .build();
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.niam.kardan.config.cache;
+
+import com.niam.kardan.util.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned keys for the paged-list caches ({@code machines}, {@code parts}, ...).
+ * A write bumps the version of its list cache, so older pages become unreachable and age out through the
+ * cache's TTL and size bound, while single-entity caches and other list caches keep their entries.
+ * <p>
+ * Usage: {@code @Cacheable(value = "machines", key = "@pageCacheVersions.key('machines', #requestParams)")}
+ */
+@Component("pageCacheVersions")
+public class PageCacheVersions {
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public Object key(String cacheName, Map<String, Object> requestParams) {
+        // copy: getAll() consumes the request params while building its Specification
+        Map<String, Object> params = requestParams == null
+                ? Map.of() : Collections.unmodifiableMap(new HashMap<>(requestParams));
+        return new VersionedKey(version(cacheName).get(), params);
+    }
+
+    /**
+     * Invalidate every cached page of the given caches once the current transaction commits.
+     */
+    public void bump(String... cacheNames) {
+        AfterCommit.run(() -> increment(cacheNames));
+    }
+
+    private void increment(String... cacheNames) {
+        for (String cacheName : cacheNames) version(cacheName).incrementAndGet();
+    }
+
+    private AtomicLong version(String cacheName) {
+        return versions.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private record VersionedKey(long version, Map<String, Object> params) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.niam.kardan.config.generation;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TaskGenerationProperties.class)
+public class TaskGenerationConfig {
+}
@@ -0,0 +1,15 @@
+package com.niam.kardan.config.generation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk task generation: parts are split into slices of {@code partitionSize}, and up to {@code parallelism} slices are
+ * written at once, each in its own transaction. Keep {@code parallelism} well below the connection pool size.
+ */
+@Data
+@ConfigurationProperties(prefix = "kardan.task-generation")
+public class TaskGenerationProperties {
+    private int parallelism = 4;
+    private int partitionSize = 500;
+}
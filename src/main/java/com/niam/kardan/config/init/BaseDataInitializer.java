@@ -20,6 +20,8 @@ import org.reflections.Reflections;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +42,8 @@ public class BaseDataInitializer {
     private final RoleService roleService;
     private final PermissionService permissionService;
 
+    // seeds before BaseDataRegistry loads its snapshots
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     @EventListener(ApplicationReadyEvent.class)
     @Transactional("transactionManager")
     public void init() {
@@ -0,0 +1,14 @@
+package com.niam.kardan.config.outbox;
+
+import com.niam.kardan.model.dto.OutboxMessage;
+
+/**
+ * Destination of relayed execution events. A message counts as delivered when {@link #deliver} returns; throwing
+ * keeps it, and every later message of the same machine, in the outbox for the next attempt. With several sinks the
+ * retried message goes to all of them again.
+ */
+public interface ExecutionEventSink {
+    String name();
+
+    void deliver(OutboxMessage message) throws Exception;
+}
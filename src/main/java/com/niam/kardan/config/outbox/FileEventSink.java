@@ -0,0 +1,50 @@
+package com.niam.kardan.config.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.niam.kardan.model.dto.OutboxMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends one JSON line per event, with the outbox id and machine sequence next to the event itself. Writes are
+ * serialized with a lock rather than {@code synchronized}, which would pin a virtual thread for the whole write.
+ */
+public class FileEventSink implements ExecutionEventSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileEventSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode()
+                .put("id", message.id())
+                .put("machineId", message.machineId())
+                .put("machineSequence", message.machineSequence())
+                .put("type", message.eventType());
+        line.set("event", objectMapper.readTree(message.payload()));
+        String json = objectMapper.writeValueAsString(line) + System.lineSeparator();
+        lock.lock();
+        try {
+            Files.writeString(path, json, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.niam.kardan.config.outbox;
+
+import com.niam.kardan.model.dto.OutboxMessage;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process sink: keeps the last {@code capacity} delivered messages and hands each one to registered listeners.
+ * A listener that throws fails the delivery like a remote sink would.
+ */
+public class LocalEventSink implements ExecutionEventSink {
+    private final int capacity;
+    private final Deque<OutboxMessage> delivered = new ArrayDeque<>();
+    private final List<Consumer<OutboxMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    public LocalEventSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+        synchronized (delivered) {
+            if (delivered.size() == capacity) delivered.removeFirst();
+            delivered.addLast(message);
+        }
+    }
+
+    public void addListener(Consumer<OutboxMessage> listener) {
+        listeners.add(listener);
+    }
+
+    public List<OutboxMessage> delivered() {
+        synchronized (delivered) {
+            return List.copyOf(delivered);
+        }
+    }
+}
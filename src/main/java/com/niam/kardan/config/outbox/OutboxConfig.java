@@ -0,0 +1,32 @@
+package com.niam.kardan.config.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty("kardan.outbox.webhook.url")
+    public WebhookEventSink webhookEventSink(OutboxProperties properties) {
+        return new WebhookEventSink(properties.getWebhook().getUrl(), properties.getWebhook().getTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty("kardan.outbox.file.path")
+    public FileEventSink fileEventSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileEventSink(Path.of(properties.getFile().getPath()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "kardan.outbox.local.enabled", havingValue = "true")
+    public LocalEventSink localEventSink(OutboxProperties properties) {
+        return new LocalEventSink(properties.getLocal().getCapacity());
+    }
+}
@@ -0,0 +1,47 @@
+package com.niam.kardan.config.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Execution event outbox. Events are written with every transition while {@code enabled}; the relay drains up to
+ * {@code batchSize} of them, at most {@code perMachine} per machine, every {@code pollInterval} to the sinks configured
+ * below, holding each batch for at most {@code lease}. An event that fails {@code maxAttempts} times is parked. Off by default; with no sink configured nothing is
+ * written.
+ */
+@Data
+@ConfigurationProperties(prefix = "kardan.outbox")
+public class OutboxProperties {
+    private boolean enabled = false;
+    private int batchSize = 200;
+    private int perMachine = 20;
+    private int maxAttempts = 10;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    // how long a relay holds a batch; delivery stops halfway through it and returns the rest
+    private Duration lease = Duration.ofMinutes(2);
+    private final Webhook webhook = new Webhook();
+    private final File file = new File();
+    private final Local local = new Local();
+
+    @Data
+    public static class Webhook {
+        // POST target; unset disables the sink
+        private String url;
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class File {
+        // JSON lines appended per event; unset disables the sink
+        private String path;
+    }
+
+    @Data
+    public static class Local {
+        // in-process sink for tests and local setups
+        private boolean enabled = false;
+        private int capacity = 1000;
+    }
+}
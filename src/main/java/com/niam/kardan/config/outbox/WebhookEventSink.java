@@ -0,0 +1,40 @@
+package com.niam.kardan.config.outbox;
+
+import com.niam.kardan.model.dto.OutboxMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * POSTs the event JSON to a fixed URL; any non-2xx response counts as a failed delivery.
+ */
+public class WebhookEventSink implements ExecutionEventSink {
+    private final RestClient restClient;
+
+    public WebhookEventSink(String url, Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Outbox-Id", String.valueOf(message.id()))
+                .header("X-Machine-Id", String.valueOf(message.machineId()))
+                .header("X-Machine-Sequence", String.valueOf(message.machineSequence()))
+                .body(message.payload())
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
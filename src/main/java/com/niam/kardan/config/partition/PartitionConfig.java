@@ -0,0 +1,11 @@
+package com.niam.kardan.config.partition;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@Configuration
+@EnableConfigurationProperties(PartitioningProperties.class)
+public class PartitionConfig {
+}
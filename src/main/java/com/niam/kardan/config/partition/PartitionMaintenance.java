@@ -0,0 +1,63 @@
+package com.niam.kardan.config.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts the execution tables to monthly partitions once Hibernate has created them, keeps partitions for the
+ * coming months in place and moves expired months to the archive schema. The SQL lives in V2__monthly_partitioning.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "kardan.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionMaintenance {
+    private static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("operation_execution", "claimed_at", "coalesce(start_time, end_time, localtimestamp)"),
+            new PartitionedTable("operation_stop", "started_at", "coalesce(ended_at, localtimestamp)"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        for (PartitionedTable table : TABLES) {
+            Boolean converted = jdbcTemplate.queryForObject("select kardan_partition_by_month(?, ?, ?)", Boolean.class,
+                    table.name(), table.partitionKey(), table.backfill());
+            if (Boolean.TRUE.equals(converted)) log.info("{} converted to monthly partitions on {}", table.name(), table.partitionKey());
+        }
+        // hot lookup of open stops; partial, so it only holds the handful of rows still open
+        jdbcTemplate.execute("create index if not exists idx_operation_stop_open on operation_stop (operation_execution_id) " +
+                "where ended_at is null");
+        // same for unfinished executions, read when the machine board is rebuilt
+        jdbcTemplate.execute("create index if not exists idx_operation_execution_open on operation_execution (machine_id) " +
+                "where end_time is null");
+        maintain();
+    }
+
+    @Scheduled(cron = "${kardan.partitioning.cron:0 30 2 * * *}")
+    public void maintain() {
+        for (PartitionedTable table : TABLES) {
+            Integer created = jdbcTemplate.queryForObject("select kardan_ensure_month_partitions(?, ?)", Integer.class,
+                    table.name(), properties.getMonthsAhead());
+            Integer archived = properties.getRetentionMonths() <= 0 ? Integer.valueOf(0)
+                    : jdbcTemplate.queryForObject("select kardan_archive_month_partitions(?, ?, ?)", Integer.class,
+                    table.name(), properties.getRetentionMonths(), properties.getArchiveSchema());
+            if (created != null && created > 0 || archived != null && archived > 0) {
+                log.info("{}: {} partitions created, {} archived to {}", table.name(), created, archived,
+                        properties.getArchiveSchema());
+            }
+        }
+    }
+
+    private record PartitionedTable(String name, String partitionKey, String backfill) {
+    }
+}
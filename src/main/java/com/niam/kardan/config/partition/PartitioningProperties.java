@@ -0,0 +1,17 @@
+package com.niam.kardan.config.partition;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Monthly partitioning of {@code operation_execution} and {@code operation_stop}.
+ * {@code retentionMonths = 0} keeps every partition attached.
+ */
+@Data
+@ConfigurationProperties(prefix = "kardan.partitioning")
+public class PartitioningProperties {
+    private boolean enabled = true;
+    private int monthsAhead = 2;
+    private int retentionMonths = 0;
+    private String archiveSchema = "kardan_archive";
+}
@@ -0,0 +1,29 @@
+package com.niam.kardan.controller;
+
+import com.niam.common.model.response.ServiceResponse;
+import com.niam.common.utils.ResponseEntityUtil;
+import com.niam.kardan.config.cache.KardanCacheManager;
+import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.usermanagement.annotation.HasPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/caches")
+public class CacheController {
+    private final KardanCacheManager cacheManager;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    /**
+     * Hit, miss and eviction counters of every local cache.
+     */
+    @HasPermission(PRIVILEGE.APP_MANAGE)
+    @GetMapping
+    public ResponseEntity<ServiceResponse> getCacheStatistics() {
+        return responseEntityUtil.ok(cacheManager.statistics());
+    }
+}
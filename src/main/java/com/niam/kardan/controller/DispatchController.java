@@ -0,0 +1,40 @@
+package com.niam.kardan.controller;
+
+import com.niam.common.model.response.ServiceResponse;
+import com.niam.common.utils.ResponseEntityUtil;
+import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.DispatchQueue;
+import com.niam.usermanagement.annotation.HasPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/dispatch")
+public class DispatchController {
+    private static final int MAX_PEEK = 100;
+
+    private final DispatchQueue dispatchQueue;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @GetMapping("/machines/{machineId}/next")
+    public ResponseEntity<ServiceResponse> nextTask(@PathVariable Long machineId) {
+        return responseEntityUtil.ok(dispatchQueue.nextTask(machineId).orElse(null));
+    }
+
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @GetMapping("/machines/{machineId}/queue")
+    public ResponseEntity<ServiceResponse> peek(@PathVariable Long machineId,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return responseEntityUtil.ok(dispatchQueue.peek(machineId, Math.clamp(limit, 1, MAX_PEEK)));
+    }
+
+    @HasPermission(PRIVILEGE.APP_MANAGE)
+    @PostMapping("/rebuild")
+    public ResponseEntity<ServiceResponse> rebuild() {
+        dispatchQueue.rebuild();
+        return responseEntityUtil.ok("Dispatch queue rebuilt");
+    }
+}
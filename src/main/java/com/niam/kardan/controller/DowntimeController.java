@@ -0,0 +1,41 @@
+package com.niam.kardan.controller;
+
+import com.niam.common.model.response.ServiceResponse;
+import com.niam.common.utils.ResponseEntityUtil;
+import com.niam.kardan.model.enums.DowntimeDimension;
+import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.DowntimeRollupService;
+import com.niam.usermanagement.annotation.HasPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/downtime")
+public class DowntimeController {
+    private final DowntimeRollupService downtimeRollupService;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    /**
+     * Downtime of {@code [from, to)} grouped by stop reason, stop reason category, machine or hour.
+     */
+    @HasPermission(PRIVILEGE.MACHINE_VIEW)
+    @GetMapping
+    public ResponseEntity<ServiceResponse> getDowntime(@RequestParam(defaultValue = "REASON") DowntimeDimension groupBy,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                       @RequestParam(required = false) Long machineId) {
+        return responseEntityUtil.ok(downtimeRollupService.getDowntime(groupBy, from, to, machineId));
+    }
+
+    @HasPermission(PRIVILEGE.APP_MANAGE)
+    @PostMapping("/rebuild")
+    public ResponseEntity<ServiceResponse> rebuild(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return responseEntityUtil.ok(downtimeRollupService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,51 @@
+package com.niam.kardan.controller;
+
+import com.niam.common.exception.BusinessException;
+import com.niam.common.model.response.ServiceResponse;
+import com.niam.common.utils.ResponseEntityUtil;
+import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.RoutingImportService;
+import com.niam.usermanagement.annotation.HasPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/imports")
+public class ImportController {
+    private final RoutingImportService routingImportService;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    /**
+     * Bulk load parts, part operations and tasks. {@code format} is {@code csv} or {@code json}; when omitted it is
+     * taken from the file name or content type.
+     */
+    @HasPermission(PRIVILEGE.PART_MANAGE)
+    @PostMapping("/routings")
+    public ResponseEntity<ServiceResponse> importRoutings(@RequestParam("file") MultipartFile file,
+                                                          @RequestParam(required = false) String format) throws IOException {
+        boolean json = isJson(file, format);
+        try (InputStream input = file.getInputStream()) {
+            return responseEntityUtil.ok(json ? routingImportService.importJson(input) : routingImportService.importCsv(input));
+        }
+    }
+
+    private static boolean isJson(MultipartFile file, String format) {
+        if (format != null) {
+            return switch (format.toLowerCase(Locale.ROOT)) {
+                case "json" -> true;
+                case "csv" -> false;
+                default -> throw new BusinessException("Unsupported import format: " + format);
+            };
+        }
+        String name = file.getOriginalFilename();
+        if (name != null && name.toLowerCase(Locale.ROOT).endsWith(".json")) return true;
+        return file.getContentType() != null && file.getContentType().contains("json");
+    }
+}
@@ -4,6 +4,7 @@ import com.niam.common.model.response.ServiceResponse;
 import com.niam.common.utils.ResponseEntityUtil;
 import com.niam.kardan.model.Machine;
 import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.MachineBoard;
 import com.niam.kardan.service.MachineService;
 import com.niam.usermanagement.annotation.HasPermission;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import java.util.Map;
 @RequestMapping("api/v1/machines")
 public class MachineController {
     private final MachineService machineService;
+    private final MachineBoard machineBoard;
     private final ResponseEntityUtil responseEntityUtil;
 
     @HasPermission(PRIVILEGE.MACHINE_MANAGE)
@@ -49,4 +51,17 @@ public class MachineController {
     public ResponseEntity<ServiceResponse> findAllMachines(@RequestParam Map<String, Object> requestParams) {
         return responseEntityUtil.ok(machineService.getAll(requestParams));
     }
-}
\ No newline at end of file
+
+    @HasPermission(PRIVILEGE.MACHINE_VIEW)
+    @GetMapping("/board")
+    public ResponseEntity<ServiceResponse> board() {
+        return responseEntityUtil.ok(machineBoard.board());
+    }
+
+    @HasPermission(PRIVILEGE.APP_MANAGE)
+    @PostMapping("/board/rebuild")
+    public ResponseEntity<ServiceResponse> rebuildBoard() {
+        machineBoard.rebuild();
+        return responseEntityUtil.ok("Machine board rebuilt");
+    }
+}
@@ -0,0 +1,36 @@
+package com.niam.kardan.controller;
+
+import com.niam.common.model.response.ServiceResponse;
+import com.niam.common.utils.ResponseEntityUtil;
+import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.OeeService;
+import com.niam.usermanagement.annotation.HasPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/oee")
+public class OeeController {
+    private final OeeService oeeService;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    /**
+     * Availability, performance and quality per machine, shift and day; every filter is optional.
+     */
+    @HasPermission(PRIVILEGE.MACHINE_VIEW)
+    @GetMapping
+    public ResponseEntity<ServiceResponse> getOee(@RequestParam(required = false) Long machineId,
+                                                  @RequestParam(required = false) Long shiftId,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return responseEntityUtil.ok(oeeService.getOee(machineId, shiftId, from, to));
+    }
+}
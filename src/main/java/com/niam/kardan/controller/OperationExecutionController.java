@@ -4,18 +4,28 @@ import com.niam.common.model.response.ServiceResponse;
 import com.niam.common.utils.ResponseEntityUtil;
 import com.niam.kardan.model.OperationExecution;
 import com.niam.kardan.model.OperationStop;
+import com.niam.kardan.model.dto.TaskClaimResult;
 import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.ExecutionEventStream;
 import com.niam.kardan.service.OperationExecutionService;
+import com.niam.kardan.util.KeysetPaginationUtils;
 import com.niam.usermanagement.annotation.HasPermission;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("api/v1/executions")
 public class OperationExecutionController {
     private final OperationExecutionService operationExecutionService;
+    private final ExecutionEventStream executionEventStream;
+    private final KeysetPaginationUtils keysetPaginationUtils;
     private final ResponseEntityUtil responseEntityUtil;
 
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
@@ -26,6 +36,20 @@ public class OperationExecutionController {
         return responseEntityUtil.ok(exec);
     }
 
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @PostMapping("/tasks/claim")
+    public ResponseEntity<ServiceResponse> claimAndStartBatch(@RequestBody List<Long> taskIds, @RequestParam Long operatorId,
+                                                              @RequestParam Long machineId) {
+        List<TaskClaimResult> results = operationExecutionService.claimAndStartTasks(taskIds, operatorId, machineId);
+        return responseEntityUtil.ok(results);
+    }
+
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @PostMapping("/tasks/next")
+    public ResponseEntity<ServiceResponse> claimNext(@RequestParam Long operatorId, @RequestParam Long machineId) {
+        return responseEntityUtil.ok(operationExecutionService.claimNext(operatorId, machineId).orElse(null));
+    }
+
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
     @PostMapping("/{executionId}/stop")
     public ResponseEntity<ServiceResponse> stopExecution(@PathVariable Long executionId, @RequestParam Long stopReasonId,
@@ -44,6 +68,35 @@ public class OperationExecutionController {
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
     @GetMapping("/{id}")
     public ResponseEntity<ServiceResponse> getExecution(@PathVariable Long id) {
-        return responseEntityUtil.ok(operationExecutionService.getById(id));
+        return responseEntityUtil.ok(operationExecutionService.getView(id));
+    }
+
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @GetMapping
+    public ResponseEntity<ServiceResponse> getAll(@RequestParam Map<String, Object> requestParams) {
+        if (keysetPaginationUtils.isRequested(requestParams)) {
+            return responseEntityUtil.ok(operationExecutionService.scroll(requestParams));
+        }
+        return responseEntityUtil.ok(operationExecutionService.getAll(requestParams));
+    }
+
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @GetMapping("/stops")
+    public ResponseEntity<ServiceResponse> getAllStops(@RequestParam Map<String, Object> requestParams) {
+        if (keysetPaginationUtils.isRequested(requestParams)) {
+            return responseEntityUtil.ok(operationExecutionService.scrollStops(requestParams));
+        }
+        return responseEntityUtil.ok(operationExecutionService.getAllStops(requestParams));
+    }
+
+    /**
+     * Server-Sent Events stream of execution transitions, optionally filtered by machine, shift and part.
+     */
+    @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Long machineId,
+                             @RequestParam(required = false) Long shiftId,
+                             @RequestParam(required = false) Long partId) {
+        return executionEventStream.subscribe(machineId, shiftId, partId);
     }
 }
\ No newline at end of file
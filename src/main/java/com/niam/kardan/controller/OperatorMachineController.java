@@ -4,6 +4,7 @@ import com.niam.common.model.response.ServiceResponse;
 import com.niam.common.utils.ResponseEntityUtil;
 import com.niam.kardan.model.OperatorMachine;
 import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.OperatorAuthorization;
 import com.niam.kardan.service.OperatorMachineService;
 import com.niam.usermanagement.annotation.HasPermission;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import java.util.Map;
 @RequestMapping("api/v1/operator-machines")
 public class OperatorMachineController {
     private final OperatorMachineService operatorMachineService;
+    private final OperatorAuthorization operatorAuthorization;
     private final ResponseEntityUtil responseEntityUtil;
 
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
@@ -55,4 +57,11 @@ public class OperatorMachineController {
     public ResponseEntity<ServiceResponse> findActiveMachines(@PathVariable Long operatorId) {
         return responseEntityUtil.ok(operatorMachineService.findActiveMachinesByOperator(operatorId));
     }
+
+    @HasPermission(PRIVILEGE.APP_MANAGE)
+    @PostMapping("/authorization/rebuild")
+    public ResponseEntity<ServiceResponse> rebuildAuthorization() {
+        operatorAuthorization.rebuild();
+        return responseEntityUtil.ok("Operator authorization rebuilt");
+    }
 }
\ No newline at end of file
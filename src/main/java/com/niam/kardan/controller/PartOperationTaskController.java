@@ -5,6 +5,7 @@ import com.niam.common.utils.ResponseEntityUtil;
 import com.niam.kardan.model.PartOperationTask;
 import com.niam.kardan.model.enums.PRIVILEGE;
 import com.niam.kardan.service.PartOperationTaskService;
+import com.niam.kardan.util.KeysetPaginationUtils;
 import com.niam.usermanagement.annotation.HasPermission;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import java.util.Map;
 @RequestMapping("api/v1/part-operation-tasks")
 public class PartOperationTaskController {
     private final PartOperationTaskService partOperationTaskService;
+    private final KeysetPaginationUtils keysetPaginationUtils;
     private final ResponseEntityUtil responseEntityUtil;
 
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
@@ -41,12 +43,15 @@ public class PartOperationTaskController {
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
     @GetMapping("/{id}")
     public ResponseEntity<ServiceResponse> getById(@PathVariable Long id) {
-        return responseEntityUtil.ok(partOperationTaskService.getById(id));
+        return responseEntityUtil.ok(partOperationTaskService.getView(id));
     }
 
     @HasPermission(PRIVILEGE.OPERATION_EXECUTION)
     @GetMapping
     public ResponseEntity<ServiceResponse> getAll(@RequestParam Map<String, Object> requestParams) {
+        if (keysetPaginationUtils.isRequested(requestParams)) {
+            return responseEntityUtil.ok(partOperationTaskService.scroll(requestParams));
+        }
         return responseEntityUtil.ok(partOperationTaskService.getAll(requestParams));
     }
 
@@ -5,6 +5,7 @@ import com.niam.common.utils.ResponseEntityUtil;
 import com.niam.kardan.model.Project;
 import com.niam.kardan.model.enums.PRIVILEGE;
 import com.niam.kardan.service.ProjectService;
+import com.niam.kardan.service.TaskGenerationService;
 import com.niam.usermanagement.annotation.HasPermission;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import java.util.Map;
 @RequestMapping("api/v1/projects")
 public class ProjectController {
     private final ProjectService projectService;
+    private final TaskGenerationService taskGenerationService;
     private final ResponseEntityUtil responseEntityUtil;
 
     @HasPermission(PRIVILEGE.PROJECT_MANAGE)
@@ -44,6 +46,15 @@ public class ProjectController {
         return responseEntityUtil.ok(projectService.getById(id));
     }
 
+    /**
+     * Release the project to the floor: create the missing tasks of every part's routing.
+     */
+    @HasPermission(PRIVILEGE.PROJECT_MANAGE)
+    @PostMapping("/{id}/tasks")
+    public ResponseEntity<ServiceResponse> generateTasks(@PathVariable Long id) {
+        return responseEntityUtil.ok(taskGenerationService.generateForProject(id));
+    }
+
     @HasPermission(PRIVILEGE.PROJECT_VIEW)
     @GetMapping
     public ResponseEntity<ServiceResponse> findAllProjects(@RequestParam Map<String, Object> requestParams) {
@@ -0,0 +1,36 @@
+package com.niam.kardan.controller;
+
+import com.niam.common.model.response.ServiceResponse;
+import com.niam.common.utils.ResponseEntityUtil;
+import com.niam.kardan.model.enums.PRIVILEGE;
+import com.niam.kardan.service.SchedulingService;
+import com.niam.usermanagement.annotation.HasPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/schedule")
+public class SchedulingController {
+    private static final int MAX_REPORTED = 10_000;
+
+    private final SchedulingService schedulingService;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    /**
+     * Assign open tasks to machines and plan their start times from {@code from} (default now);
+     * {@code apply=false} returns the plan without writing it. The report lists up to {@code limit} assignments
+     * (machine, planned start and end) by planned start.
+     */
+    @HasPermission(PRIVILEGE.MACHINE_MANAGE)
+    @PostMapping
+    public ResponseEntity<ServiceResponse> schedule(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                    @RequestParam(defaultValue = "true") boolean apply,
+                                                    @RequestParam(defaultValue = "1000") int limit) {
+        return responseEntityUtil.ok(schedulingService.schedule(from, apply, Math.min(limit, MAX_REPORTED)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.niam.kardan.exception;
+
+import com.niam.common.exception.IllegalStateException;
+import com.niam.kardan.model.enums.TransitionOutcome;
+import lombok.Getter;
+
+/**
+ * An execution transition refused by a business rule; the outcome tags the transition metrics.
+ */
+@Getter
+public class TransitionRejectedException extends IllegalStateException {
+    private final TransitionOutcome outcome;
+
+    public TransitionRejectedException(TransitionOutcome outcome, String message) {
+        super(message);
+        this.outcome = outcome;
+    }
+}
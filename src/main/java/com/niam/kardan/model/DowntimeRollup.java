@@ -0,0 +1,51 @@
+package com.niam.kardan.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed {@link OperationStop} time per machine, stop reason and hour. A stop spanning several hours is split across
+ * their buckets; {@code stopCount} is only incremented in the bucket where the stop started.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@Entity(name = "DowntimeRollup")
+@Table(name = "downtime_rollup", indexes = {
+        @Index(name = "idx_downtime_rollup_bucket", columnList = "bucket"),
+        @Index(name = "idx_downtime_rollup_category_bucket", columnList = "category_id, bucket")
+})
+@IdClass(DowntimeRollupId.class)
+public class DowntimeRollup {
+    @Id
+    @Column(name = "machine_id")
+    private Long machineId;
+    @Id
+    @Column(name = "stop_reason_id")
+    private Long stopReasonId;
+    // start of the hour
+    @Id
+    @Column(name = "bucket")
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime bucket;
+    // StopReason.category at the time the stop was rolled up
+    @Column(name = "category_id")
+    private Long categoryId;
+    @Column(nullable = false)
+    private long downSeconds;
+    @Column(nullable = false)
+    private long stopCount;
+}
@@ -0,0 +1,64 @@
+package com.niam.kardan.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An {@link com.niam.kardan.model.dto.ExecutionEvent} waiting to be relayed to external sinks. Written in the
+ * transaction of the transition and deleted once delivered; {@code machineSequence} numbers the events of a machine
+ * in commit order. An event that keeps failing is parked ({@code parkedAt} set) after the configured attempts; clearing
+ * {@code parked_at} puts it back in line.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@Entity(name = "ExecutionOutbox")
+@Table(name = "execution_outbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_execution_outbox_machine_sequence", columnNames = {"machine_id", "machine_sequence"})
+})
+@SequenceGenerator(name = "execution_outbox_seq", sequenceName = "execution_outbox_seq", allocationSize = 50)
+public class ExecutionOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "execution_outbox_seq")
+    private Long id;
+    @Column(name = "machine_id")
+    private Long machineId;
+    @Column(name = "machine_sequence", nullable = false)
+    private long machineSequence;
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+    @Column(name = "execution_id")
+    private Long executionId;
+    // the ExecutionEvent as JSON
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+    // set while a relay is delivering the event
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+}
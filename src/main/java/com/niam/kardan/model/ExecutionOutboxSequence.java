@@ -0,0 +1,27 @@
+package com.niam.kardan.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last outbox sequence handed out per machine ({@code 0} for events without a machine). Incrementing it locks the row
+ * until commit, so the events of one machine are numbered in the order their transactions commit.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@Entity(name = "ExecutionOutboxSequence")
+@Table(name = "execution_outbox_sequence")
+public class ExecutionOutboxSequence {
+    @Id
+    @Column(name = "machine_id")
+    private Long machineId;
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
@@ -1,6 +1,10 @@
 package com.niam.kardan.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
 import com.niam.kardan.model.basedata.MachineStatus;
 import com.niam.kardan.model.basedata.MachineType;
 import com.niam.usermanagement.model.entities.Auditable;
@@ -13,6 +17,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
+
 @SuperBuilder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -20,8 +26,10 @@ import lombok.experimental.SuperBuilder;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Data
 @Entity(name = "Machine")
-@Table(name = "machine")
-@SequenceGenerator(name = "machine_seq", sequenceName = "machine_seq", allocationSize = 1)
+@Table(name = "machine", indexes = {
+        @Index(name = "idx_machine_status_id", columnList = "status_id, id")
+})
+@SequenceGenerator(name = "machine_seq", sequenceName = "machine_seq", allocationSize = 50)
 public class Machine extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "machine_seq")
@@ -37,4 +45,9 @@ public class Machine extends Auditable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", referencedColumnName = "id", nullable = false)
     private MachineStatus machineStatus;
+    // when machineStatus last changed; ACTIVE, BUSY and STOPPED follow the machine's executions (MachineStatusSync)
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    @Column(name = "status_since")
+    private LocalDateTime statusSince;
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.niam.kardan.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Additive OEE counters per machine, shift and day, accumulated as executions finish.
+ * {@code shiftId} is {@link #NO_SHIFT} when the operator had no active shift.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@Entity(name = "MachineOee")
+@Table(name = "machine_oee")
+@IdClass(MachineOeeId.class)
+public class MachineOee {
+    public static final long NO_SHIFT = 0L;
+
+    @Id
+    @Column(name = "machine_id")
+    private Long machineId;
+    @Id
+    @Column(name = "shift_id")
+    private Long shiftId;
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+    // execution time minus downtime
+    @Column(nullable = false)
+    private long runSeconds;
+    // sum of OperationStop durations
+    @Column(nullable = false)
+    private long downSeconds;
+    // sum of PartOperation.estimatedDuration of the finished executions
+    @Column(nullable = false)
+    private long idealSeconds;
+    @Column(nullable = false)
+    private long totalCount;
+    @Column(nullable = false)
+    private long goodCount;
+}
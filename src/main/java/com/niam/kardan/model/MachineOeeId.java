@@ -0,0 +1,17 @@
+package com.niam.kardan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MachineOeeId implements Serializable {
+    private Long machineId;
+    private Long shiftId;
+    private LocalDate day;
+}
@@ -19,7 +19,7 @@ import lombok.experimental.SuperBuilder;
 @Data
 @Entity(name = "Operation")
 @Table(name = "operation")
-@SequenceGenerator(name = "operation_seq", sequenceName = "operation_seq", allocationSize = 1)
+@SequenceGenerator(name = "operation_seq", sequenceName = "operation_seq", allocationSize = 50)
 public class Operation extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_seq")
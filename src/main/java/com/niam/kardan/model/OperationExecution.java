@@ -23,8 +23,13 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Data
 @Entity(name = "OperationExecution")
-@Table(name = "operation_execution")
-@SequenceGenerator(name = "operation_execution_seq", sequenceName = "operation_execution_seq", allocationSize = 1)
+@Table(name = "operation_execution", indexes = {
+        @Index(name = "idx_operation_execution_machine_id", columnList = "machine_id, id"),
+        @Index(name = "idx_operation_execution_operator_id", columnList = "operator_id, id"),
+        @Index(name = "idx_operation_execution_task_id", columnList = "task_id, id"),
+        @Index(name = "idx_operation_execution_machine_status", columnList = "machine_id, status_id")
+})
+@SequenceGenerator(name = "operation_execution_seq", sequenceName = "operation_execution_seq", allocationSize = 50)
 public class OperationExecution extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_execution_seq")
@@ -44,6 +49,11 @@ public class OperationExecution extends Auditable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", referencedColumnName = "id")
     private ExecutionStatus executionStatus;
+    // set once on insert; the monthly partition key of operation_execution
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    @Column(name = "claimed_at", updatable = false)
+    private LocalDateTime claimedAt;
     @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
     @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
     private LocalDateTime startTime;
@@ -53,4 +63,9 @@ public class OperationExecution extends Auditable {
     @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
     @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
     private LocalDateTime endTime;
+
+    @PrePersist
+    void onPersist() {
+        if (claimedAt == null) claimedAt = startTime != null ? startTime : LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -22,21 +22,28 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Data
 @Entity(name = "OperationStop")
-@Table(name = "operation_stop")
-@SequenceGenerator(name = "operation_stop_seq", sequenceName = "operation_stop_seq", allocationSize = 1)
+@Table(name = "operation_stop", indexes = {
+        @Index(name = "idx_operation_stop_execution_id", columnList = "operation_execution_id, id"),
+        @Index(name = "idx_operation_stop_reason_id", columnList = "stop_reason_id, id")
+})
+@SequenceGenerator(name = "operation_stop_seq", sequenceName = "operation_stop_seq", allocationSize = 50)
 public class OperationStop extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_stop_seq")
     private Long id;
     private String comment;
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "operation_execution_id", referencedColumnName = "id", nullable = false)
+    // no FK: operation_execution is partitioned by claimed_at, so id alone is not a unique key there
+    @JoinColumn(name = "operation_execution_id", referencedColumnName = "id", nullable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private OperationExecution operationExecution;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "stop_reason_id", referencedColumnName = "id", nullable = false)
     private StopReason stopReason;
+    // the monthly partition key of operation_stop
     @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
     @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    @Column(name = "started_at", updatable = false)
     private LocalDateTime startedAt;
     @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
     @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
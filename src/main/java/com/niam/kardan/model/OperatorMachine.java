@@ -23,7 +23,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity(name = "OperatorMachine")
 @Table(name = "operator_machine")
-@SequenceGenerator(name = "operator_machine_seq", sequenceName = "operator_machine_seq", allocationSize = 1)
+@SequenceGenerator(name = "operator_machine_seq", sequenceName = "operator_machine_seq", allocationSize = 50)
 public class OperatorMachine extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operator_machine_seq")
@@ -23,7 +23,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity(name = "OperatorShift")
 @Table(name = "operator_shift")
-@SequenceGenerator(name = "operator_shift_seq", sequenceName = "operator_shift_seq", allocationSize = 1)
+@SequenceGenerator(name = "operator_shift_seq", sequenceName = "operator_shift_seq", allocationSize = 50)
 public class OperatorShift extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operator_shift_seq")
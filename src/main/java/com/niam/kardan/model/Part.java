@@ -20,7 +20,7 @@ import lombok.experimental.SuperBuilder;
 @Data
 @Entity(name = "Part")
 @Table(name = "part")
-@SequenceGenerator(name = "part_seq", sequenceName = "part_seq", allocationSize = 1)
+@SequenceGenerator(name = "part_seq", sequenceName = "part_seq", allocationSize = 50)
 public class Part extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "part_seq")
@@ -19,7 +19,7 @@ import lombok.experimental.SuperBuilder;
 @Data
 @Entity(name = "PartOperation")
 @Table(name = "part_operation", uniqueConstraints = @UniqueConstraint(columnNames = {"part_id", "sequence"}))
-@SequenceGenerator(name = "part_operation_seq", sequenceName = "part_operation_seq", allocationSize = 1)
+@SequenceGenerator(name = "part_operation_seq", sequenceName = "part_operation_seq", allocationSize = 50)
 public class PartOperation extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "part_operation_seq")
@@ -38,5 +38,6 @@ public class PartOperation extends Auditable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", referencedColumnName = "id", nullable = false)
     private PartOperationStatus partOperationStatus;
+    // in seconds; the ideal cycle time used for OEE performance
     private Long estimatedDuration;
 }
\ No newline at end of file
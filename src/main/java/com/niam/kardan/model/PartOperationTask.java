@@ -23,8 +23,14 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Data
 @Entity(name = "PartOperationTask")
-@Table(name = "part_operation_task")
-@SequenceGenerator(name = "part_operation_task_seq", sequenceName = "part_operation_task_seq", allocationSize = 1)
+@Table(name = "part_operation_task", indexes = {
+        @Index(name = "idx_part_operation_task_machine_id", columnList = "target_machine_id, id"),
+        @Index(name = "idx_part_operation_task_machine_status_plan", columnList = "target_machine_id, status_id, planned_start, id"),
+        @Index(name = "idx_part_operation_task_status_id", columnList = "status_id, id"),
+        @Index(name = "idx_part_operation_task_operator_id", columnList = "claimed_by_operator_id, id"),
+        @Index(name = "idx_part_operation_task_part_operation_id", columnList = "part_operation_id")
+})
+@SequenceGenerator(name = "part_operation_task_seq", sequenceName = "part_operation_task_seq", allocationSize = 50)
 public class PartOperationTask extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "part_operation_task_seq")
@@ -53,4 +59,11 @@ public class PartOperationTask extends Auditable {
     @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
     @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
     private LocalDateTime finishedAt;
+    // set by the scheduler; pending tasks are dispatched in planned start order
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime plannedStart;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime plannedEnd;
 }
\ No newline at end of file
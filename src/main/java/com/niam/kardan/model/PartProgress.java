@@ -0,0 +1,27 @@
+package com.niam.kardan.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Precedence state of a part: tasks of operations up to {@code nextSequence} are claimable, later ones stay BLOCKED.
+ * {@code nextSequence} is null when the part has no open task.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@Entity(name = "PartProgress")
+@Table(name = "part_progress")
+public class PartProgress {
+    @Id
+    @Column(name = "part_id")
+    private Long partId;
+    @Column(name = "next_sequence")
+    private Integer nextSequence;
+}
@@ -26,7 +26,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity(name = "Project")
 @Table(name = "project")
-@SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 1)
+@SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 50)
 public class Project extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
@@ -26,7 +26,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity(name = "Shift")
 @Table(name = "shift")
-@SequenceGenerator(name = "shift_seq", sequenceName = "shift_seq", allocationSize = 1)
+@SequenceGenerator(name = "shift_seq", sequenceName = "shift_seq", allocationSize = 50)
 public class Shift extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_seq")
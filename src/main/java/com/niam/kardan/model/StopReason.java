@@ -20,7 +20,7 @@ import lombok.experimental.SuperBuilder;
 @Data
 @Entity(name = "StopReason")
 @Table(name = "stop_reason")
-@SequenceGenerator(name = "stop_reason_seq", sequenceName = "stop_reason_seq", allocationSize = 1)
+@SequenceGenerator(name = "stop_reason_seq", sequenceName = "stop_reason_seq", allocationSize = 50)
 public class StopReason extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stop_reason_seq")
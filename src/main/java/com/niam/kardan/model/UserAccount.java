@@ -16,7 +16,7 @@ import java.util.Set;
 @EqualsAndHashCode(callSuper = false)
 @Entity
 @Table(name = "user_account")
-@SequenceGenerator(name = "user_account_seq", sequenceName = "user_account_seq", allocationSize = 1)
+@SequenceGenerator(name = "user_account_seq", sequenceName = "user_account_seq", allocationSize = 50)
 public class UserAccount extends Auditable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_account_seq")
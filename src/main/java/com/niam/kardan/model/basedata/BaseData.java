@@ -41,6 +41,11 @@ public abstract class BaseData extends Auditable {
         this.code = code;
     }
 
+    /**
+     * Implemented by the {@code @Data} getter of each subtype, which declares its own sequence-backed id.
+     */
+    public abstract Long getId();
+
     public static <T extends BaseData> T ofCode(Class<T> type, String code) {
         try {
             T instance = type.getDeclaredConstructor().newInstance();
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "ExecutionStatus")
 @Table(name = "execution_status")
-@SequenceGenerator(name = "execution_status_seq", sequenceName = "execution_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "execution_status_seq", sequenceName = "execution_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ExecutionStatus extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "MachineStatus")
 @Table(name = "machine_status")
-@SequenceGenerator(name = "machine_status_seq", sequenceName = "machine_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "machine_status_seq", sequenceName = "machine_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class MachineStatus extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "MachineType")
 @Table(name = "machine_type")
-@SequenceGenerator(name = "machine_type_seq", sequenceName = "machine_type_seq", allocationSize = 1)
+@SequenceGenerator(name = "machine_type_seq", sequenceName = "machine_type_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class MachineType extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "PartOperationStatus")
 @Table(name = "part_operation_status")
-@SequenceGenerator(name = "part_operation_status_seq", sequenceName = "part_operation_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "part_operation_status_seq", sequenceName = "part_operation_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class PartOperationStatus extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "PartStatus")
 @Table(name = "part_status")
-@SequenceGenerator(name = "part_status_seq", sequenceName = "part_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "part_status_seq", sequenceName = "part_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class PartStatus extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "ProjectStatus")
 @Table(name = "project_status")
-@SequenceGenerator(name = "project_status_seq", sequenceName = "project_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "project_status_seq", sequenceName = "project_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProjectStatus extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "ShiftStatus")
 @Table(name = "shift_status")
-@SequenceGenerator(name = "shift_status_seq", sequenceName = "shift_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "shift_status_seq", sequenceName = "shift_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ShiftStatus extends BaseData {
     @Id
@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "StopReasonCategory")
 @Table(name = "stop_reason_category")
-@SequenceGenerator(name = "stop_reason_category_seq", sequenceName = "stop_reason_category_seq", allocationSize = 1)
+@SequenceGenerator(name = "stop_reason_category_seq", sequenceName = "stop_reason_category_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class StopReasonCategory extends BaseData {
     @Id
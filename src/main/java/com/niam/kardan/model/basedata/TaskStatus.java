@@ -14,7 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity(name = "TaskStatus")
 @Table(name = "task_status")
-@SequenceGenerator(name = "task_status_seq", sequenceName = "task_status_seq", allocationSize = 1)
+@SequenceGenerator(name = "task_status_seq", sequenceName = "task_status_seq", allocationSize = 50)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TaskStatus extends BaseData {
     @Id
@@ -3,6 +3,6 @@ package com.niam.kardan.model.basedata.enums;
 import com.niam.kardan.model.basedata.MachineStatus;
 
 public enum MACHINE_STATUS {
-    ACTIVE, BUSY, MAINTENANCE, OFFLINE;
+    ACTIVE, BUSY, STOPPED, MAINTENANCE, OFFLINE;
     static final Class<MachineStatus> aClass = MachineStatus.class;
 }
\ No newline at end of file
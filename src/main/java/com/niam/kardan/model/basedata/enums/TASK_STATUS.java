@@ -3,6 +3,6 @@ package com.niam.kardan.model.basedata.enums;
 import com.niam.kardan.model.basedata.TaskStatus;
 
 public enum TASK_STATUS {
-    PENDING, CLAIMED, IN_PROGRESS, COMPLETED, CANCELED;
+    BLOCKED, PENDING, CLAIMED, IN_PROGRESS, COMPLETED, CANCELED;
     static final Class<TaskStatus> aClass = TaskStatus.class;
 }
\ No newline at end of file
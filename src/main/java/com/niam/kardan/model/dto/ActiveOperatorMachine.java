@@ -0,0 +1,4 @@
+package com.niam.kardan.model.dto;
+
+public record ActiveOperatorMachine(Long operatorId, Long machineId) {
+}
@@ -0,0 +1,4 @@
+package com.niam.kardan.model.dto;
+
+public record BoardMachine(Long machineId, String code, String machineStatus) {
+}
@@ -0,0 +1,9 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A PENDING task waiting in a machine's dispatch queue; {@code plannedStart} is null until the task is scheduled.
+ */
+public record DispatchEntry(Long taskId, Long machineId, Long partOperationId, LocalDateTime plannedStart) {
+}
@@ -0,0 +1,36 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Downtime summed over one value of a {@code DowntimeDimension}: {@code key} holds the reason, category or machine id,
+ * {@code hour} the bucket start when grouping by hour.
+ */
+@Data
+@NoArgsConstructor
+public class DowntimeTotal {
+    private Long key;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime hour;
+    private long downSeconds;
+    private long stopCount;
+
+    public DowntimeTotal(Long key, Long downSeconds, Long stopCount) {
+        this.key = key;
+        this.downSeconds = downSeconds != null ? downSeconds : 0;
+        this.stopCount = stopCount != null ? stopCount : 0;
+    }
+
+    public DowntimeTotal(LocalDateTime hour, Long downSeconds, Long stopCount) {
+        this(null, downSeconds, stopCount);
+        this.hour = hour;
+    }
+}
@@ -0,0 +1,43 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by {@code OperationExecutionService} on every execution transition; delivered to listeners after commit.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionEvent {
+    private ExecutionEventType type;
+    private Long executionId;
+    private Long taskId;
+    private Long machineId;
+    private Long operatorId;
+    private Long shiftId;
+    private Long partId;
+    private String executionStatus;
+    // OperationStop ids closed by this transition (RESUMED)
+    private List<Long> closedStopIds;
+    // the OperationStop opened by this transition (STOPPED)
+    private Long stopId;
+    private Long stopReasonId;
+    private String stopReason;
+    // machine the execution was moved away from (REASSIGNED)
+    private Long previousMachineId;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime occurredAt;
+}
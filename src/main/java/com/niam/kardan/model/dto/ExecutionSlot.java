@@ -0,0 +1,27 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * An open execution on the machine board. The stop fields are set while it is stopped; {@code since} is when it
+ * started, resumed or stopped, whichever happened last.
+ */
+public record ExecutionSlot(Long executionId, Long taskId, Long operatorId, boolean stopped, Long stopId,
+                            Long stopReasonId, String stopReason,
+                            @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+                            @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+                            LocalDateTime since) {
+
+    public ExecutionSlot running(LocalDateTime at) {
+        return new ExecutionSlot(executionId, taskId, operatorId, false, null, null, null, at);
+    }
+
+    public ExecutionSlot stopped(Long stopId, Long stopReasonId, String stopReason, LocalDateTime at) {
+        return new ExecutionSlot(executionId, taskId, operatorId, true, stopId, stopReasonId, stopReason, at);
+    }
+}
@@ -0,0 +1,4 @@
+package com.niam.kardan.model.dto;
+
+public record ImportRowError(long line, String message) {
+}
@@ -0,0 +1,7 @@
+package com.niam.kardan.model.dto;
+
+/**
+ * A natural key (code or unique name) and the id it maps to, for building lookup maps without loading entities.
+ */
+public record KeyId(String key, Long id) {
+}
@@ -0,0 +1,21 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import com.niam.kardan.model.enums.MachineActivity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One row of the machine board. {@code since} is when the machine entered its current activity; it is null for idle
+ * machines after a rebuild, when that moment is not known.
+ */
+public record MachineBoardEntry(Long machineId, String code, String machineStatus, MachineActivity activity,
+                                @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+                                @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+                                LocalDateTime since,
+                                List<ExecutionSlot> executions) {
+}
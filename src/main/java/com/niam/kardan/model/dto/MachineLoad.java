@@ -0,0 +1,9 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task already running on a machine; the machine is assumed busy until {@code startedAt + estimatedDuration}.
+ */
+public record MachineLoad(Long machineId, LocalDateTime startedAt, Long estimatedDuration) {
+}
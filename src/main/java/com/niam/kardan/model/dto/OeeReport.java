@@ -0,0 +1,27 @@
+package com.niam.kardan.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OeeReport {
+    private Long machineId;
+    private Long shiftId;
+    private LocalDate day;
+    private double availability;
+    private double performance;
+    private double quality;
+    private double oee;
+    private long runSeconds;
+    private long downSeconds;
+    private long idealSeconds;
+    private long totalCount;
+    private long goodCount;
+}
@@ -0,0 +1,10 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An execution that has not finished yet, as loaded when the machine board is rebuilt.
+ */
+public record OpenExecution(Long executionId, Long machineId, Long taskId, Long operatorId, String executionStatus,
+                            LocalDateTime startTime, LocalDateTime stopTime) {
+}
@@ -0,0 +1,6 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+public record OpenStop(Long stopId, Long executionId, Long stopReasonId, String stopReason, LocalDateTime startedAt) {
+}
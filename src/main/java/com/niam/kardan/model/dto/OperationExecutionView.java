@@ -0,0 +1,73 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import com.niam.kardan.model.OperationExecution;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of an {@link OperationExecution}, built from a row loaded with {@link #FETCH}.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationExecutionView {
+    public static final String[] FETCH = {"partOperation", "machine", "operator", "executionStatus"};
+
+    private Long id;
+    private Long taskId;
+    private Long partOperationId;
+    private Integer sequence;
+    private Long partId;
+    private Long operationId;
+    private Long machineId;
+    private String machineCode;
+    private Long operatorId;
+    private String operatorPersonnelCode;
+    private ExecutionStatus executionStatus;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime claimedAt;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime startTime;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime stopTime;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime endTime;
+
+    public static OperationExecutionView from(OperationExecution exec) {
+        OperationExecutionViewBuilder view = OperationExecutionView.builder()
+                .id(exec.getId())
+                .taskId(exec.getTask() != null ? exec.getTask().getId() : null)
+                .executionStatus(exec.getExecutionStatus())
+                .claimedAt(exec.getClaimedAt())
+                .startTime(exec.getStartTime())
+                .stopTime(exec.getStopTime())
+                .endTime(exec.getEndTime());
+        if (exec.getPartOperation() != null) {
+            view.partOperationId(exec.getPartOperation().getId())
+                    .sequence(exec.getPartOperation().getSequence())
+                    .partId(exec.getPartOperation().getPart() != null ? exec.getPartOperation().getPart().getId() : null)
+                    .operationId(exec.getPartOperation().getOperation() != null ? exec.getPartOperation().getOperation().getId() : null);
+        }
+        if (exec.getMachine() != null) {
+            view.machineId(exec.getMachine().getId()).machineCode(exec.getMachine().getCode());
+        }
+        if (exec.getOperator() != null) {
+            view.operatorId(exec.getOperator().getId()).operatorPersonnelCode(exec.getOperator().getPersonnelCode());
+        }
+        return view.build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One relayed execution event. {@code (machineId, machineSequence)} is unique and increases per machine in commit
+ * order; delivery is at-least-once, so sinks should use it (or {@code id}) to drop duplicates.
+ */
+public record OutboxMessage(Long id, Long machineId, long machineSequence, String eventType, String payload,
+                            LocalDateTime createdAt) {
+}
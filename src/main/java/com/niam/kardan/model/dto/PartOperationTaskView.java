@@ -0,0 +1,78 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a {@link PartOperationTask}. Built from a row loaded with {@link #FETCH}, so mapping never
+ * initializes a lazy association; further associations are exposed by id only.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartOperationTaskView {
+    public static final String[] FETCH = {"partOperation", "targetMachine", "claimedBy", "taskStatus"};
+
+    private Long id;
+    private Long partOperationId;
+    private Integer sequence;
+    private Long partId;
+    private Long operationId;
+    private Long targetMachineId;
+    private String targetMachineCode;
+    private Long parentTaskId;
+    private Long claimedById;
+    private String claimedByPersonnelCode;
+    private TaskStatus taskStatus;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime claimedAt;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime startedAt;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime finishedAt;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime plannedStart;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime plannedEnd;
+
+    public static PartOperationTaskView from(PartOperationTask task) {
+        PartOperationTaskViewBuilder view = PartOperationTaskView.builder()
+                .id(task.getId())
+                .parentTaskId(task.getParentTask() != null ? task.getParentTask().getId() : null)
+                .taskStatus(task.getTaskStatus())
+                .claimedAt(task.getClaimedAt())
+                .startedAt(task.getStartedAt())
+                .finishedAt(task.getFinishedAt())
+                .plannedStart(task.getPlannedStart())
+                .plannedEnd(task.getPlannedEnd());
+        if (task.getPartOperation() != null) {
+            view.partOperationId(task.getPartOperation().getId())
+                    .sequence(task.getPartOperation().getSequence())
+                    .partId(task.getPartOperation().getPart() != null ? task.getPartOperation().getPart().getId() : null)
+                    .operationId(task.getPartOperation().getOperation() != null ? task.getPartOperation().getOperation().getId() : null);
+        }
+        if (task.getTargetMachine() != null) {
+            view.targetMachineId(task.getTargetMachine().getId()).targetMachineCode(task.getTargetMachine().getCode());
+        }
+        if (task.getClaimedBy() != null) {
+            view.claimedById(task.getClaimedBy().getId()).claimedByPersonnelCode(task.getClaimedBy().getPersonnelCode());
+        }
+        return view.build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.niam.kardan.model.dto;
+
+/**
+ * A part's code and id together with the project it belongs to.
+ */
+public record PartRef(String code, Long id, Long projectId) {
+}
@@ -0,0 +1,26 @@
+package com.niam.kardan.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutingImportReport {
+    private long rowsRead;
+    private long rowsImported;
+    private long partsCreated;
+    private long partOperationsCreated;
+    private long tasksCreated;
+    private long chunksCommitted;
+    private long errorCount;
+    // first errors only, see errorCount for the total
+    @Builder.Default
+    private List<ImportRowError> errors = new ArrayList<>();
+}
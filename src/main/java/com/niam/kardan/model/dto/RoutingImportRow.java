@@ -0,0 +1,31 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a routing import: a part (created on its first occurrence) and one of its operations.
+ * References are natural keys: project and operation by name, machine by code, statuses by code.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RoutingImportRow {
+    private long line;
+    private String project;
+    private String partCode;
+    private String partName;
+    private String partDescription;
+    private String partStatus;
+    private Integer sequence;
+    private String operation;
+    private String machine;
+    private String partOperationStatus;
+    private Long estimatedDuration;
+    private Boolean createTask;
+}
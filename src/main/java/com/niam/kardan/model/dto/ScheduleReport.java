@@ -0,0 +1,40 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleReport {
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime horizonStart;
+    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime makespanEnd;
+    private long tasks;
+    private long machines;
+    private long scheduled;
+    private long reassigned;
+    private long applied;
+    private long computeMillis;
+    private long elapsedMillis;
+    // the plan ordered by planned start, at most the requested number of entries; fewer than scheduled means truncated
+    @Builder.Default
+    private List<TaskAssignment> assignments = new ArrayList<>();
+    // tasks whose machine type has no available machine
+    @Builder.Default
+    private List<Long> unschedulable = new ArrayList<>();
+}
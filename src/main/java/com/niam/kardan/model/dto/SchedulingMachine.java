@@ -0,0 +1,7 @@
+package com.niam.kardan.model.dto;
+
+/**
+ * A machine available to the scheduler.
+ */
+public record SchedulingMachine(Long machineId, Long machineTypeId) {
+}
@@ -0,0 +1,11 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduler input for one open task: its routing position, ideal duration (seconds), the machine type its operation
+ * runs on, its current machine and the due date of its project.
+ */
+public record SchedulingTask(Long taskId, Long partId, Integer sequence, Long estimatedDuration, Long machineTypeId,
+                             Long currentMachineId, LocalDateTime dueDate) {
+}
@@ -0,0 +1,10 @@
+package com.niam.kardan.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a closed {@code OperationStop} needed to roll it up into downtime buckets.
+ */
+public record StopInterval(Long stopId, Long machineId, Long stopReasonId, Long categoryId,
+                           LocalDateTime startedAt, LocalDateTime endedAt) {
+}
@@ -0,0 +1,20 @@
+package com.niam.kardan.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.niam.common.utils.CustomLocalDateTimeDeserializer;
+import com.niam.common.utils.CustomLocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduler output for one task.
+ */
+public record TaskAssignment(Long taskId, Long machineId,
+                             @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+                             @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+                             LocalDateTime plannedStart,
+                             @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
+                             @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+                             LocalDateTime plannedEnd) {
+}
@@ -0,0 +1,19 @@
+package com.niam.kardan.model.dto;
+
+import com.niam.kardan.model.enums.TransitionOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClaimResult {
+    private Long taskId;
+    private boolean success;
+    private TransitionOutcome outcome;
+    private Long executionId;
+    private String message;
+}
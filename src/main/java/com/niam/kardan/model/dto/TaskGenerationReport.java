@@ -0,0 +1,25 @@
+package com.niam.kardan.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskGenerationReport {
+    private Long projectId;
+    private long parts;
+    private long partitions;
+    private long tasksCreated;
+    private long operationsSkipped;
+    private long failedPartitions;
+    private long elapsedMillis;
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+}
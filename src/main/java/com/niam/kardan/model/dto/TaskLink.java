@@ -0,0 +1,7 @@
+package com.niam.kardan.model.dto;
+
+/**
+ * A task and the part operation it executes.
+ */
+public record TaskLink(Long partOperationId, Long taskId) {
+}
@@ -0,0 +1,5 @@
+package com.niam.kardan.model.enums;
+
+public enum DowntimeDimension {
+    REASON, CATEGORY, MACHINE, HOUR
+}
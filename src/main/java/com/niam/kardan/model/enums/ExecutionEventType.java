@@ -0,0 +1,5 @@
+package com.niam.kardan.model.enums;
+
+public enum ExecutionEventType {
+    CLAIMED, STOPPED, RESUMED, FINISHED, REASSIGNED
+}
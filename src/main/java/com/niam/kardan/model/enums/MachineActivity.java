@@ -0,0 +1,9 @@
+package com.niam.kardan.model.enums;
+
+/**
+ * What a machine is doing right now: RUNNING while any open execution runs, STOPPED when every open execution is
+ * stopped, IDLE without open executions.
+ */
+public enum MachineActivity {
+    IDLE, RUNNING, STOPPED
+}
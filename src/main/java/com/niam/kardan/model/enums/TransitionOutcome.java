@@ -0,0 +1,18 @@
+package com.niam.kardan.model.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum TransitionOutcome {
+    SUCCESS("success"),
+    NOT_PENDING("not-pending"),
+    NO_PENDING_TASK("no-pending-task"),
+    MACHINE_MISMATCH("machine-mismatch"),
+    OPERATOR_NOT_ASSIGNED("operator-not-assigned"),
+    INVALID_STATE("invalid-state"),
+    NOT_FOUND("not-found"),
+    ERROR("error");
+    private final String tag;
+}
@@ -0,0 +1,67 @@
+package com.niam.kardan.repository;
+
+import com.niam.kardan.model.DowntimeRollup;
+import com.niam.kardan.model.DowntimeRollupId;
+import com.niam.kardan.model.dto.DowntimeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DowntimeRollupRepository extends JpaRepository<DowntimeRollup, DowntimeRollupId> {
+    // atomic add, safe under concurrent resumes on the same machine/reason/hour
+    @Modifying
+    @Query(value = "insert into downtime_rollup (machine_id, stop_reason_id, bucket, category_id, down_seconds, stop_count) " +
+            "values (:machineId, :stopReasonId, :bucket, :categoryId, :downSeconds, :stopCount) " +
+            "on conflict (machine_id, stop_reason_id, bucket) do update set " +
+            "category_id = excluded.category_id, " +
+            "down_seconds = downtime_rollup.down_seconds + excluded.down_seconds, " +
+            "stop_count = downtime_rollup.stop_count + excluded.stop_count", nativeQuery = true)
+    void accumulate(@Param("machineId") Long machineId, @Param("stopReasonId") Long stopReasonId,
+                    @Param("bucket") LocalDateTime bucket, @Param("categoryId") Long categoryId,
+                    @Param("downSeconds") long downSeconds, @Param("stopCount") long stopCount);
+
+    // rebuilds hold it exclusively and incremental updates shared, both until commit, so they never overlap
+    @Query(value = "select 1 from pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer lock(@Param("key") long key);
+
+    @Query(value = "select 1 from pg_advisory_xact_lock_shared(:key)", nativeQuery = true)
+    Integer lockShared(@Param("key") long key);
+
+    @Modifying
+    @Query("delete from DowntimeRollup r where r.bucket >= :from and r.bucket < :to")
+    int deleteByBucketRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.niam.kardan.model.dto.DowntimeTotal(r.stopReasonId, sum(r.downSeconds), sum(r.stopCount)) " +
+            "from DowntimeRollup r where r.bucket >= :from and r.bucket < :to " +
+            "and (:machineId is null or r.machineId = :machineId) " +
+            "group by r.stopReasonId order by sum(r.downSeconds) desc")
+    List<DowntimeTotal> sumByReason(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                    @Param("machineId") Long machineId);
+
+    @Query("select new com.niam.kardan.model.dto.DowntimeTotal(r.categoryId, sum(r.downSeconds), sum(r.stopCount)) " +
+            "from DowntimeRollup r where r.bucket >= :from and r.bucket < :to " +
+            "and (:machineId is null or r.machineId = :machineId) " +
+            "group by r.categoryId order by sum(r.downSeconds) desc")
+    List<DowntimeTotal> sumByCategory(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      @Param("machineId") Long machineId);
+
+    @Query("select new com.niam.kardan.model.dto.DowntimeTotal(r.machineId, sum(r.downSeconds), sum(r.stopCount)) " +
+            "from DowntimeRollup r where r.bucket >= :from and r.bucket < :to " +
+            "and (:machineId is null or r.machineId = :machineId) " +
+            "group by r.machineId order by sum(r.downSeconds) desc")
+    List<DowntimeTotal> sumByMachine(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                     @Param("machineId") Long machineId);
+
+    @Query("select new com.niam.kardan.model.dto.DowntimeTotal(r.bucket, sum(r.downSeconds), sum(r.stopCount)) " +
+            "from DowntimeRollup r where r.bucket >= :from and r.bucket < :to " +
+            "and (:machineId is null or r.machineId = :machineId) " +
+            "group by r.bucket order by r.bucket")
+    List<DowntimeTotal> sumByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                  @Param("machineId") Long machineId);
+}
@@ -0,0 +1,67 @@
+package com.niam.kardan.repository;
+
+import com.niam.kardan.model.ExecutionOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExecutionOutboxRepository extends JpaRepository<ExecutionOutbox, Long> {
+    /*
+     * The oldest pending events of each machine, ranked per machine and ordered by rank first, so whatever the limit
+     * cuts off, the rows returned for a machine are always its oldest pending ones, in sequence. Machines are found by
+     * a skip scan and each one's head read with LATERAL ... LIMIT, both on the (machine_id, machine_sequence) unique
+     * index, so a poll costs a few index probes per machine instead of sorting the whole backlog. Parked events are
+     * skipped, and so are machines whose head is leased to a relay that is still delivering it.
+     */
+    @Query(value = "with recursive machines(machine_id) as (" +
+            "(select e.machine_id from execution_outbox e where e.machine_id is not null and e.parked_at is null " +
+            "order by e.machine_id limit 1) " +
+            "union all " +
+            "select (select e.machine_id from execution_outbox e where e.machine_id > m.machine_id and e.parked_at is null " +
+            "order by e.machine_id limit 1) from machines m where m.machine_id is not null), " +
+            "heads as (" +
+            "select e.* from machines m cross join lateral (select * from execution_outbox x where x.machine_id = m.machine_id " +
+            "and x.parked_at is null order by x.machine_sequence limit :perMachine) e " +
+            "union all " +
+            "(select * from execution_outbox x where x.machine_id is null and x.parked_at is null " +
+            "order by x.machine_sequence limit :perMachine)) " +
+            "select o.* from (select h.*, row_number() over (partition by h.machine_id order by h.machine_sequence) rn " +
+            "from heads h where not exists (select 1 from heads l where l.machine_id is not distinct from h.machine_id " +
+            "and l.leased_until > localtimestamp)) o " +
+            "order by o.rn, o.id limit :limit", nativeQuery = true)
+    List<ExecutionOutbox> findNextBatch(@Param("limit") int limit, @Param("perMachine") int perMachine);
+
+    // only one relay leases at a time across instances; released at commit
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    @Modifying
+    @Query("update ExecutionOutbox o set o.attempts = o.attempts + 1, o.lastError = :error where o.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    // out of attempts: kept for inspection but no longer relayed, so the machine's later events move on
+    @Modifying
+    @Query("update ExecutionOutbox o set o.attempts = o.attempts + 1, o.lastError = :error, o.parkedAt = :parkedAt " +
+            "where o.id = :id")
+    int park(@Param("id") Long id, @Param("error") String error, @Param("parkedAt") LocalDateTime parkedAt);
+
+    // taken before delivering outside any transaction; a relay that dies mid-batch frees its rows when it expires
+    @Modifying
+    @Query("update ExecutionOutbox o set o.leasedUntil = :until where o.id in :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("update ExecutionOutbox o set o.leasedUntil = null where o.id in :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from ExecutionOutbox o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.niam.kardan.repository;
+
+import com.niam.kardan.model.ExecutionOutboxSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExecutionOutboxSequenceRepository extends JpaRepository<ExecutionOutboxSequence, Long> {
+    // increments and returns the machine's counter; the row stays locked until commit
+    @Query(value = "insert into execution_outbox_sequence (machine_id, last_sequence) values (:machineId, 1) " +
+            "on conflict (machine_id) do update set last_sequence = execution_outbox_sequence.last_sequence + 1 " +
+            "returning last_sequence", nativeQuery = true)
+    long next(@Param("machineId") Long machineId);
+}
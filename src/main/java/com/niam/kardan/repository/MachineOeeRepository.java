@@ -0,0 +1,30 @@
+package com.niam.kardan.repository;
+
+import com.niam.kardan.model.MachineOee;
+import com.niam.kardan.model.MachineOeeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface MachineOeeRepository extends JpaRepository<MachineOee, MachineOeeId>, JpaSpecificationExecutor<MachineOee> {
+    // atomic add, safe under concurrent finishes on the same machine/shift/day
+    @Modifying
+    @Query(value = "insert into machine_oee (machine_id, shift_id, day, run_seconds, down_seconds, ideal_seconds, total_count, good_count) " +
+            "values (:machineId, :shiftId, :day, :runSeconds, :downSeconds, :idealSeconds, :totalCount, :goodCount) " +
+            "on conflict (machine_id, shift_id, day) do update set " +
+            "run_seconds = machine_oee.run_seconds + excluded.run_seconds, " +
+            "down_seconds = machine_oee.down_seconds + excluded.down_seconds, " +
+            "ideal_seconds = machine_oee.ideal_seconds + excluded.ideal_seconds, " +
+            "total_count = machine_oee.total_count + excluded.total_count, " +
+            "good_count = machine_oee.good_count + excluded.good_count", nativeQuery = true)
+    void accumulate(@Param("machineId") Long machineId, @Param("shiftId") Long shiftId, @Param("day") LocalDate day,
+                    @Param("runSeconds") long runSeconds, @Param("downSeconds") long downSeconds,
+                    @Param("idealSeconds") long idealSeconds, @Param("totalCount") long totalCount,
+                    @Param("goodCount") long goodCount);
+}
@@ -1,15 +1,47 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.dto.BoardMachine;
+import com.niam.kardan.model.dto.KeyId;
+import com.niam.kardan.model.dto.SchedulingMachine;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MachineRepository extends JpaRepository<Machine, Long>, JpaSpecificationExecutor<Machine> {
     Optional<Machine> findByCode(String code);
+
+    @Query("select new com.niam.kardan.model.dto.KeyId(m.code, m.id) from Machine m")
+    List<KeyId> findAllKeyIds();
+
+    @Query("select new com.niam.kardan.model.dto.SchedulingMachine(m.id, m.machineType.id) from Machine m " +
+            "where m.machineStatus.id in :statusIds order by m.id")
+    List<SchedulingMachine> findSchedulingMachines(@Param("statusIds") Collection<Long> statusIds);
+
+    @Query("select new com.niam.kardan.model.dto.BoardMachine(m.id, m.code, s.code) from Machine m left join m.machineStatus s")
+    List<BoardMachine> findBoardMachines();
+
+    /*
+     * BUSY while any execution of the machine runs, STOPPED while it only has stopped ones, ACTIVE otherwise.
+     * Manual states (MAINTENANCE, OFFLINE) are left alone; returns the new status id, or null when nothing changed.
+     */
+    @Query(value = "update machine m set status_id = x.target, status_since = :now from (select case " +
+            "when exists (select 1 from operation_execution e where e.machine_id = :id and e.end_time is null " +
+            "and e.status_id in (:runningIds)) then :busy " +
+            "when exists (select 1 from operation_execution e where e.machine_id = :id and e.end_time is null) then :stopped " +
+            "else :active end as target) x " +
+            "where m.id = :id and m.status_id in (:active, :busy, :stopped) and m.status_id <> x.target " +
+            "returning m.status_id", nativeQuery = true)
+    Long syncStatus(@Param("id") Long id, @Param("runningIds") Collection<Long> runningIds, @Param("busy") Long busy,
+                    @Param("stopped") Long stopped, @Param("active") Long active, @Param("now") LocalDateTime now);
+
     List<Machine> findByMachineTypeIdAndMachineStatus_Id(Long machineTypeId, Long idleStatusId);
 }
\ No newline at end of file
@@ -2,16 +2,31 @@ package com.niam.kardan.repository;
 
 import com.niam.kardan.model.OperationExecution;
 import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.dto.OpenExecution;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OperationExecutionRepository extends JpaRepository<OperationExecution, Long> {
+public interface OperationExecutionRepository extends JpaRepository<OperationExecution, Long>, JpaSpecificationExecutor<OperationExecution> {
+    // list pages feed OperationExecutionView, so its associations are joined instead of loaded per row
+    @Override
+    @EntityGraph(attributePaths = {"partOperation", "machine", "operator", "executionStatus"})
+    Page<OperationExecution> findAll(Specification<OperationExecution> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"partOperation", "machine", "operator", "executionStatus"})
+    Optional<OperationExecution> findDetailedById(Long id);
+
     // find current running execution for a given part_operation
     @Query("SELECT p FROM OperationExecution p WHERE p.partOperation.id = :partOperationId AND p.executionStatus.id = :startedStatusId")
     Optional<OperationExecution> findCurrentByPartOperation(@Param("partOperationId") Long partOperationId, @Param("startedStatusId") Long startedStatusId);
@@ -19,5 +34,11 @@ public interface OperationExecutionRepository extends JpaRepository<OperationExe
     // find executions by operator during active shift, etc.
     List<OperationExecution> findByOperatorIdAndExecutionStatus(Long operatorId, ExecutionStatus statusId);
 
+    // served by the partial index idx_operation_execution_open
+    @Query("select new com.niam.kardan.model.dto.OpenExecution(e.id, e.machine.id, e.task.id, e.operator.id, s.code, " +
+            "e.startTime, e.stopTime) from OperationExecution e join e.executionStatus s " +
+            "where e.endTime is null and s.id in :statusIds")
+    List<OpenExecution> findOpen(@Param("statusIds") Collection<Long> statusIds);
+
     boolean existsByMachineIdAndExecutionStatusId(Long machineId, Long startedStatusId);
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.Operation;
+import com.niam.kardan.model.dto.KeyId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface OperationRepository extends JpaRepository<Operation, Long>, JpaSpecificationExecutor<Operation> {
+    @Query("select new com.niam.kardan.model.dto.KeyId(o.name, o.id) from Operation o")
+    List<KeyId> findAllKeyIds();
 }
\ No newline at end of file
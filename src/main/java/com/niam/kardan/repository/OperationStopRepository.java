@@ -1,15 +1,42 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.OperationStop;
+import com.niam.kardan.model.dto.OpenStop;
+import com.niam.kardan.model.dto.StopInterval;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OperationStopRepository extends JpaRepository<OperationStop, Long> {
+public interface OperationStopRepository extends JpaRepository<OperationStop, Long>, JpaSpecificationExecutor<OperationStop> {
+    List<OperationStop> findAllByOperationExecutionId(Long operationExecutionId);
+
     List<OperationStop> findAllByOperationExecutionIdAndEndedAtIsNull(Long operationExecutionId);
 
     // find open stops (ended_at is null) for a machine or execution
     List<OperationStop> findByOperationExecutionMachineIdAndEndedAtIsNull(Long machineId);
+
+    // served by the partial index idx_operation_stop_open
+    @Query("select new com.niam.kardan.model.dto.OpenStop(s.id, s.operationExecution.id, r.id, r.name, s.startedAt) " +
+            "from OperationStop s join s.stopReason r where s.endedAt is null")
+    List<OpenStop> findOpen();
+
+    @Query("select new com.niam.kardan.model.dto.StopInterval(s.id, s.operationExecution.machine.id, s.stopReason.id, " +
+            "s.stopReason.category.id, s.startedAt, s.endedAt) from OperationStop s " +
+            "where s.id in :ids and s.startedAt is not null and s.endedAt is not null")
+    List<StopInterval> findClosedIntervalsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // closed stops overlapping [from, to), keyset-paged by id
+    @Query("select new com.niam.kardan.model.dto.StopInterval(s.id, s.operationExecution.machine.id, s.stopReason.id, " +
+            "s.stopReason.category.id, s.startedAt, s.endedAt) from OperationStop s " +
+            "where s.id > :afterId and s.startedAt < :to and s.endedAt > :from order by s.id")
+    List<StopInterval> findClosedIntervalsOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                      @Param("afterId") Long afterId, Limit limit);
 }
\ No newline at end of file
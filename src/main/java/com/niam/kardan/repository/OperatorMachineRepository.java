@@ -1,8 +1,10 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.OperatorMachine;
+import com.niam.kardan.model.dto.ActiveOperatorMachine;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,8 @@ import java.util.List;
 public interface OperatorMachineRepository extends JpaRepository<OperatorMachine, Long>, JpaSpecificationExecutor<OperatorMachine> {
     List<OperatorMachine> findByOperatorIdAndUnassignedAtIsNull(Long operatorId);
     boolean existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(Long operatorId, Long machineId);
+
+    @Query("select new com.niam.kardan.model.dto.ActiveOperatorMachine(om.operator.id, om.machine.id) " +
+            "from OperatorMachine om where om.unassignedAt is null")
+    List<ActiveOperatorMachine> findActive();
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,9 @@ public interface PartOperationRepository extends JpaRepository<PartOperation, Lo
     // find operations for a part ordered by sequence (useful to create tasks)
     List<PartOperation> findByPartIdOrderBySequenceAsc(Long partId);
 
+    // routings of a slice of parts in one query, grouped by part for task generation
+    List<PartOperation> findByPartIdInOrderByPartIdAscSequenceAsc(Collection<Long> partIds);
+
     // find the last completed operation for a part
     @Query("SELECT p FROM PartOperation p WHERE p.part.id = :partId AND p.partOperationStatus.id = :completedStatusId ORDER BY p.sequence DESC")
     List<PartOperation> findCompletedByPart(@Param("partId") Long partId, @Param("completedStatusId") Long completedStatusId);
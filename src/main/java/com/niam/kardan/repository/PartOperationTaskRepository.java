@@ -1,7 +1,15 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.dto.DispatchEntry;
+import com.niam.kardan.model.dto.MachineLoad;
+import com.niam.kardan.model.dto.SchedulingTask;
+import com.niam.kardan.model.dto.TaskLink;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
@@ -9,14 +17,61 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PartOperationTaskRepository extends JpaRepository<PartOperationTask, Long>, JpaSpecificationExecutor<PartOperationTask> {
+    // list pages feed PartOperationTaskView, so its associations are joined instead of loaded per row
+    @Override
+    @EntityGraph(attributePaths = {"partOperation", "targetMachine", "claimedBy", "taskStatus"})
+    Page<PartOperationTask> findAll(Specification<PartOperationTask> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"partOperation", "targetMachine", "claimedBy", "taskStatus"})
+    Optional<PartOperationTask> findDetailedById(Long id);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select t from PartOperationTask t where t.id = :id")
     Optional<PartOperationTask> findByIdForUpdate(@Param("id") Long id);
+
+    // ordered by id so concurrent batch claims always lock rows in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from PartOperationTask t where t.id in :ids order by t.id")
+    List<PartOperationTask> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // next pending task of the machine in planned order; rows locked by concurrent claimers are skipped instead of waited on
+    // unscheduled tasks (planned_start null) sort last
+    @Query(value = "select * from part_operation_task t where t.target_machine_id = :machineId " +
+            "and t.status_id = :statusId order by t.planned_start, t.id limit 1 for update skip locked", nativeQuery = true)
+    Optional<PartOperationTask> findNextForUpdateSkipLocked(@Param("machineId") Long machineId,
+                                                            @Param("statusId") Long statusId);
+
+    // filters on the status FK and reads only FK columns, so no join is needed
+    @Query("select new com.niam.kardan.model.dto.DispatchEntry(t.id, t.targetMachine.id, t.partOperation.id, t.plannedStart) " +
+            "from PartOperationTask t where t.taskStatus.id = :statusId")
+    List<DispatchEntry> findDispatchEntriesByStatusId(@Param("statusId") Long statusId);
+
+    // latest task per part operation of the given parts; generation skips operations that already have one
+    @Query("select new com.niam.kardan.model.dto.TaskLink(t.partOperation.id, max(t.id)) from PartOperationTask t " +
+            "where t.partOperation.part.id in :partIds group by t.partOperation.id")
+    List<TaskLink> findTaskLinksByPartIdIn(@Param("partIds") Collection<Long> partIds);
+
+    // unfinished tasks of a part with their sequence, read when one of them finishes
+    @Query("select t from PartOperationTask t join fetch t.partOperation po " +
+            "where po.part.id = :partId and t.taskStatus.id in :statusIds")
+    List<PartOperationTask> findOpenByPartId(@Param("partId") Long partId, @Param("statusIds") Collection<Long> statusIds);
+
+    // scheduler input: one row per open task, FK columns and scalars only
+    @Query("select new com.niam.kardan.model.dto.SchedulingTask(t.id, po.part.id, po.sequence, po.estimatedDuration, " +
+            "m.machineType.id, t.targetMachine.id, pr.endDate) from PartOperationTask t join t.partOperation po " +
+            "join po.machine m join po.part p join p.project pr where t.taskStatus.id in :statusIds")
+    List<SchedulingTask> findSchedulingTasks(@Param("statusIds") Collection<Long> statusIds);
+
+    @Query("select new com.niam.kardan.model.dto.MachineLoad(t.targetMachine.id, t.startedAt, po.estimatedDuration) " +
+            "from PartOperationTask t join t.partOperation po where t.taskStatus.id in :statusIds")
+    List<MachineLoad> findMachineLoads(@Param("statusIds") Collection<Long> statusIds);
+
     List<PartOperationTask> findByTargetMachineIdAndTaskStatusCode(Long machineId, String statusCode);
     List<PartOperationTask> findByTaskStatusCode(String statusCode);
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.niam.kardan.repository;
+
+import com.niam.kardan.model.PartProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PartProgressRepository extends JpaRepository<PartProgress, Long> {
+    // creates the row if needed and holds its lock until commit, serializing releases of the same part
+    @Modifying
+    @Query(value = "insert into part_progress (part_id) values (:partId) " +
+            "on conflict (part_id) do update set next_sequence = part_progress.next_sequence", nativeQuery = true)
+    void lock(@Param("partId") Long partId);
+
+    @Query(value = "select next_sequence from part_progress where part_id = :partId", nativeQuery = true)
+    Integer findNextSequence(@Param("partId") Long partId);
+
+    @Modifying
+    @Query(value = "insert into part_progress (part_id, next_sequence) values (:partId, :nextSequence) " +
+            "on conflict (part_id) do update set next_sequence = excluded.next_sequence", nativeQuery = true)
+    void track(@Param("partId") Long partId, @Param("nextSequence") Integer nextSequence);
+}
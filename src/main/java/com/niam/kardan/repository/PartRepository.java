@@ -1,10 +1,25 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.Part;
+import com.niam.kardan.model.dto.PartRef;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PartRepository extends JpaRepository<Part, Long>, JpaSpecificationExecutor<Part> {
+    @Query("select new com.niam.kardan.model.dto.PartRef(p.code, p.id, p.project.id) from Part p where p.code in :codes")
+    List<PartRef> findRefsByCodeIn(@Param("codes") Collection<String> codes);
+
+    @Query("select p.id from Part p where p.project.id = :projectId order by p.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    // in id order, so two writers locking overlapping parts cannot deadlock
+    @Query(value = "select id from part where id in :ids order by id for update", nativeQuery = true)
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,10 +1,22 @@
 package com.niam.kardan.repository;
 
 import com.niam.kardan.model.Project;
+import com.niam.kardan.model.dto.KeyId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
+    @Query("select new com.niam.kardan.model.dto.KeyId(p.name, p.id) from Project p")
+    List<KeyId> findAllKeyIds();
+
+    // held until the transaction ends, so one project's task generation runs one at a time across instances
+    @Query(value = "select id from project where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.common.exception.ResultResponseStatus;
+import com.niam.kardan.model.basedata.BaseData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Startup-loaded, immutable view of every {@link BaseData} subtype keyed by code and id.
+ * Lookups are plain map reads; each type's snapshot is swapped atomically after a committed change. A lookup never
+ * reloads: it runs inside the caller's transaction, where a reload would take a second pooled connection, so an
+ * unknown code is reported as not found.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BaseDataRegistry {
+    private static final Snapshot<BaseData> EMPTY = new Snapshot<>(List.of(), Map.of(), Map.of());
+
+    private final EntityManager em;
+
+    @Lazy
+    @Autowired
+    private BaseDataRegistry self;
+
+    private volatile Map<Class<? extends BaseData>, Snapshot<? extends BaseData>> snapshots = Map.of();
+
+    // after BaseDataInitializer seeds, before any other startup listener reads base data
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        self.reloadAll();
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager", propagation = Propagation.REQUIRES_NEW)
+    public void reloadAll() {
+        Map<Class<? extends BaseData>, Snapshot<? extends BaseData>> loaded = new HashMap<>();
+        for (EntityType<?> entity : em.getMetamodel().getEntities()) {
+            Class<?> javaType = entity.getJavaType();
+            if (javaType != null && BaseData.class.isAssignableFrom(javaType)) {
+                @SuppressWarnings("unchecked")
+                Class<? extends BaseData> type = (Class<? extends BaseData>) javaType;
+                loaded.put(type, load(type));
+            }
+        }
+        synchronized (this) {
+            snapshots = Map.copyOf(loaded);
+        }
+        log.info("BaseDataRegistry loaded {} base data types", loaded.size());
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager", propagation = Propagation.REQUIRES_NEW)
+    public void reload(Class<? extends BaseData> type) {
+        Snapshot<? extends BaseData> snapshot = load(type);
+        synchronized (this) {
+            Map<Class<? extends BaseData>, Snapshot<? extends BaseData>> next = new HashMap<>(snapshots);
+            next.put(type, snapshot);
+            snapshots = Map.copyOf(next);
+        }
+    }
+
+    public <T extends BaseData> T get(Class<T> type, Enum<?> code) {
+        return getByCode(type, code.name());
+    }
+
+    public <T extends BaseData> T getByCode(Class<T> type, String code) {
+        T found = snapshot(type).byCode().get(code);
+        if (found == null) throw notFound(type, code);
+        return found;
+    }
+
+    public <T extends BaseData> T getById(Class<T> type, Long id) {
+        T found = snapshot(type).byId().get(id);
+        if (found == null) throw notFound(type, String.valueOf(id));
+        return found;
+    }
+
+    public <T extends BaseData> List<T> getAll(Class<T> type) {
+        return snapshot(type).all();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends BaseData> Snapshot<T> snapshot(Class<T> type) {
+        Snapshot<? extends BaseData> snapshot = snapshots.get(type);
+        return (Snapshot<T>) (snapshot != null ? snapshot : EMPTY);
+    }
+
+    private <T extends BaseData> Snapshot<T> load(Class<T> type) {
+        List<T> all = em.createQuery("SELECT e FROM " + type.getSimpleName() + " e", type).getResultList();
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        Snapshot<T> snapshot = new Snapshot<>(
+                List.copyOf(all),
+                all.stream().collect(Collectors.toUnmodifiableMap(BaseData::getCode, Function.identity())),
+                all.stream().collect(Collectors.toUnmodifiableMap(e -> (Long) util.getIdentifier(e), Function.identity())));
+        all.forEach(em::detach);
+        return snapshot;
+    }
+
+    private EntityNotFoundException notFound(Class<? extends BaseData> type, String id) {
+        return new EntityNotFoundException(
+                ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
+                ResultResponseStatus.ENTITY_NOT_FOUND.getReasonCode(),
+                type.getSimpleName() + " with id/code=" + id + " not found");
+    }
+
+    private record Snapshot<T extends BaseData>(List<T> all, Map<String, T> byCode, Map<Long, T> byId) {
+    }
+}
@@ -18,11 +18,12 @@ import java.util.Map;
 public class BaseDataServiceProxy<T extends BaseData> {
     private final EntityManager em;
     private final CacheManager cacheManager;
+    private final BaseDataRegistry registry;
     @Setter
     private Class<T> type;
 
     private GenericBaseDataService<T> delegate() {
-        return new GenericBaseDataService<>(type, em, cacheManager);
+        return new GenericBaseDataService<>(type, em, cacheManager, registry);
     }
 
     @Transactional("transactionManager")
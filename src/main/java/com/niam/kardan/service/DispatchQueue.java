@@ -0,0 +1,110 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.DispatchEntry;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory queue of PENDING tasks per target machine, ordered by release (task id).
+ * Rebuilt from the database at startup and kept current by the task and execution services after commit,
+ * so terminals can read their next job without a paged query. Reads are lock-free; writes are serialized.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DispatchQueue {
+    private static final Comparator<DispatchEntry> RELEASE_ORDER = Comparator
+            .comparing(DispatchEntry::plannedStart, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DispatchEntry::taskId);
+
+    private final PartOperationTaskRepository partOperationTaskRepository;
+    private final BaseDataRegistry baseDataRegistry;
+
+    @Lazy
+    @Autowired
+    private DispatchQueue self;
+
+    private final Map<Long, NavigableSet<DispatchEntry>> queues = new ConcurrentHashMap<>();
+    private final Map<Long, DispatchEntry> byTask = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        self.rebuild();
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public void rebuild() {
+        TaskStatus pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
+        List<DispatchEntry> entries = partOperationTaskRepository.findDispatchEntriesByStatusId(pending.getId());
+        synchronized (this) {
+            queues.clear();
+            byTask.clear();
+            entries.forEach(this::add);
+        }
+        log.info("DispatchQueue loaded {} pending tasks for {} machines", entries.size(), queues.size());
+    }
+
+    /**
+     * The next task to offer on the machine; it stays queued until a claim commits.
+     */
+    public Optional<DispatchEntry> nextTask(Long machineId) {
+        NavigableSet<DispatchEntry> queue = queues.get(machineId);
+        return queue == null ? Optional.empty() : queue.stream().findFirst();
+    }
+
+    public List<DispatchEntry> peek(Long machineId, int limit) {
+        NavigableSet<DispatchEntry> queue = queues.get(machineId);
+        return queue == null ? List.of() : queue.stream().limit(limit).toList();
+    }
+
+    /**
+     * Queue (or re-queue under its current target machine) a PENDING task once the transaction commits.
+     */
+    public void offerAfterCommit(PartOperationTask task) {
+        DispatchEntry entry = new DispatchEntry(task.getId(), task.getTargetMachine().getId(),
+                task.getPartOperation() != null ? task.getPartOperation().getId() : null, task.getPlannedStart());
+        AfterCommit.run(() -> offer(entry));
+    }
+
+    public void removeAfterCommit(Collection<Long> taskIds) {
+        List<Long> ids = List.copyOf(taskIds);
+        AfterCommit.run(() -> ids.forEach(this::remove));
+    }
+
+    public synchronized void offer(DispatchEntry entry) {
+        remove(entry.taskId());
+        add(entry);
+    }
+
+    public synchronized void remove(Long taskId) {
+        DispatchEntry entry = byTask.remove(taskId);
+        if (entry == null) return;
+        NavigableSet<DispatchEntry> queue = queues.get(entry.machineId());
+        if (queue != null) queue.remove(entry);
+    }
+
+    private void add(DispatchEntry entry) {
+        byTask.put(entry.taskId(), entry);
+        queues.computeIfAbsent(entry.machineId(), id -> new ConcurrentSkipListSet<>(RELEASE_ORDER)).add(entry);
+    }
+}
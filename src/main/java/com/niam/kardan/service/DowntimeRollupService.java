@@ -0,0 +1,128 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.DowntimeRollupId;
+import com.niam.kardan.model.dto.DowntimeTotal;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.StopInterval;
+import com.niam.kardan.model.enums.DowntimeDimension;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.DowntimeRollupRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains hourly downtime buckets per machine and stop reason. Stops closed by a resume or a finish are added
+ * incrementally; {@link #rebuild} recomputes a time range from {@code operation_stop} for backfills and corrections.
+ * A rebuild waits for the incremental updates in flight and holds back new ones until it commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DowntimeRollupService {
+    private static final int BACKFILL_CHUNK = 1000;
+    private static final long ROLLUP_LOCK = 0x6b617264616e02L;
+
+    private final OperationStopRepository operationStopRepository;
+    private final DowntimeRollupRepository downtimeRollupRepository;
+
+    /**
+     * Runs inside the resuming or finishing transaction, so the buckets commit or roll back together with the
+     * closed stops.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExecutionEvent(ExecutionEvent event) {
+        if ((event.getType() != ExecutionEventType.RESUMED && event.getType() != ExecutionEventType.FINISHED)
+                || event.getClosedStopIds() == null || event.getClosedStopIds().isEmpty()) return;
+        downtimeRollupRepository.lockShared(ROLLUP_LOCK);
+        Map<DowntimeRollupId, Bucket> buckets = new HashMap<>();
+        operationStopRepository.findClosedIntervalsByIdIn(event.getClosedStopIds())
+                .forEach(stop -> split(stop, null, null, buckets));
+        flush(buckets);
+    }
+
+    /**
+     * Replace the buckets of {@code [from, to)} (widened to whole hours) with sums recomputed from closed stops.
+     * Every stop is counted once: one closed by a transaction still in flight is added by that transaction after
+     * this one commits.
+     */
+    @Transactional("transactionManager")
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS).equals(to) ? to : to.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        downtimeRollupRepository.lock(ROLLUP_LOCK);
+        int deleted = downtimeRollupRepository.deleteByBucketRange(start, end);
+
+        Map<DowntimeRollupId, Bucket> buckets = new HashMap<>();
+        long afterId = 0;
+        int stops = 0;
+        List<StopInterval> chunk;
+        do {
+            chunk = operationStopRepository.findClosedIntervalsOverlapping(start, end, afterId, Limit.of(BACKFILL_CHUNK));
+            for (StopInterval stop : chunk) {
+                split(stop, start, end, buckets);
+                afterId = stop.stopId();
+            }
+            stops += chunk.size();
+        } while (chunk.size() == BACKFILL_CHUNK);
+        flush(buckets);
+        log.info("Downtime rollup rebuilt for [{}, {}): {} stops into {} buckets, {} old buckets removed",
+                start, end, stops, buckets.size(), deleted);
+        return buckets.size();
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public List<DowntimeTotal> getDowntime(DowntimeDimension groupBy, LocalDateTime from, LocalDateTime to, Long machineId) {
+        return switch (groupBy) {
+            case REASON -> downtimeRollupRepository.sumByReason(from, to, machineId);
+            case CATEGORY -> downtimeRollupRepository.sumByCategory(from, to, machineId);
+            case MACHINE -> downtimeRollupRepository.sumByMachine(from, to, machineId);
+            case HOUR -> downtimeRollupRepository.sumByHour(from, to, machineId);
+        };
+    }
+
+    /**
+     * Spread a stop over the hours it covers, clipped to {@code [rangeStart, rangeEnd)} when given.
+     */
+    static void split(StopInterval stop, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                      Map<DowntimeRollupId, Bucket> buckets) {
+        if (stop.machineId() == null || stop.stopReasonId() == null) return;
+        LocalDateTime from = rangeStart != null && stop.startedAt().isBefore(rangeStart) ? rangeStart : stop.startedAt();
+        LocalDateTime to = rangeEnd != null && stop.endedAt().isAfter(rangeEnd) ? rangeEnd : stop.endedAt();
+        for (LocalDateTime hour = from.truncatedTo(ChronoUnit.HOURS); hour.isBefore(to); hour = hour.plusHours(1)) {
+            LocalDateTime sliceStart = hour.isAfter(from) ? hour : from;
+            LocalDateTime sliceEnd = hour.plusHours(1).isBefore(to) ? hour.plusHours(1) : to;
+            Bucket bucket = buckets.computeIfAbsent(new DowntimeRollupId(stop.machineId(), stop.stopReasonId(), hour),
+                    id -> new Bucket(stop.categoryId()));
+            bucket.downSeconds += Duration.between(sliceStart, sliceEnd).getSeconds();
+            if (sliceStart.equals(stop.startedAt())) bucket.stopCount++;
+        }
+    }
+
+    private void flush(Map<DowntimeRollupId, Bucket> buckets) {
+        buckets.forEach((id, bucket) -> downtimeRollupRepository.accumulate(id.getMachineId(), id.getStopReasonId(),
+                id.getBucket(), bucket.categoryId, bucket.downSeconds, bucket.stopCount));
+    }
+
+    static final class Bucket {
+        private final Long categoryId;
+        private long downSeconds;
+        private long stopCount;
+
+        Bucket(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+}
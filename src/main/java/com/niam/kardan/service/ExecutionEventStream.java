@@ -0,0 +1,147 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.ExecutionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed {@link ExecutionEvent}s out to Server-Sent Events subscribers.
+ * Every subscriber has a bounded buffer drained on a sender thread, so a slow client never blocks the
+ * committing request thread; when its buffer is full the oldest pending event is dropped. Senders block on the
+ * client socket, so they run on virtual threads when the application does.
+ */
+@Slf4j
+@Component
+public class ExecutionEventStream {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private ExecutorService sender;
+
+    @Value("${kardan.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${kardan.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void init() {
+        sender = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("execution-events-", 0).factory())
+                : Executors.newCachedThreadPool(new CustomizableThreadFactory("execution-events-"));
+    }
+
+    public SseEmitter subscribe(Long machineId, Long shiftId, Long partId) {
+        return subscribe(new SseEmitter(timeout.toMillis()), machineId, shiftId, partId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long machineId, Long shiftId, Long partId) {
+        Subscriber subscriber = new Subscriber(emitter, machineId, shiftId, partId, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExecutionEvent(ExecutionEvent event) {
+        long id = sequence.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) subscriber.offer(id, event);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.emitter().complete());
+        sender.shutdownNow();
+    }
+
+    private record Pending(long id, ExecutionEvent event) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long machineId;
+        private final Long shiftId;
+        private final Long partId;
+        private final BlockingQueue<Pending> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscriber(SseEmitter emitter, Long machineId, Long shiftId, Long partId, BlockingQueue<Pending> buffer) {
+            this.emitter = emitter;
+            this.machineId = machineId;
+            this.shiftId = shiftId;
+            this.partId = partId;
+            this.buffer = buffer;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean matches(ExecutionEvent event) {
+            return (machineId == null || Objects.equals(machineId, event.getMachineId()))
+                    && (shiftId == null || Objects.equals(shiftId, event.getShiftId()))
+                    && (partId == null || Objects.equals(partId, event.getPartId()));
+        }
+
+        void offer(long id, ExecutionEvent event) {
+            Pending pending = new Pending(id, event);
+            while (!buffer.offer(pending)) {
+                if (buffer.poll() != null) dropped.incrementAndGet();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) sender.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                Pending pending;
+                while ((pending = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(pending.id()))
+                            .name(pending.event().getType().name())
+                            .data(pending.event()));
+                }
+            } catch (Exception e) {
+                log.debug("Dropping execution event subscriber after {} lost events: {}", dropped.get(), e.getMessage());
+                subscribers.remove(this);
+                buffer.clear();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                if (!buffer.isEmpty() && subscribers.contains(this)) scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.niam.kardan.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niam.common.exception.BusinessException;
+import com.niam.kardan.config.outbox.ExecutionEventSink;
+import com.niam.kardan.config.outbox.OutboxProperties;
+import com.niam.kardan.model.ExecutionOutbox;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.OutboxMessage;
+import com.niam.kardan.repository.ExecutionOutboxRepository;
+import com.niam.kardan.repository.ExecutionOutboxSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Transactional outbox for {@link ExecutionEvent}s. Every transition writes its event in its own transaction, so an
+ * event exists exactly when the execution and stop changes it describes committed. A relay drains the outbox to the
+ * configured {@link ExecutionEventSink}s: at-least-once, in order per machine, and a failing machine never holds back
+ * the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "kardan.outbox.enabled", havingValue = "true")
+public class ExecutionOutboxService {
+    private static final long RELAY_LOCK = 0x6b617264616e01L;
+    // sequence key of events without a machine
+    private static final long NO_MACHINE = 0L;
+
+    private final ExecutionOutboxRepository executionOutboxRepository;
+    private final ExecutionOutboxSequenceRepository executionOutboxSequenceRepository;
+    private final List<ExecutionEventSink> sinks;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Lazy
+    @Autowired
+    private ExecutionOutboxService self;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (sinks.isEmpty()) log.warn("No execution event sink configured; execution events are not written to the outbox");
+        else log.info("Relaying execution events to {}", sinks.stream().map(ExecutionEventSink::name).toList());
+    }
+
+    /**
+     * Runs inside the transition's transaction. Taking the machine's next sequence locks its counter row until commit,
+     * which orders concurrent transitions of one machine by commit. Without a sink nothing would drain the row, so
+     * nothing is written.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExecutionEvent(ExecutionEvent event) {
+        if (sinks.isEmpty()) return;
+        long sequence = executionOutboxSequenceRepository.next(
+                event.getMachineId() != null ? event.getMachineId() : NO_MACHINE);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Failed to write execution event to the outbox due to " + e.getMessage());
+        }
+        executionOutboxRepository.save(ExecutionOutbox.builder()
+                .machineId(event.getMachineId())
+                .machineSequence(sequence)
+                .eventType(event.getType().name())
+                .executionId(event.getExecutionId())
+                .payload(payload)
+                .createdAt(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${kardan.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (sinks.isEmpty()) return;
+        // a round is capped per machine, so a short round does not mean the backlog is drained; a round with failures
+        // ends the poll, so a failing event is retried on the next poll rather than spending its attempts right away
+        Round round;
+        do {
+            round = relay();
+        } while (round.delivered() > 0 && round.delivered() == round.fetched());
+    }
+
+    /**
+     * Deliver one batch and delete what was delivered. The batch is leased in one short transaction, delivered with no
+     * transaction or connection held, and settled in a second one. After a failure the remaining events of that
+     * machine wait for the next round, unless the failed event ran out of attempts: it is parked and the machine's
+     * later events go on. Delivery stops halfway through the lease; what is left goes back for the next round.
+     *
+     * @return number of events fetched and delivered
+     */
+    public Round relay() {
+        if (sinks.isEmpty()) return new Round(0, 0);
+        LocalDateTime leasedAt = LocalDateTime.now();
+        List<ExecutionOutbox> batch = self.lease(leasedAt.plus(properties.getLease()));
+        if (batch.isEmpty()) return new Round(0, 0);
+        LocalDateTime deadline = leasedAt.plus(properties.getLease().dividedBy(2));
+
+        Set<Long> failedMachines = new HashSet<>();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Failure> failures = new ArrayList<>();
+        for (ExecutionOutbox row : batch) {
+            if (LocalDateTime.now().isAfter(deadline)) break;
+            if (failedMachines.contains(row.getMachineId())) continue;
+            OutboxMessage message = new OutboxMessage(row.getId(), row.getMachineId(), row.getMachineSequence(),
+                    row.getEventType(), row.getPayload(), row.getCreatedAt());
+            ExecutionEventSink current = null;
+            try {
+                for (ExecutionEventSink sink : sinks) {
+                    current = sink;
+                    sink.deliver(message);
+                }
+                delivered.add(row.getId());
+            } catch (Exception e) {
+                String error = current.name() + ": " + e.getMessage();
+                error = error.length() > 1000 ? error.substring(0, 1000) : error;
+                boolean park = row.getAttempts() + 1 >= properties.getMaxAttempts();
+                if (park) {
+                    log.error("Outbox event {} (machine {}) parked after {} attempts: {}", row.getId(),
+                            row.getMachineId(), row.getAttempts() + 1, error);
+                } else {
+                    failedMachines.add(row.getMachineId());
+                    log.warn("Relay of outbox event {} (machine {}, attempt {}) failed: {}", row.getId(),
+                            row.getMachineId(), row.getAttempts() + 1, error);
+                }
+                failures.add(new Failure(row.getId(), error, park));
+            }
+        }
+        self.settle(batch.stream().map(ExecutionOutbox::getId).toList(), delivered, failures);
+        return new Round(batch.size(), delivered.size());
+    }
+
+    /**
+     * Lease the next batch until {@code until}. Holds an advisory lock, so concurrent instances skip the round instead
+     * of leasing the same events.
+     */
+    @Transactional("transactionManager")
+    public List<ExecutionOutbox> lease(LocalDateTime until) {
+        if (!executionOutboxRepository.tryRelayLock(RELAY_LOCK)) return List.of();
+        List<ExecutionOutbox> batch = executionOutboxRepository.findNextBatch(properties.getBatchSize(),
+                properties.getPerMachine());
+        if (!batch.isEmpty()) {
+            executionOutboxRepository.lease(batch.stream().map(ExecutionOutbox::getId).toList(), until);
+        }
+        return batch;
+    }
+
+    /**
+     * Delete what was delivered, record or park the failures and return the rest of the batch to the queue.
+     */
+    @Transactional("transactionManager")
+    public void settle(List<Long> leased, List<Long> delivered, List<Failure> failures) {
+        if (!delivered.isEmpty()) executionOutboxRepository.deleteByIdIn(delivered);
+        for (Failure failure : failures) {
+            if (failure.park()) executionOutboxRepository.park(failure.id(), failure.error(), LocalDateTime.now());
+            else executionOutboxRepository.recordFailure(failure.id(), failure.error());
+        }
+        List<Long> remaining = leased.stream().filter(id -> !delivered.contains(id)).toList();
+        if (!remaining.isEmpty()) executionOutboxRepository.release(remaining);
+    }
+
+    public record Round(int fetched, int delivered) {
+    }
+
+    public record Failure(Long id, String error, boolean park) {
+    }
+}
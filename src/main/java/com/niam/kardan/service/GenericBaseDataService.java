@@ -5,6 +5,7 @@ import com.niam.common.exception.EntityExistsException;
 import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -29,16 +30,18 @@ import java.util.Optional;
 public class GenericBaseDataService<T extends BaseData> {
     private final EntityManager em;
     private final CacheManager cacheManager;
+    private final BaseDataRegistry registry;
 
     @Getter
     private final Class<T> type;
     private final String entityName;
 
-    public GenericBaseDataService(Class<T> type, EntityManager em, CacheManager cacheManager) {
+    public GenericBaseDataService(Class<T> type, EntityManager em, CacheManager cacheManager, BaseDataRegistry registry) {
         this.type = type;
         this.entityName = type.getSimpleName();
         this.em = em;
         this.cacheManager = cacheManager;
+        this.registry = registry;
     }
 
     private String cacheAllName() {
@@ -117,7 +120,7 @@ public class GenericBaseDataService<T extends BaseData> {
             BeanUtils.copyProperties(payload, instance, "id");
             em.persist(instance);
             em.flush();
-            evictCaches();
+            evictCaches(null, instance.getCode());
             return instance;
         } catch (DataIntegrityViolationException | ConstraintViolationException e) {
             throw new EntityExistsException(entityName + " with this code exists");
@@ -133,7 +136,7 @@ public class GenericBaseDataService<T extends BaseData> {
             BeanUtils.copyProperties(payload, existing, "id", "code");
             em.merge(existing);
             em.flush();
-            evictCaches();
+            evictCaches(id, existing.getCode());
             return existing;
         } catch (Exception e) {
             throw new BusinessException("Failed to update " + entityName + " due to " + e.getMessage());
@@ -144,17 +147,26 @@ public class GenericBaseDataService<T extends BaseData> {
         T existing = em.find(type, id);
         if (existing == null) throw notFound(String.valueOf(id));
         em.remove(existing);
-        evictCaches();
+        evictCaches(id, existing.getCode());
     }
 
-    private void evictCaches() {
-        Cache c;
-        c = cacheManager.getCache(cacheAllName());
-        if (c != null) c.clear();
-        c = cacheManager.getCache(cacheByIdName());
-        if (c != null) c.clear();
-        c = cacheManager.getCache(cacheByCodeName());
-        if (c != null) c.clear();
+    /**
+     * Evict only the touched entry (by id and code) and the unfiltered list; other codes stay cached.
+     * Both happen after commit, registry first: evicting earlier would let a concurrent read or a refresh re-cache
+     * the old row until it expires.
+     */
+    private void evictCaches(Long id, String code) {
+        AfterCommit.run(() -> {
+            registry.reload(type);
+            evict(cacheAllName(), "all");
+            if (id != null) evict(cacheByIdName(), id);
+            if (code != null) evict(cacheByCodeName(), code);
+        });
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache c = cacheManager.getCache(cacheName);
+        if (c != null) c.evict(key);
     }
 
     private EntityNotFoundException notFound(String id) {
@@ -0,0 +1,208 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.SchedulingMachine;
+import com.niam.kardan.model.dto.SchedulingTask;
+import com.niam.kardan.model.dto.TaskAssignment;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Earliest-due-date list scheduling. Tasks are taken in order of project due date, then routing sequence, and each is
+ * placed on the machine of its operation's machine type where it can start first, no earlier than the end of the
+ * part's previous sequence. Working time follows a shift calendar. One pass, O(tasks x machines per type).
+ */
+final class ListScheduler {
+    private static final Comparator<SchedulingTask> PRIORITY = Comparator
+            .comparing(SchedulingTask::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SchedulingTask::sequence, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SchedulingTask::partId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SchedulingTask::taskId);
+
+    private final WorkCalendar calendar;
+    private final long defaultDuration;
+
+    ListScheduler(WorkCalendar calendar, long defaultDuration) {
+        this.calendar = calendar;
+        this.defaultDuration = defaultDuration;
+    }
+
+    /**
+     * @param machineReady when each busy machine becomes free; machines not in the map are free at {@code horizon}
+     */
+    Result schedule(List<SchedulingTask> tasks, List<SchedulingMachine> machines, Map<Long, LocalDateTime> machineReady,
+                    LocalDateTime horizon) {
+        long start = toSeconds(horizon);
+        Map<Long, MachineGroup> groups = new HashMap<>();
+        machines.stream().filter(m -> m.machineTypeId() != null)
+                .collect(Collectors.groupingBy(SchedulingMachine::machineTypeId))
+                .forEach((typeId, members) -> {
+                    MachineGroup group = new MachineGroup(members.size());
+                    for (int i = 0; i < members.size(); i++) {
+                        group.ids[i] = members.get(i).machineId();
+                        LocalDateTime ready = machineReady.get(group.ids[i]);
+                        group.ready[i] = ready == null ? start : Math.max(start, toSeconds(ready));
+                    }
+                    groups.put(typeId, group);
+                });
+
+        SchedulingTask[] ordered = tasks.toArray(SchedulingTask[]::new);
+        Arrays.sort(ordered, PRIORITY);
+        Map<Long, PartClock> parts = new HashMap<>();
+        List<TaskAssignment> assignments = new ArrayList<>(ordered.length);
+        List<Long> unschedulable = new ArrayList<>();
+        long reassigned = 0;
+        long makespan = start;
+        for (SchedulingTask task : ordered) {
+            MachineGroup group = groups.get(task.machineTypeId());
+            if (group == null) {
+                unschedulable.add(task.taskId());
+                continue;
+            }
+            PartClock clock = parts.computeIfAbsent(task.partId(), id -> new PartClock());
+            long earliest = Math.max(start, clock.readyFor(task.sequence()));
+
+            int best = 0;
+            long bestStart = Long.MAX_VALUE;
+            for (int i = 0; i < group.ids.length; i++) {
+                long candidate = Math.max(earliest, group.ready[i]);
+                if (candidate < bestStart || candidate == bestStart && group.ids[i].equals(task.currentMachineId())) {
+                    best = i;
+                    bestStart = candidate;
+                }
+            }
+            long plannedStart = calendar.align(bestStart);
+            long duration = task.estimatedDuration() != null && task.estimatedDuration() > 0
+                    ? task.estimatedDuration() : defaultDuration;
+            long plannedEnd = calendar.finish(plannedStart, duration);
+            group.ready[best] = plannedEnd;
+            clock.finished(plannedEnd);
+            makespan = Math.max(makespan, plannedEnd);
+
+            Long machineId = group.ids[best];
+            if (!machineId.equals(task.currentMachineId())) reassigned++;
+            assignments.add(new TaskAssignment(task.taskId(), machineId, toDateTime(plannedStart), toDateTime(plannedEnd)));
+        }
+        return new Result(assignments, unschedulable, reassigned, toDateTime(makespan));
+    }
+
+    static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime toDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    record Result(List<TaskAssignment> assignments, List<Long> unschedulable, long reassigned, LocalDateTime makespanEnd) {
+    }
+
+    private static final class MachineGroup {
+        private final Long[] ids;
+        private final long[] ready;
+
+        MachineGroup(int size) {
+            ids = new Long[size];
+            ready = new long[size];
+        }
+    }
+
+    /**
+     * End times of a part's planned operations: a sequence may start once every lower sequence has ended, while
+     * operations sharing a sequence run in parallel.
+     */
+    private static final class PartClock {
+        private Integer sequence;
+        private long previousEnd;
+        private long currentEnd;
+
+        long readyFor(Integer next) {
+            if (sequence == null || next == null || next > sequence) {
+                previousEnd = Math.max(previousEnd, currentEnd);
+                currentEnd = 0;
+                sequence = next;
+            }
+            return previousEnd;
+        }
+
+        void finished(long end) {
+            currentEnd = Math.max(currentEnd, end);
+        }
+    }
+
+    /**
+     * Working windows from shift calendars, merged and sorted. Time before, between and inside windows behaves as
+     * expected; after the last window (or with no windows at all) time is treated as continuous.
+     */
+    static final class WorkCalendar {
+        private final long[] starts;
+        private final long[] ends;
+
+        private WorkCalendar(long[] starts, long[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        static WorkCalendar continuous() {
+            return new WorkCalendar(new long[0], new long[0]);
+        }
+
+        static WorkCalendar of(List<LocalDateTime[]> windows) {
+            List<long[]> sorted = windows.stream()
+                    .filter(w -> w[0] != null && w[1] != null && w[1].isAfter(w[0]))
+                    .map(w -> new long[]{toSeconds(w[0]), toSeconds(w[1])})
+                    .sorted(Comparator.comparingLong(w -> w[0]))
+                    .toList();
+            List<long[]> merged = new ArrayList<>();
+            for (long[] window : sorted) {
+                long[] last = merged.isEmpty() ? null : merged.getLast();
+                if (last != null && window[0] <= last[1]) last[1] = Math.max(last[1], window[1]);
+                else merged.add(window.clone());
+            }
+            return new WorkCalendar(merged.stream().mapToLong(w -> w[0]).toArray(),
+                    merged.stream().mapToLong(w -> w[1]).toArray());
+        }
+
+        /**
+         * The first working instant at or after {@code time}.
+         */
+        long align(long time) {
+            int i = windowEndingAfter(time);
+            return i == starts.length ? time : Math.max(time, starts[i]);
+        }
+
+        /**
+         * The instant at which {@code seconds} of working time starting at {@code start} are used up.
+         */
+        long finish(long start, long seconds) {
+            long time = start;
+            long remaining = seconds;
+            for (int i = windowEndingAfter(time); i < starts.length; i++) {
+                time = Math.max(time, starts[i]);
+                long available = ends[i] - time;
+                if (available >= remaining) return time + remaining;
+                remaining -= available;
+                time = ends[i];
+            }
+            return time + remaining;
+        }
+
+        private int windowEndingAfter(long time) {
+            int low = 0;
+            int high = ends.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ends[mid] > time) high = mid;
+                else low = mid + 1;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.niam.kardan.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.dto.BoardMachine;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.ExecutionSlot;
+import com.niam.kardan.model.dto.MachineBoardEntry;
+import com.niam.kardan.model.dto.OpenExecution;
+import com.niam.kardan.model.dto.OpenStop;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.model.enums.MachineActivity;
+import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import com.niam.kardan.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory state of every machine: its open executions with operator, open stop and reason, and since when it is
+ * running, stopped or idle. Rebuilt from three queries at startup and kept current from the execution transitions
+ * once they commit, so the plant overview never touches the database. Like {@link DispatchQueue} it only sees
+ * transitions committed by this instance; {@link #rebuild} resynchronizes it. Transitions delivered while a rebuild
+ * reads are replayed onto its result, so a commit racing the rebuild is not lost when the new board is swapped in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MachineBoard {
+    private static final Comparator<MachineBoardEntry> BOARD_ORDER = Comparator
+            .comparing(MachineBoardEntry::code, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(MachineBoardEntry::machineId);
+    private static final Duration FINISHED_RETENTION = Duration.ofMinutes(10);
+
+    private final MachineRepository machineRepository;
+    private final OperationExecutionRepository operationExecutionRepository;
+    private final OperationStopRepository operationStopRepository;
+    private final BaseDataRegistry baseDataRegistry;
+
+    @Lazy
+    @Autowired
+    private MachineBoard self;
+
+    private final Map<Long, MachineBoardEntry> entries = new ConcurrentHashMap<>();
+    // executions finished lately; a CLAIMED or REASSIGNED of one delivered after its FINISHED must not bring it back
+    private final Cache<Long, Boolean> finished = Caffeine.newBuilder()
+            .expireAfterWrite(FINISHED_RETENTION).maximumSize(100_000).build();
+    // guarded by this: transitions seen since the oldest running rebuild started reading, replayed at its swap
+    private final List<ExecutionEvent> duringRebuild = new ArrayList<>();
+    private int rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        self.rebuild();
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding++;
+        }
+        try {
+            swap(load());
+        } finally {
+            synchronized (this) {
+                if (--rebuilding == 0) duringRebuild.clear();
+            }
+        }
+    }
+
+    private Map<Long, MachineBoardEntry> load() {
+        List<BoardMachine> machines = machineRepository.findBoardMachines();
+        List<OpenExecution> executions = operationExecutionRepository.findOpen(List.of(
+                baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED).getId(),
+                baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.RUNNING).getId(),
+                baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STOPPED).getId()));
+        // the latest open stop of each execution
+        Map<Long, OpenStop> stops = new HashMap<>();
+        for (OpenStop stop : operationStopRepository.findOpen()) {
+            stops.merge(stop.executionId(), stop, (a, b) -> isAfter(b.startedAt(), a.startedAt()) ? b : a);
+        }
+
+        Map<Long, List<ExecutionSlot>> slots = new HashMap<>();
+        for (OpenExecution execution : executions) {
+            if (execution.machineId() == null) continue;
+            OpenStop stop = stops.get(execution.executionId());
+            ExecutionSlot slot = EXECUTION_STATUS.STOPPED.name().equalsIgnoreCase(execution.executionStatus())
+                    ? new ExecutionSlot(execution.executionId(), execution.taskId(), execution.operatorId(), true,
+                    stop != null ? stop.stopId() : null, stop != null ? stop.stopReasonId() : null,
+                    stop != null ? stop.stopReason() : null, stop != null ? stop.startedAt() : execution.stopTime())
+                    : new ExecutionSlot(execution.executionId(), execution.taskId(), execution.operatorId(), false,
+                    null, null, null, execution.startTime());
+            slots.computeIfAbsent(execution.machineId(), id -> new ArrayList<>()).add(slot);
+        }
+
+        Map<Long, MachineBoardEntry> loaded = new HashMap<>();
+        for (BoardMachine machine : machines) {
+            List<ExecutionSlot> open = List.copyOf(slots.getOrDefault(machine.machineId(), List.of()));
+            loaded.put(machine.machineId(), new MachineBoardEntry(machine.machineId(), machine.code(),
+                    machine.machineStatus(), activityOf(open), sinceOf(open), open));
+        }
+        log.info("MachineBoard loaded {} machines with {} open executions", loaded.size(), executions.size());
+        return loaded;
+    }
+
+    // a transition the loaded rows already reflect leaves them as they are, so the whole buffer is replayed in order
+    private synchronized void swap(Map<Long, MachineBoardEntry> loaded) {
+        entries.clear();
+        entries.putAll(loaded);
+        duringRebuild.forEach(this::apply);
+    }
+
+    /**
+     * The whole board, ordered by machine code.
+     */
+    public List<MachineBoardEntry> board() {
+        return entries.values().stream().sorted(BOARD_ORDER).toList();
+    }
+
+    public Optional<MachineBoardEntry> get(Long machineId) {
+        return Optional.ofNullable(entries.get(machineId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExecutionEvent(ExecutionEvent event) {
+        if (event.getMachineId() == null || event.getExecutionId() == null) return;
+        synchronized (this) {
+            if (rebuilding > 0) duringRebuild.add(event);
+        }
+        apply(event);
+    }
+
+    private void apply(ExecutionEvent event) {
+        Long executionId = event.getExecutionId();
+        LocalDateTime at = event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now();
+        if (event.getType() == ExecutionEventType.FINISHED) {
+            finished.put(executionId, Boolean.TRUE);
+        } else if (finished.getIfPresent(executionId) != null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CLAIMED -> update(event.getMachineId(), at, slots -> find(slots, executionId) != null ? slots
+                    : append(slots, new ExecutionSlot(executionId, event.getTaskId(), event.getOperatorId(), false,
+                    null, null, null, at)));
+            case STOPPED -> update(event.getMachineId(), at, slots -> replace(slots, executionId, at,
+                    slot -> slot.stopped(event.getStopId(), event.getStopReasonId(), event.getStopReason(), at)));
+            case RESUMED -> update(event.getMachineId(), at, slots -> replace(slots, executionId, at,
+                    slot -> slot.running(at)));
+            case FINISHED -> update(event.getMachineId(), at, slots -> without(slots, executionId));
+            case REASSIGNED -> {
+                ExecutionSlot moved = Optional.ofNullable(event.getPreviousMachineId()).map(entries::get)
+                        .map(entry -> find(entry.executions(), executionId)).orElse(null);
+                if (event.getPreviousMachineId() != null && !event.getPreviousMachineId().equals(event.getMachineId())) {
+                    update(event.getPreviousMachineId(), at, slots -> without(slots, executionId));
+                }
+                // already on the target when replayed after a rebuild: keep the slot as it is
+                ExecutionSlot slot = Optional.ofNullable(moved).or(() -> Optional.ofNullable(entries.get(event.getMachineId()))
+                        .map(entry -> find(entry.executions(), executionId))).orElse(new ExecutionSlot(executionId,
+                        event.getTaskId(), event.getOperatorId(), false, null, null, null, at));
+                update(event.getMachineId(), at, slots -> append(without(slots, executionId), slot));
+            }
+        }
+    }
+
+    /**
+     * Add or refresh a machine's code and status once the surrounding transaction commits.
+     */
+    public void putMachineAfterCommit(Long machineId, String code, String machineStatus) {
+        AfterCommit.run(() -> entries.compute(machineId, (id, current) -> current == null
+                ? new MachineBoardEntry(id, code, machineStatus, MachineActivity.IDLE, null, List.of())
+                : new MachineBoardEntry(id, code, machineStatus, current.activity(), current.since(), current.executions())));
+    }
+
+    public void statusAfterCommit(Long machineId, String machineStatus) {
+        AfterCommit.run(() -> entries.computeIfPresent(machineId, (id, current) -> new MachineBoardEntry(id, current.code(),
+                machineStatus, current.activity(), current.since(), current.executions())));
+    }
+
+    public void removeMachineAfterCommit(Long machineId) {
+        AfterCommit.run(() -> entries.remove(machineId));
+    }
+
+    private void update(Long machineId, LocalDateTime at, UnaryOperator<List<ExecutionSlot>> change) {
+        entries.compute(machineId, (id, current) -> {
+            List<ExecutionSlot> slots = change.apply(current != null ? current.executions() : List.of());
+            MachineActivity activity = activityOf(slots);
+            LocalDateTime since = current != null && current.activity() == activity ? current.since() : at;
+            return new MachineBoardEntry(id, current != null ? current.code() : null,
+                    current != null ? current.machineStatus() : null, activity, since, slots);
+        });
+    }
+
+    static MachineActivity activityOf(List<ExecutionSlot> slots) {
+        if (slots.isEmpty()) return MachineActivity.IDLE;
+        return slots.stream().allMatch(ExecutionSlot::stopped) ? MachineActivity.STOPPED : MachineActivity.RUNNING;
+    }
+
+    // after a rebuild: running since the earliest running execution, stopped since the latest stop
+    private static LocalDateTime sinceOf(List<ExecutionSlot> slots) {
+        return switch (activityOf(slots)) {
+            case IDLE -> null;
+            case RUNNING -> slots.stream().filter(s -> !s.stopped()).map(ExecutionSlot::since).filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder()).orElse(null);
+            case STOPPED -> slots.stream().map(ExecutionSlot::since).filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder()).orElse(null);
+        };
+    }
+
+    private static ExecutionSlot find(List<ExecutionSlot> slots, Long executionId) {
+        return slots.stream().filter(s -> s.executionId().equals(executionId)).findFirst().orElse(null);
+    }
+
+    private static List<ExecutionSlot> append(List<ExecutionSlot> slots, ExecutionSlot slot) {
+        List<ExecutionSlot> next = new ArrayList<>(slots);
+        next.add(slot);
+        return List.copyOf(next);
+    }
+
+    private static List<ExecutionSlot> without(List<ExecutionSlot> slots, Long executionId) {
+        return slots.stream().filter(s -> !s.executionId().equals(executionId)).toList();
+    }
+
+    // listeners run after commit and may see two transitions of one execution out of order; the older one is dropped
+    private static List<ExecutionSlot> replace(List<ExecutionSlot> slots, Long executionId, LocalDateTime at,
+                                               UnaryOperator<ExecutionSlot> change) {
+        return slots.stream().map(s -> s.executionId().equals(executionId) && !isAfter(s.since(), at)
+                ? change.apply(s) : s).toList();
+    }
+
+    private static boolean isAfter(LocalDateTime a, LocalDateTime b) {
+        return a != null && b != null && a.isAfter(b);
+    }
+}
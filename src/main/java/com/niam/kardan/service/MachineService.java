@@ -4,16 +4,19 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.Machine;
 import com.niam.kardan.model.basedata.MachineStatus;
 import com.niam.kardan.model.basedata.MachineType;
 import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -23,6 +26,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -33,32 +37,55 @@ public class MachineService {
     private final MachineRepository machineRepository;
     private final GenericBaseDataServiceFactory baseDataServiceFactory;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
+    private final MachineBoard machineBoard;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private MachineService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"machines", "machine"}, allEntries = true)
     public Machine create(Machine machine) {
+        pageCacheVersions.bump("machines");
         machine.setMachineType(baseDataServiceFactory
                 .create(MachineType.class).getByCode(machine.getMachineType().getCode()));
         machine.setMachineStatus(baseDataServiceFactory
                 .create(MachineStatus.class).getByCode(machine.getMachineStatus().getCode()));
-        return machineRepository.save(machine);
+        machine.setStatusSince(LocalDateTime.now());
+        Machine saved = machineRepository.save(machine);
+        machineBoard.putMachineAfterCommit(saved.getId(), saved.getCode(), saved.getMachineStatus().getCode());
+        return saved;
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"machines", "machine"}, allEntries = true)
     public Machine update(Long id, Machine updated) {
+        evictAfterCommit(id);
         Machine existing = self.getById(id);
-        BeanUtils.copyProperties(updated, existing, "id");
+        MachineStatus previousStatus = existing.getMachineStatus();
+        BeanUtils.copyProperties(updated, existing, "id", "statusSince");
         existing.setMachineType(baseDataServiceFactory
                 .create(MachineType.class).getByCode(updated.getMachineType().getCode()));
         existing.setMachineStatus(baseDataServiceFactory
                 .create(MachineStatus.class).getByCode(updated.getMachineStatus().getCode()));
-        return machineRepository.save(existing);
+        if (previousStatus == null || !previousStatus.getId().equals(existing.getMachineStatus().getId()))
+            existing.setStatusSince(LocalDateTime.now());
+        Machine saved = machineRepository.save(existing);
+        machineBoard.putMachineAfterCommit(saved.getId(), saved.getCode(), saved.getMachineStatus().getCode());
+        return saved;
+    }
+
+    /**
+     * Drop the cached machine and its list pages once the current transaction commits, so a read racing the write
+     * cannot put the old row back; also used by writes that bypass the entity (see {@link MachineStatusSync}).
+     */
+    public void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("machines");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("machine");
+            if (cache != null) cache.evict(id);
+        });
     }
 
     @Cacheable(value = "machine", key = "#id")
@@ -71,7 +98,7 @@ public class MachineService {
                                 "Machine")));
     }
 
-    @Cacheable(value = "machines")
+    @Cacheable(value = "machines", key = "@pageCacheVersions.key('machines', #requestParams)")
     public Page<Machine> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<Machine> specification = (root, query, criteriaBuilder) -> {
@@ -90,11 +117,12 @@ public class MachineService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"machines", "machine"}, allEntries = true)
     public void delete(Long id) {
+        evictAfterCommit(id);
         Machine machine = self.getById(id);
         try {
             machineRepository.delete(machine);
+            machineBoard.removeMachineAfterCommit(id);
         } catch (DataIntegrityViolationException e) {
             throw new EntityExistsException(
                     messageUtil.getMessage(ResultResponseStatus.ENTITY_HAS_DEPENDENCIES.getDescription(), "Machine"));
@@ -0,0 +1,60 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.MachineStatus;
+import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.basedata.enums.MACHINE_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.MachineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Keeps {@code Machine.machineStatus} and {@code statusSince} in step with the machine's executions: BUSY while one
+ * runs, STOPPED while all open ones are stopped, ACTIVE when none is open. Runs inside each transition's transaction
+ * and writes the machine row with one conditional UPDATE, never through the cached entity. MAINTENANCE and OFFLINE
+ * are set by hand and left alone.
+ */
+@Service
+@RequiredArgsConstructor
+public class MachineStatusSync {
+    private final MachineRepository machineRepository;
+    private final BaseDataRegistry baseDataRegistry;
+    private final MachineService machineService;
+    private final MachineBoard machineBoard;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExecutionEvent(ExecutionEvent event) {
+        if (event.getMachineId() == null) return;
+        // a reassignment touches two machine rows; updating them in id order keeps opposite moves from deadlocking
+        TreeSet<Long> machineIds = new TreeSet<>();
+        machineIds.add(event.getMachineId());
+        if (event.getType() == ExecutionEventType.REASSIGNED && event.getPreviousMachineId() != null) {
+            machineIds.add(event.getPreviousMachineId());
+        }
+        machineIds.forEach(this::sync);
+    }
+
+    void sync(Long machineId) {
+        // no explicit row lock: the UPDATE only writes, and so only locks the row, when the status actually changes,
+        // so claims on a machine that stays BUSY never wait for each other. The flush makes our transition visible.
+        machineRepository.flush();
+        Long statusId = machineRepository.syncStatus(machineId,
+                List.of(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED).getId(),
+                        baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.RUNNING).getId()),
+                baseDataRegistry.get(MachineStatus.class, MACHINE_STATUS.BUSY).getId(),
+                baseDataRegistry.get(MachineStatus.class, MACHINE_STATUS.STOPPED).getId(),
+                baseDataRegistry.get(MachineStatus.class, MACHINE_STATUS.ACTIVE).getId(),
+                LocalDateTime.now());
+        if (statusId == null) return;
+        machineService.evictAfterCommit(machineId);
+        machineBoard.statusAfterCommit(machineId, baseDataRegistry.getById(MachineStatus.class, statusId).getCode());
+    }
+}
@@ -0,0 +1,113 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.MachineOee;
+import com.niam.kardan.model.OperationExecution;
+import com.niam.kardan.model.OperationStop;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.OeeReport;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.MachineOeeRepository;
+import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the {@code machine_oee} rollup as executions finish and derives availability, performance and quality
+ * from it. Only the finished execution and its stops are read, so the cost of an update does not grow with history.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OeeService {
+    private final OperationExecutionRepository operationExecutionRepository;
+    private final OperationStopRepository operationStopRepository;
+    private final MachineOeeRepository machineOeeRepository;
+
+    /**
+     * Runs inside the finishing transaction, so the rollup commits or rolls back together with the execution.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExecutionEvent(ExecutionEvent event) {
+        if (event.getType() != ExecutionEventType.FINISHED || event.getExecutionId() == null) return;
+        operationExecutionRepository.findById(event.getExecutionId())
+                .ifPresent(exec -> record(exec, event.getShiftId()));
+    }
+
+    void record(OperationExecution exec, Long shiftId) {
+        if (exec.getMachine() == null || exec.getEndTime() == null) return;
+        LocalDateTime end = exec.getEndTime();
+        LocalDateTime start = exec.getTask() != null && exec.getTask().getStartedAt() != null
+                ? exec.getTask().getStartedAt() : exec.getStartTime();
+        if (start == null) return;
+
+        long downSeconds = 0;
+        for (OperationStop stop : operationStopRepository.findAllByOperationExecutionId(exec.getId())) {
+            if (stop.getStartedAt() == null) continue;
+            // a stop still open at finish counts up to the finish time
+            LocalDateTime stopEnd = stop.getEndedAt() != null ? stop.getEndedAt() : end;
+            downSeconds += Math.max(0, Duration.between(stop.getStartedAt(), stopEnd).getSeconds());
+        }
+        long elapsedSeconds = Math.max(0, Duration.between(start, end).getSeconds());
+        long runSeconds = Math.max(0, elapsedSeconds - downSeconds);
+        long idealSeconds = exec.getPartOperation() != null && exec.getPartOperation().getEstimatedDuration() != null
+                ? exec.getPartOperation().getEstimatedDuration() : 0;
+
+        // no reject data is captured yet, so every finished execution counts as one good unit
+        machineOeeRepository.accumulate(exec.getMachine().getId(), shiftId != null ? shiftId : MachineOee.NO_SHIFT,
+                end.toLocalDate(), runSeconds, downSeconds, idealSeconds, 1, 1);
+        log.debug("OEE accumulated for execution {}: run={}s down={}s ideal={}s", exec.getId(), runSeconds, downSeconds, idealSeconds);
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public List<OeeReport> getOee(Long machineId, Long shiftId, LocalDate from, LocalDate to) {
+        Specification<MachineOee> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (machineId != null) predicates.add(cb.equal(root.get("machineId"), machineId));
+            if (shiftId != null) predicates.add(cb.equal(root.get("shiftId"), shiftId));
+            if (from != null) predicates.add(cb.greaterThanOrEqualTo(root.get("day"), from));
+            if (to != null) predicates.add(cb.lessThanOrEqualTo(root.get("day"), to));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return machineOeeRepository.findAll(spec, Sort.by("day", "machineId", "shiftId")).stream()
+                .map(OeeService::toReport)
+                .toList();
+    }
+
+    static OeeReport toReport(MachineOee oee) {
+        double availability = ratio(oee.getRunSeconds(), oee.getRunSeconds() + oee.getDownSeconds());
+        double performance = ratio(oee.getIdealSeconds(), oee.getRunSeconds());
+        double quality = ratio(oee.getGoodCount(), oee.getTotalCount());
+        return OeeReport.builder()
+                .machineId(oee.getMachineId())
+                .shiftId(oee.getShiftId())
+                .day(oee.getDay())
+                .availability(availability)
+                .performance(performance)
+                .quality(quality)
+                .oee(availability * performance * quality)
+                .runSeconds(oee.getRunSeconds())
+                .downSeconds(oee.getDownSeconds())
+                .idealSeconds(oee.getIdealSeconds())
+                .totalCount(oee.getTotalCount())
+                .goodCount(oee.getGoodCount())
+                .build();
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0d : (double) numerator / denominator;
+    }
+}
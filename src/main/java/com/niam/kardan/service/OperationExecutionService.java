@@ -1,36 +1,68 @@
 package com.niam.kardan.service;
 
+import com.niam.common.exception.BusinessException;
 import com.niam.common.exception.EntityNotFoundException;
-import com.niam.common.exception.IllegalStateException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
+import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.aop.MeteredTransition;
+import com.niam.kardan.exception.TransitionRejectedException;
 import com.niam.kardan.model.*;
-import com.niam.kardan.model.basedata.BaseData;
 import com.niam.kardan.model.basedata.ExecutionStatus;
 import com.niam.kardan.model.basedata.TaskStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
 import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.KeysetPage;
+import com.niam.kardan.model.dto.OperationExecutionView;
+import com.niam.kardan.model.dto.TaskClaimResult;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.model.enums.TransitionOutcome;
 import com.niam.kardan.repository.OperationExecutionRepository;
 import com.niam.kardan.repository.OperationStopRepository;
-import com.niam.kardan.repository.OperatorMachineRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.util.KeysetPaginationUtils;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OperationExecutionService {
+    // a batch is one operator loading 20-50 tasks onto a machine; anything much larger is a client bug
+    public static final int MAX_BATCH_CLAIM = 100;
+
     private final OperationExecutionRepository operationExecutionRepository;
     private final PartOperationTaskRepository partOperationTaskRepository;
     private final OperationStopRepository operationStopRepository;
-    private final OperatorMachineRepository operatorMachineRepository;
+    private final OperatorAuthorization operatorAuthorization;
+    private final OperatorShiftRepository operatorShiftRepository;
     private final MachineService machineService;
     private final UserAccountService operatorService;
     private final StopReasonService stopReasonService;
-    private final GenericBaseDataServiceFactory baseDataServiceFactory;
+    private final BaseDataRegistry baseDataRegistry;
+    private final DispatchQueue dispatchQueue;
+    private final PaginationUtils paginationUtils;
+    private final KeysetPaginationUtils keysetPaginationUtils;
+    private final ApplicationEventPublisher eventPublisher;
     private final MessageUtil messageUtil;
 
     public OperationExecution getById(Long id) {
@@ -41,11 +73,47 @@ public class OperationExecutionService {
                         ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "OperationExecution")));
     }
 
+    @Transactional(readOnly = true, value = "transactionManager")
+    public OperationExecutionView getView(Long id) {
+        return operationExecutionRepository.findDetailedById(id).map(OperationExecutionView::from)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
+                        ResultResponseStatus.ENTITY_NOT_FOUND.getReasonCode(),
+                        messageUtil.getMessage(
+                                ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "OperationExecution")));
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public Page<OperationExecutionView> getAll(Map<String, Object> requestParams) {
+        PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
+        return operationExecutionRepository.findAll(executionFilters(requestParams), pageRequest)
+                .map(OperationExecutionView::from);
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public KeysetPage<OperationExecutionView> scroll(Map<String, Object> requestParams) {
+        return keysetPaginationUtils.page(operationExecutionRepository, executionFilters(requestParams), requestParams,
+                OperationExecution::getId, OperationExecutionView.FETCH).map(OperationExecutionView::from);
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public Page<OperationStop> getAllStops(Map<String, Object> requestParams) {
+        PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
+        return operationStopRepository.findAll(stopFilters(requestParams), pageRequest);
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public KeysetPage<OperationStop> scrollStops(Map<String, Object> requestParams) {
+        return keysetPaginationUtils.page(operationStopRepository, stopFilters(requestParams), requestParams,
+                OperationStop::getId);
+    }
+
     /**
      * Claim and start a task.
      * Concurrency safe: uses PESSIMISTIC_WRITE lock on task row.
      */
     @Transactional("transactionManager")
+    @MeteredTransition("claim")
     public OperationExecution claimAndStartTask(Long taskId, Long operatorId, Long machineId) {
         PartOperationTask task = partOperationTaskRepository.findByIdForUpdate(taskId)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -56,7 +124,8 @@ public class OperationExecutionService {
 
         // Validate task status = PENDING
         if (!TASK_STATUS.PENDING.name().equalsIgnoreCase(task.getTaskStatus().getCode())) {
-            throw new IllegalStateException(
+            dispatchQueue.remove(taskId);
+            throw new TransitionRejectedException(TransitionOutcome.NOT_PENDING,
                     messageUtil.getMessage("task.not.pending", String.valueOf(taskId)));
         }
 
@@ -66,48 +135,113 @@ public class OperationExecutionService {
 
         // Validate machine match
         if (!task.getTargetMachine().getId().equals(machine.getId())) {
-            throw new IllegalStateException(
+            throw new TransitionRejectedException(TransitionOutcome.MACHINE_MISMATCH,
                     messageUtil.getMessage("task.machine.mismatch", String.valueOf(taskId)));
         }
 
         // Check operator authorized for machine (active OperatorMachine)
-        boolean operatorCanUse = operatorMachineRepository
-                .existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(operator.getId(), machine.getId());
-        if (!operatorCanUse) {
-            throw new IllegalStateException(
-                    messageUtil.getMessage("operator.notAssignedToMachine",
-                            operator.getUser() != null ? operator.getUser().getUsername() : "unknown"));
-        }
+        assertOperatorAssigned(operator, machine);
 
-        // Mark task as claimed and started
-        task.setClaimedBy(operator);
-        task.setClaimedAt(LocalDateTime.now());
-        task.setStartedAt(LocalDateTime.now());
-        task.setTaskStatus(baseDataServiceFactory.create(TaskStatus.class).getByCode(TASK_STATUS.IN_PROGRESS.name()));
+        OperationExecution exec = startExecution(task, operator, machine);
         partOperationTaskRepository.save(task);
+        OperationExecution saved = operationExecutionRepository.save(exec);
+        publish(ExecutionEventType.CLAIMED, exec);
+        return saved;
+    }
 
-        // Create OperationExecution
-        OperationExecution exec = new OperationExecution();
-        exec.setTask(task);
-        exec.setPartOperation(task.getPartOperation());
-        exec.setMachine(machine);
-        exec.setOperator(operator);
-        exec.setStartTime(LocalDateTime.now());
-        exec.setExecutionStatus(baseDataServiceFactory.create(ExecutionStatus.class).getByCode(EXECUTION_STATUS.STARTED.name()));
-        return operationExecutionRepository.save(exec);
+    /**
+     * Claim and start several tasks on one machine at once.
+     * Locks all task rows in a single ordered SELECT ... FOR UPDATE, validates the operator once
+     * and reports success or failure per task instead of failing the whole batch.
+     * The batch must hold 1 to {@link #MAX_BATCH_CLAIM} non-null ids.
+     */
+    @Transactional("transactionManager")
+    @MeteredTransition("claim-batch")
+    public List<TaskClaimResult> claimAndStartTasks(List<Long> taskIds, Long operatorId, Long machineId) {
+        if (taskIds == null || taskIds.isEmpty() || taskIds.size() > MAX_BATCH_CLAIM
+                || taskIds.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException("Claim between 1 and " + MAX_BATCH_CLAIM + " task ids, none of them null");
+        }
+        UserAccount operator = operatorService.getById(operatorId);
+        Machine machine = machineService.getById(machineId);
+
+        assertOperatorAssigned(operator, machine);
+
+        Set<Long> requested = new LinkedHashSet<>(taskIds);
+        Map<Long, PartOperationTask> locked = partOperationTaskRepository.findAllByIdInForUpdate(requested).stream()
+                .collect(Collectors.toMap(PartOperationTask::getId, Function.identity()));
+
+        Map<Long, TaskClaimResult> results = new LinkedHashMap<>();
+        Map<Long, OperationExecution> started = new LinkedHashMap<>();
+        for (Long taskId : requested) {
+            PartOperationTask task = locked.get(taskId);
+            if (task == null) {
+                results.put(taskId, claimFailed(taskId, TransitionOutcome.NOT_FOUND, messageUtil.getMessage(
+                        ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "PartOperationTask")));
+            } else if (!TASK_STATUS.PENDING.name().equalsIgnoreCase(task.getTaskStatus().getCode())) {
+                dispatchQueue.remove(taskId);
+                results.put(taskId, claimFailed(taskId, TransitionOutcome.NOT_PENDING,
+                        messageUtil.getMessage("task.not.pending", String.valueOf(taskId))));
+            } else if (!task.getTargetMachine().getId().equals(machine.getId())) {
+                results.put(taskId, claimFailed(taskId, TransitionOutcome.MACHINE_MISMATCH,
+                        messageUtil.getMessage("task.machine.mismatch", String.valueOf(taskId))));
+            } else {
+                results.put(taskId, null);
+                started.put(taskId, startExecution(task, operator, machine));
+            }
+        }
+
+        if (!started.isEmpty()) {
+            List<OperationExecution> executions = new ArrayList<>(started.values());
+            partOperationTaskRepository.saveAll(executions.stream().map(OperationExecution::getTask).toList());
+            operationExecutionRepository.saveAll(executions);
+            // one operator for the whole batch: look its shift up once, not per event
+            Long shiftId = shiftOf(operator.getId());
+            executions.forEach(exec -> eventPublisher.publishEvent(
+                    event(ExecutionEventType.CLAIMED, exec, shiftId).build()));
+            started.forEach((taskId, exec) -> results.put(taskId, TaskClaimResult.builder()
+                    .taskId(taskId).success(true).outcome(TransitionOutcome.SUCCESS).executionId(exec.getId()).build()));
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Claim and start the next PENDING task of the machine (planned start, then id) without the client naming one.
+     * Uses FOR UPDATE SKIP LOCKED, so concurrent operators on the same machine each get a different task
+     * instead of queueing on one row lock; empty when no unlocked pending task is left.
+     */
+    @Transactional("transactionManager")
+    @MeteredTransition("claim-next")
+    public Optional<OperationExecution> claimNext(Long operatorId, Long machineId) {
+        UserAccount operator = operatorService.getById(operatorId);
+        Machine machine = machineService.getById(machineId);
+        assertOperatorAssigned(operator, machine);
+
+        TaskStatus pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
+        Optional<PartOperationTask> next = partOperationTaskRepository
+                .findNextForUpdateSkipLocked(machine.getId(), pending.getId());
+        if (next.isEmpty()) return Optional.empty();
+
+        PartOperationTask task = next.get();
+        OperationExecution exec = startExecution(task, operator, machine);
+        partOperationTaskRepository.save(task);
+        OperationExecution saved = operationExecutionRepository.save(exec);
+        publish(ExecutionEventType.CLAIMED, exec);
+        return Optional.of(saved);
     }
 
     /**
      * Stop execution with a reason (creates OperationStop and marks execution stopped).
      */
     @Transactional("transactionManager")
+    @MeteredTransition("stop")
     public OperationStop stopExecution(Long executionId, Long stopReasonId, String comment) {
         OperationExecution exec = getById(executionId);
         StopReason stopReason = stopReasonService.getById(stopReasonId);
 
         // Change execution status to STOPPED
         exec.setStopTime(LocalDateTime.now());
-        exec.setExecutionStatus(baseDataServiceFactory.create(ExecutionStatus.class).getByCode(EXECUTION_STATUS.STOPPED.name()));
+        exec.setExecutionStatus(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STOPPED));
         operationExecutionRepository.save(exec);
 
         // Record stop record
@@ -116,7 +250,13 @@ public class OperationExecutionService {
         stop.setStopReason(stopReason);
         stop.setComment(comment);
         stop.setStartedAt(LocalDateTime.now());
-        return operationStopRepository.save(stop);
+        OperationStop saved = operationStopRepository.save(stop);
+        eventPublisher.publishEvent(event(ExecutionEventType.STOPPED, exec)
+                .stopId(saved.getId())
+                .stopReasonId(stopReason.getId())
+                .stopReason(stopReason.getName())
+                .build());
+        return saved;
     }
 
     /**
@@ -124,60 +264,178 @@ public class OperationExecutionService {
      * Closes all open OperationStop records and changes status to RUNNING.
      */
     @Transactional("transactionManager")
+    @MeteredTransition("resume")
     public OperationExecution resumeAfterStop(Long executionId) {
         OperationExecution execution = getById(executionId);
 
         if (!EXECUTION_STATUS.STOPPED.name().equalsIgnoreCase(execution.getExecutionStatus().getCode())) {
-            throw new IllegalStateException(
+            throw new TransitionRejectedException(TransitionOutcome.INVALID_STATE,
                     messageUtil.getMessage("execution.must.be.stopped", String.valueOf(executionId)));
         }
 
         // Close all open OperationStop entries
+        List<Long> closedStopIds = new ArrayList<>();
         operationStopRepository.findAllByOperationExecutionIdAndEndedAtIsNull(executionId)
                 .forEach(stop -> {
                     stop.setEndedAt(LocalDateTime.now());
                     operationStopRepository.save(stop);
+                    closedStopIds.add(stop.getId());
                 });
 
         // Change execution status to RUNNING
-        execution.setExecutionStatus(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.RUNNING.name()));
+        execution.setExecutionStatus(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.RUNNING));
         execution.setStartTime(LocalDateTime.now());
-        return operationExecutionRepository.save(execution);
+        OperationExecution saved = operationExecutionRepository.save(execution);
+        eventPublisher.publishEvent(event(ExecutionEventType.RESUMED, execution).closedStopIds(closedStopIds).build());
+        return saved;
     }
 
     /**
      * Finish execution: mark execution completed and update task status to COMPLETED.
      */
     @Transactional("transactionManager")
+    @MeteredTransition("finish")
     public OperationExecution finishExecution(Long executionId) {
         OperationExecution exec = getById(executionId);
 
         if (!EXECUTION_STATUS.STARTED.name().equalsIgnoreCase(exec.getExecutionStatus().getCode())
                 && !EXECUTION_STATUS.STOPPED.name().equalsIgnoreCase(exec.getExecutionStatus().getCode())) {
-            throw new IllegalStateException(
+            throw new TransitionRejectedException(TransitionOutcome.INVALID_STATE,
                     messageUtil.getMessage("execution.notStartOrStopped", String.valueOf(executionId)));
         }
 
         exec.setEndTime(LocalDateTime.now());
-        exec.setExecutionStatus(baseDataServiceFactory.create(ExecutionStatus.class).getByCode(EXECUTION_STATUS.COMPLETED.name()));
+        exec.setExecutionStatus(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.COMPLETED));
+
+        // A stop still open at finish ends with the execution
+        List<Long> closedStopIds = new ArrayList<>();
+        operationStopRepository.findAllByOperationExecutionIdAndEndedAtIsNull(executionId)
+                .forEach(stop -> {
+                    stop.setEndedAt(exec.getEndTime());
+                    operationStopRepository.save(stop);
+                    closedStopIds.add(stop.getId());
+                });
 
         // Update task status to COMPLETED
         PartOperationTask task = exec.getTask();
         task.setFinishedAt(LocalDateTime.now());
-        task.setTaskStatus(baseDataServiceFactory.create(TaskStatus.class).getByCode(TASK_STATUS.COMPLETED.name()));
+        task.setTaskStatus(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.COMPLETED));
 
         partOperationTaskRepository.save(task);
-        return operationExecutionRepository.save(exec);
+        OperationExecution saved = operationExecutionRepository.save(exec);
+        eventPublisher.publishEvent(event(ExecutionEventType.FINISHED, exec).closedStopIds(closedStopIds).build());
+        return saved;
+    }
+
+    /**
+     * Publish a transition; listeners such as the SSE stream receive it only after the transaction commits.
+     */
+    private void publish(ExecutionEventType type, OperationExecution exec) {
+        eventPublisher.publishEvent(event(type, exec).build());
+    }
+
+    /**
+     * The event common to every transition; callers add what only their transition knows.
+     */
+    private ExecutionEvent.ExecutionEventBuilder event(ExecutionEventType type, OperationExecution exec) {
+        return event(type, exec, exec.getOperator() != null ? shiftOf(exec.getOperator().getId()) : null);
+    }
+
+    private ExecutionEvent.ExecutionEventBuilder event(ExecutionEventType type, OperationExecution exec, Long shiftId) {
+        Long operatorId = exec.getOperator() != null ? exec.getOperator().getId() : null;
+        return ExecutionEvent.builder()
+                .type(type)
+                .executionId(exec.getId())
+                .taskId(exec.getTask() != null ? exec.getTask().getId() : null)
+                .machineId(exec.getMachine() != null ? exec.getMachine().getId() : null)
+                .operatorId(operatorId)
+                .shiftId(shiftId)
+                .partId(exec.getPartOperation() != null && exec.getPartOperation().getPart() != null
+                        ? exec.getPartOperation().getPart().getId() : null)
+                .executionStatus(exec.getExecutionStatus() != null ? exec.getExecutionStatus().getCode() : null)
+                .closedStopIds(List.of())
+                .occurredAt(LocalDateTime.now());
+    }
+
+    private Long shiftOf(Long operatorId) {
+        return operatorShiftRepository.findByOperatorIdAndUnassignedAtIsNull(operatorId)
+                .stream().findFirst().map(OperatorShift::getShift).map(Shift::getId).orElse(null);
+    }
+
+    private void assertOperatorAssigned(UserAccount operator, Machine machine) {
+        if (!operatorAuthorization.isAssigned(operator.getId(), machine.getId())) {
+            throw new TransitionRejectedException(TransitionOutcome.OPERATOR_NOT_ASSIGNED,
+                    messageUtil.getMessage("operator.notAssignedToMachine",
+                            operator.getUser() != null ? operator.getUser().getUsername() : "unknown"));
+        }
+    }
+
+    private TaskClaimResult claimFailed(Long taskId, TransitionOutcome outcome, String message) {
+        return TaskClaimResult.builder().taskId(taskId).success(false).outcome(outcome).message(message).build();
+    }
+
+    /**
+     * Mark the task as claimed and started and build its (unsaved) OperationExecution.
+     */
+    private OperationExecution startExecution(PartOperationTask task, UserAccount operator, Machine machine) {
+        LocalDateTime now = LocalDateTime.now();
+        task.setClaimedBy(operator);
+        task.setClaimedAt(now);
+        task.setStartedAt(now);
+        task.setTaskStatus(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.IN_PROGRESS));
+        dispatchQueue.removeAfterCommit(List.of(task.getId()));
+
+        OperationExecution exec = new OperationExecution();
+        exec.setTask(task);
+        exec.setPartOperation(task.getPartOperation());
+        exec.setMachine(machine);
+        exec.setOperator(operator);
+        exec.setStartTime(now);
+        exec.setExecutionStatus(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED));
+        return exec;
     }
 
     /**
      * Reassign execution to another machine.
      */
+    @Transactional("transactionManager")
+    @MeteredTransition("reassign")
     public OperationExecution reassignMachine(Long executionId, Long newMachineId) {
         OperationExecution exec = getById(executionId);
         Machine machine = machineService.getById(newMachineId);
+        Long previousMachineId = exec.getMachine() != null ? exec.getMachine().getId() : null;
 
         exec.setMachine(machine);
-        return operationExecutionRepository.save(exec);
+        OperationExecution saved = operationExecutionRepository.save(exec);
+        eventPublisher.publishEvent(event(ExecutionEventType.REASSIGNED, exec).previousMachineId(previousMachineId).build());
+        return saved;
+    }
+
+    private Specification<OperationExecution> executionFilters(Map<String, Object> requestParams) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (requestParams.get("taskId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("task").get("id"), requestParams.get("taskId")));
+            if (requestParams.get("machineId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("machine").get("id"), requestParams.get("machineId")));
+            if (requestParams.get("operatorId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("operator").get("id"), requestParams.get("operatorId")));
+            if (requestParams.get("statusId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("executionStatus").get("id"), requestParams.get("statusId")));
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private Specification<OperationStop> stopFilters(Map<String, Object> requestParams) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (requestParams.get("executionId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("operationExecution").get("id"), requestParams.get("executionId")));
+            if (requestParams.get("machineId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("operationExecution").get("machine").get("id"), requestParams.get("machineId")));
+            if (requestParams.get("stopReasonId") != null)
+                predicates.add(criteriaBuilder.equal(root.get("stopReason").get("id"), requestParams.get("stopReasonId")));
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
     }
 }
\ No newline at end of file
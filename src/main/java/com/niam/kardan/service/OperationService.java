@@ -4,14 +4,17 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.Operation;
 import com.niam.kardan.repository.OperationRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -30,21 +33,23 @@ import java.util.Map;
 public class OperationService {
     private final OperationRepository operationRepository;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private OperationService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operations", "operation"}, allEntries = true)
     public Operation create(Operation operation) {
+        pageCacheVersions.bump("operations");
         return operationRepository.save(operation);
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operations", "operation"}, allEntries = true)
     public Operation update(Long id, Operation updated) {
+        evictAfterCommit(id);
         Operation existing = self.getById(id);
         BeanUtils.copyProperties(updated, existing, "id");
         return operationRepository.save(existing);
@@ -58,7 +63,7 @@ public class OperationService {
                 messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "Operation")));
     }
 
-    @Cacheable(value = "operations")
+    @Cacheable(value = "operations", key = "@pageCacheVersions.key('operations', #requestParams)")
     public Page<Operation> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<Operation> specification = (root, query, criteriaBuilder) -> {
@@ -71,8 +76,8 @@ public class OperationService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operations", "operation"}, allEntries = true)
     public void delete(Long id) {
+        evictAfterCommit(id);
         Operation operation = self.getById(id);
         try {
             operationRepository.delete(operation);
@@ -81,4 +86,13 @@ public class OperationService {
                     messageUtil.getMessage(ResultResponseStatus.ENTITY_HAS_DEPENDENCIES.getDescription(), "Operation"));
         }
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("operations");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("operation");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
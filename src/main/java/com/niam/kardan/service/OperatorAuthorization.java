@@ -0,0 +1,141 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.ActiveOperatorMachine;
+import com.niam.kardan.repository.OperatorMachineRepository;
+import com.niam.kardan.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the machines each operator is assigned to, as sorted {@code long[]} sets, so claim validation
+ * is a map lookup and a binary search instead of a query. Rebuilt at startup and kept current by
+ * {@link OperatorMachineService} after commit. A miss is checked against the database and remembered, so an
+ * assignment made on another instance is never refused; an unassignment there is only seen after {@link #rebuild},
+ * which runs every {@code kardan.operator-authorization.refresh-interval}, bounding how long it is honoured here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OperatorAuthorization {
+    private static final long[] NONE = new long[0];
+
+    private final OperatorMachineRepository operatorMachineRepository;
+
+    @Lazy
+    @Autowired
+    private OperatorAuthorization self;
+
+    private final Map<Long, long[]> machinesByOperator = new ConcurrentHashMap<>();
+    // bumped by every removal, so a database answer read before a removal committed is not put back
+    private long removals;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        self.rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${kardan.operator-authorization.refresh-interval:PT1M}",
+            initialDelayString = "${kardan.operator-authorization.refresh-interval:PT1M}")
+    public void refresh() {
+        self.rebuild();
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public void rebuild() {
+        List<ActiveOperatorMachine> active;
+        Map<Long, long[]> loaded;
+        long seen;
+        do {
+            synchronized (this) {
+                seen = removals;
+            }
+            active = operatorMachineRepository.findActive();
+            loaded = new HashMap<>();
+            for (ActiveOperatorMachine assignment : active) {
+                loaded.merge(assignment.operatorId(), new long[]{assignment.machineId()},
+                        (current, added) -> with(current, assignment.machineId()));
+            }
+            // a local unassignment committed while loading may be missing from what was read; load again
+        } while (!swap(seen, loaded));
+        log.debug("OperatorAuthorization loaded {} assignments for {} operators", active.size(), loaded.size());
+    }
+
+    private synchronized boolean swap(long seen, Map<Long, long[]> loaded) {
+        if (removals != seen) return false;
+        removals++;
+        machinesByOperator.clear();
+        machinesByOperator.putAll(loaded);
+        return true;
+    }
+
+    /**
+     * Whether the operator holds an active assignment to the machine; only a miss reaches the database.
+     */
+    public boolean isAssigned(Long operatorId, Long machineId) {
+        if (Arrays.binarySearch(machinesByOperator.getOrDefault(operatorId, NONE), machineId) >= 0) return true;
+        long seen;
+        synchronized (this) {
+            seen = removals;
+        }
+        if (!operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(operatorId, machineId)) {
+            return false;
+        }
+        synchronized (this) {
+            if (removals == seen) add(operatorId, machineId);
+        }
+        return true;
+    }
+
+    public void assignAfterCommit(Long operatorId, Long machineId) {
+        AfterCommit.run(() -> add(operatorId, machineId));
+    }
+
+    public void unassignAfterCommit(Long operatorId, Long machineId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                removals++;
+                machinesByOperator.computeIfPresent(operatorId, (id, current) -> {
+                    long[] next = without(current, machineId);
+                    return next.length == 0 ? null : next;
+                });
+            }
+        });
+    }
+
+    private synchronized void add(Long operatorId, Long machineId) {
+        machinesByOperator.merge(operatorId, new long[]{machineId}, (current, added) -> with(current, machineId));
+    }
+
+    private static long[] with(long[] set, long value) {
+        int at = Arrays.binarySearch(set, value);
+        if (at >= 0) return set;
+        int insert = -at - 1;
+        long[] next = new long[set.length + 1];
+        System.arraycopy(set, 0, next, 0, insert);
+        next[insert] = value;
+        System.arraycopy(set, insert, next, insert + 1, set.length - insert);
+        return next;
+    }
+
+    private static long[] without(long[] set, long value) {
+        int at = Arrays.binarySearch(set, value);
+        if (at < 0) return set;
+        long[] next = new long[set.length - 1];
+        System.arraycopy(set, 0, next, 0, at);
+        System.arraycopy(set, at + 1, next, at, set.length - at - 1);
+        return next;
+    }
+}
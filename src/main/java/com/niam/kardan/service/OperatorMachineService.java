@@ -6,13 +6,16 @@ import com.niam.common.exception.OperationFailedException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.OperatorMachine;
 import com.niam.kardan.repository.OperatorMachineRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
@@ -31,15 +34,18 @@ import java.util.Map;
 public class OperatorMachineService {
     private final OperatorMachineRepository operatorMachineRepository;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
+    private final OperatorAuthorization operatorAuthorization;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private OperatorMachineService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operatorMachines", "operatorMachine"}, allEntries = true)
     public OperatorMachine create(OperatorMachine operatorMachine) {
+        pageCacheVersions.bump("operatorMachines");
         boolean exists = operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(
                 operatorMachine.getOperator().getId(), operatorMachine.getMachine().getId()
         );
@@ -52,19 +58,27 @@ public class OperatorMachineService {
         }
 
         operatorMachine.setAssignedAt(LocalDateTime.now());
-        return operatorMachineRepository.save(operatorMachine);
+        OperatorMachine saved = operatorMachineRepository.save(operatorMachine);
+        operatorAuthorization.assignAfterCommit(saved.getOperator().getId(), saved.getMachine().getId());
+        return saved;
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operatorMachines", "operatorMachine"}, allEntries = true)
     public OperatorMachine update(Long id, OperatorMachine updated) {
+        evictAfterCommit(id);
         OperatorMachine existing = operatorMachineRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(
                 ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
                 ResultResponseStatus.ENTITY_NOT_FOUND.getReasonCode(),
                 messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "OperatorMachine")));
 
         BeanUtils.copyProperties(updated, existing, "id", "operator", "machine", "assignedAt");
-        return operatorMachineRepository.save(existing);
+        OperatorMachine saved = operatorMachineRepository.save(existing);
+        if (saved.getUnassignedAt() != null) {
+            operatorAuthorization.unassignAfterCommit(saved.getOperator().getId(), saved.getMachine().getId());
+        } else {
+            operatorAuthorization.assignAfterCommit(saved.getOperator().getId(), saved.getMachine().getId());
+        }
+        return saved;
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
@@ -77,7 +91,7 @@ public class OperatorMachineService {
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
-    @Cacheable(value = "operatorMachines")
+    @Cacheable(value = "operatorMachines", key = "@pageCacheVersions.key('operatorMachines', #requestParams)")
     public Page<OperatorMachine> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<OperatorMachine> specification = (root, query, criteriaBuilder) -> {
@@ -89,8 +103,8 @@ public class OperatorMachineService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operatorMachines", "operatorMachine"}, allEntries = true)
     public void unassign(Long id) {
+        evictAfterCommit(id);
         OperatorMachine existing = self.getById(id);
         if (existing.getUnassignedAt() != null) {
             throw new OperationFailedException(
@@ -100,10 +114,20 @@ public class OperatorMachineService {
         }
         existing.setUnassignedAt(LocalDateTime.now());
         operatorMachineRepository.save(existing);
+        operatorAuthorization.unassignAfterCommit(existing.getOperator().getId(), existing.getMachine().getId());
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
     public List<OperatorMachine> findActiveMachinesByOperator(Long operatorId) {
         return operatorMachineRepository.findByOperatorIdAndUnassignedAtIsNull(operatorId);
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("operatorMachines");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("operatorMachine");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
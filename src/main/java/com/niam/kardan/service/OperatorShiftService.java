@@ -5,13 +5,16 @@ import com.niam.common.exception.IllegalStateException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.OperatorShift;
 import com.niam.kardan.repository.OperatorShiftRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
@@ -30,15 +33,17 @@ import java.util.Map;
 public class OperatorShiftService {
     private final OperatorShiftRepository operatorShiftRepository;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     OperatorShiftService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operatorShift", "operatorShifts"}, allEntries = true)
     public OperatorShift create(OperatorShift operatorShift) {
+        pageCacheVersions.bump("operatorShifts");
         boolean exists = operatorShiftRepository.existsByOperatorIdAndUnassignedAtIsNull(operatorShift.getOperator().getId());
         if (exists) {
             throw new IllegalStateException(messageUtil.getMessage(
@@ -49,8 +54,8 @@ public class OperatorShiftService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operatorShift", "operatorShifts"}, allEntries = true)
     public OperatorShift update(Long id, OperatorShift updated) {
+        evictAfterCommit(id);
         OperatorShift existing = self.getById(id);
         BeanUtils.copyProperties(updated, existing, "id", "operator", "shift", "assignedAt");
         return operatorShiftRepository.save(existing);
@@ -66,7 +71,7 @@ public class OperatorShiftService {
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
-    @Cacheable(value = "operatorShifts")
+    @Cacheable(value = "operatorShifts", key = "@pageCacheVersions.key('operatorShifts', #requestParams)")
     public Page<OperatorShift> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<OperatorShift> specification = (root, query, criteriaBuilder) -> {
@@ -81,8 +86,8 @@ public class OperatorShiftService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"operatorShift", "operatorShifts"}, allEntries = true)
     public void unassign(Long id) {
+        evictAfterCommit(id);
         OperatorShift shift = self.getById(id);
         if (shift.getUnassignedAt() != null) {
             throw new IllegalStateException(messageUtil.getMessage(
@@ -96,4 +101,13 @@ public class OperatorShiftService {
     public List<OperatorShift> findActiveShiftsByOperator(Long operatorId) {
         return operatorShiftRepository.findByOperatorIdAndUnassignedAtIsNull(operatorId);
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("operatorShifts");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("operatorShift");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
@@ -4,10 +4,15 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.model.PartOperation;
 import com.niam.kardan.model.PartOperationTask;
 import com.niam.kardan.model.basedata.TaskStatus;
 import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.KeysetPage;
+import com.niam.kardan.model.dto.PartOperationTaskView;
+import com.niam.kardan.repository.PartOperationRepository;
 import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.util.KeysetPaginationUtils;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -25,15 +30,26 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PartOperationTaskService {
     private final PartOperationTaskRepository partOperationTaskRepository;
-    private final GenericBaseDataServiceFactory baseDataServiceFactory;
+    private final PartOperationRepository partOperationRepository;
+    private final TaskReleaseService taskReleaseService;
+    private final BaseDataRegistry baseDataRegistry;
+    private final DispatchQueue dispatchQueue;
     private final PaginationUtils paginationUtils;
+    private final KeysetPaginationUtils keysetPaginationUtils;
     private final MessageUtil messageUtil;
 
     @Transactional("transactionManager")
     public PartOperationTask create(PartOperationTask task) {
-        TaskStatus pendingStatus = baseDataServiceFactory.create(TaskStatus.class).getByCode("PENDING");
+        TaskStatus pendingStatus = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
         task.setTaskStatus(pendingStatus);
-        return partOperationTaskRepository.save(task);
+        if (task.getPartOperation() != null && task.getPartOperation().getId() != null) {
+            PartOperation partOperation = partOperationRepository.getReferenceById(task.getPartOperation().getId());
+            task.setPartOperation(partOperation);
+            taskReleaseService.admit(partOperation.getPart().getId(), List.of(task));
+        }
+        PartOperationTask saved = partOperationTaskRepository.save(task);
+        if (TaskReleaseService.isReleased(saved)) dispatchQueue.offerAfterCommit(saved);
+        return saved;
     }
 
     @Transactional("transactionManager")
@@ -42,6 +58,10 @@ public class PartOperationTaskService {
         existing.setTargetMachine(updatedTask.getTargetMachine());
         existing.setParentTask(updatedTask.getParentTask());
         existing.setPartOperation(updatedTask.getPartOperation());
+        if (TASK_STATUS.PENDING.name().equalsIgnoreCase(existing.getTaskStatus().getCode())) {
+            // the target machine may have changed
+            dispatchQueue.offerAfterCommit(existing);
+        }
         return partOperationTaskRepository.save(existing);
     }
 
@@ -54,35 +74,62 @@ public class PartOperationTaskService {
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
-    public Page<PartOperationTask> getAll(Map<String, Object> requestParams) {
+    public PartOperationTaskView getView(Long id) {
+        return partOperationTaskRepository.findDetailedById(id).map(PartOperationTaskView::from)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
+                        ResultResponseStatus.ENTITY_NOT_FOUND.getReasonCode(),
+                        messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "PartOperationTask")));
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public Page<PartOperationTaskView> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
-        Specification<PartOperationTask> specification = (root, query, criteriaBuilder) -> {
+        return partOperationTaskRepository.findAll(filters(requestParams), pageRequest).map(PartOperationTaskView::from);
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public KeysetPage<PartOperationTaskView> scroll(Map<String, Object> requestParams) {
+        return keysetPaginationUtils.page(partOperationTaskRepository, filters(requestParams), requestParams,
+                PartOperationTask::getId, PartOperationTaskView.FETCH).map(PartOperationTaskView::from);
+    }
+
+    private Specification<PartOperationTask> filters(Map<String, Object> requestParams) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             if (requestParams.get("partOperationId") != null)
-                predicates.add(criteriaBuilder.equal(root.get("partOperationId").get("id"), requestParams.remove("partOperationId")));
+                predicates.add(criteriaBuilder.equal(root.get("partOperation").get("id"), requestParams.get("partOperationId")));
             if (requestParams.get("targetMachineId") != null)
-                predicates.add(criteriaBuilder.equal(root.get("targetMachineId").get("id"), requestParams.remove("targetMachineId")));
+                predicates.add(criteriaBuilder.equal(root.get("targetMachine").get("id"), requestParams.get("targetMachineId")));
             if (requestParams.get("statusId") != null)
-                predicates.add(criteriaBuilder.equal(root.get("statusId").get("id"), requestParams.remove("statusId")));
+                predicates.add(criteriaBuilder.equal(root.get("taskStatus").get("id"), requestParams.get("statusId")));
             if (requestParams.get("claimedByOperatorId") != null)
-                predicates.add(criteriaBuilder.equal(root.get("claimedByOperatorId").get("id"), requestParams.remove("claimedByOperatorId")));
+                predicates.add(criteriaBuilder.equal(root.get("claimedBy").get("id"), requestParams.get("claimedByOperatorId")));
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-        return partOperationTaskRepository.findAll(specification, pageRequest);
     }
 
     @Transactional("transactionManager")
     public void delete(Long id) {
         PartOperationTask task = getById(id);
         partOperationTaskRepository.delete(task);
+        dispatchQueue.removeAfterCommit(List.of(id));
+        // the deleted task may have been the lowest open one of its part
+        if (task.getPartOperation() != null) {
+            partOperationTaskRepository.flush();
+            taskReleaseService.release(task.getPartOperation().getPart().getId());
+        }
     }
 
     @Transactional("transactionManager")
     public PartOperationTask markAsCompleted(Long id) {
         PartOperationTask task = getById(id);
-        TaskStatus completedStatus = baseDataServiceFactory.create(TaskStatus.class).getByCode(TASK_STATUS.COMPLETED.name());
+        TaskStatus completedStatus = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.COMPLETED);
         task.setFinishedAt(LocalDateTime.now());
         task.setTaskStatus(completedStatus);
-        return partOperationTaskRepository.save(task);
+        dispatchQueue.removeAfterCommit(List.of(id));
+        PartOperationTask saved = partOperationTaskRepository.save(task);
+        taskReleaseService.release(task.getPartOperation().getPart().getId());
+        return saved;
     }
 }
\ No newline at end of file
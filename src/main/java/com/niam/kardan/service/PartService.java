@@ -5,14 +5,17 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.Part;
 import com.niam.kardan.model.basedata.PartStatus;
 import com.niam.kardan.repository.PartRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -32,22 +35,24 @@ public class PartService {
     private final PartRepository partRepository;
     private final GenericBaseDataServiceFactory baseDataServiceFactory;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private PartService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"parts", "part"}, allEntries = true)
     public Part create(Part part) {
+        pageCacheVersions.bump("parts");
         part.setStatus(baseDataServiceFactory.create(PartStatus.class).getByCode(part.getStatus().getCode()));
         return partRepository.save(part);
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"parts", "part"}, allEntries = true)
     public Part update(Long id, Part updated) {
+        evictAfterCommit(id);
         Part existing = self.getById(id);
         BeanUtils.copyProperties(updated, existing, "id");
         existing.setStatus(baseDataServiceFactory.create(PartStatus.class).getByCode(updated.getStatus().getCode()));
@@ -62,7 +67,7 @@ public class PartService {
                 messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "Part")));
     }
 
-    @Cacheable(value = "parts")
+    @Cacheable(value = "parts", key = "@pageCacheVersions.key('parts', #requestParams)")
     public Page<Part> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<Part> specification = (root, query, criteriaBuilder) -> {
@@ -81,8 +86,8 @@ public class PartService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"parts", "part"}, allEntries = true)
     public void delete(Long id) {
+        evictAfterCommit(id);
         Part part = self.getById(id);
         try {
             partRepository.delete(part);
@@ -90,4 +95,13 @@ public class PartService {
             throw new EntityExistsException(messageUtil.getMessage(ResultResponseStatus.ENTITY_HAS_DEPENDENCIES.getDescription(), "Part"));
         }
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("parts");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("part");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
@@ -5,14 +5,17 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.Project;
 import com.niam.kardan.model.basedata.ProjectStatus;
 import com.niam.kardan.repository.ProjectRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -32,22 +35,24 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final GenericBaseDataServiceFactory baseDataServiceFactory;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private ProjectService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"projects", "project"}, allEntries = true)
     public Project create(Project project) {
+        pageCacheVersions.bump("projects");
         project.setStatus(baseDataServiceFactory.create(ProjectStatus.class).getByCode(project.getStatus().getCode()));
         return projectRepository.save(project);
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"projects", "project"}, allEntries = true)
     public Project update(Long id, Project updated) {
+        evictAfterCommit(id);
         Project existing = self.getById(id);
         BeanUtils.copyProperties(updated, existing, "id");
         existing.setStatus(baseDataServiceFactory.create(ProjectStatus.class).getByCode(updated.getStatus().getCode()));
@@ -62,7 +67,7 @@ public class ProjectService {
                 messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "Project")));
     }
 
-    @Cacheable(value = "projects")
+    @Cacheable(value = "projects", key = "@pageCacheVersions.key('projects', #requestParams)")
     public Page<Project> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<Project> specification = (root, query, criteriaBuilder) -> {
@@ -77,8 +82,8 @@ public class ProjectService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"projects", "project"}, allEntries = true)
     public void delete(Long id) {
+        evictAfterCommit(id);
         Project project = self.getById(id);
         try {
             projectRepository.delete(project);
@@ -86,4 +91,13 @@ public class ProjectService {
             throw new EntityExistsException(messageUtil.getMessage(ResultResponseStatus.ENTITY_HAS_DEPENDENCIES.getDescription(), "Project"));
         }
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("projects");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("project");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,374 @@
+package com.niam.kardan.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niam.common.exception.BusinessException;
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.kardan.config.cache.PageCacheVersions;
+import com.niam.kardan.model.Part;
+import com.niam.kardan.model.PartOperation;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.PartOperationStatus;
+import com.niam.kardan.model.basedata.PartStatus;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.PART_OPERATION_STATUS;
+import com.niam.kardan.model.basedata.enums.PART_STATUS;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ImportRowError;
+import com.niam.kardan.model.dto.KeyId;
+import com.niam.kardan.model.dto.PartRef;
+import com.niam.kardan.model.dto.RoutingImportReport;
+import com.niam.kardan.model.dto.RoutingImportRow;
+import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.repository.OperationRepository;
+import com.niam.kardan.repository.PartOperationRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.PartRepository;
+import com.niam.kardan.repository.ProjectRepository;
+import com.niam.kardan.util.CsvRowReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams parts, their routings and the derived tasks from CSV or JSON. Rows are validated against in-memory maps
+ * of projects, operations, machines and base data, then written in chunks, each committed on its own and flushed
+ * as JDBC batches. A chunk that fails is retried row by row so one bad row only rejects itself; a row naming an
+ * existing part of another project is rejected rather than attached to it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoutingImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final PartRepository partRepository;
+    private final PartOperationRepository partOperationRepository;
+    private final PartOperationTaskRepository partOperationTaskRepository;
+    private final ProjectRepository projectRepository;
+    private final OperationRepository operationRepository;
+    private final MachineRepository machineRepository;
+    private final BaseDataRegistry baseDataRegistry;
+    private final DispatchQueue dispatchQueue;
+    private final TaskReleaseService taskReleaseService;
+    private final PageCacheVersions pageCacheVersions;
+    private final ObjectMapper objectMapper;
+
+    @Lazy
+    @Autowired
+    private RoutingImportService self;
+
+    @Value("${kardan.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * CSV with a header row naming the {@link RoutingImportRow} properties (case-insensitive).
+     */
+    public RoutingImportReport importCsv(InputStream input) throws IOException {
+        try (CsvRowReader reader = new CsvRowReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            ImportRun run = new ImportRun();
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                try {
+                    run.accept(fromCsv(record, reader.line()));
+                } catch (IllegalArgumentException e) {
+                    run.reject(reader.line(), e.getMessage());
+                }
+            }
+            return run.finish();
+        }
+    }
+
+    /**
+     * A JSON array of {@link RoutingImportRow} objects; {@code line} in the report is the 1-based array index.
+     */
+    public RoutingImportReport importJson(InputStream input) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) throw new BusinessException("Expected a JSON array of rows");
+            ImportRun run = new ImportRun();
+            long index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                index++;
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    RoutingImportRow row = objectMapper.treeToValue(node, RoutingImportRow.class);
+                    row.setLine(index);
+                    run.accept(row);
+                } catch (JsonProcessingException e) {
+                    run.reject(index, e.getOriginalMessage());
+                }
+            }
+            return run.finish();
+        }
+    }
+
+    /**
+     * Write one chunk in its own transaction. Parts already known to the run are referenced, not looked up again.
+     */
+    @Transactional(value = "transactionManager", propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult writeChunk(List<ResolvedRow> rows, Map<String, Long> knownParts, Map<String, TaskRef> lastTasks) {
+        Set<String> unknown = rows.stream().map(r -> r.row().getPartCode())
+                .filter(code -> !knownParts.containsKey(code)).collect(Collectors.toSet());
+        Map<String, Long> partIds = new HashMap<>();
+        if (!unknown.isEmpty()) {
+            Map<String, Long> projectIds = rows.stream().collect(Collectors.toMap(r -> r.row().getPartCode(),
+                    ResolvedRow::projectId, (a, b) -> a));
+            for (PartRef part : partRepository.findRefsByCodeIn(unknown)) {
+                if (!part.projectId().equals(projectIds.get(part.code()))) {
+                    throw new BusinessException("Part " + part.code() + " belongs to another project");
+                }
+                partIds.put(part.code(), part.id());
+            }
+        }
+
+        Map<String, Part> newParts = new LinkedHashMap<>();
+        for (ResolvedRow resolved : rows) {
+            RoutingImportRow row = resolved.row();
+            if (knownParts.containsKey(row.getPartCode()) || partIds.containsKey(row.getPartCode())) continue;
+            newParts.computeIfAbsent(row.getPartCode(), code -> {
+                Part part = new Part();
+                part.setCode(code);
+                part.setName(row.getPartName());
+                part.setDescription(row.getPartDescription());
+                part.setProject(projectRepository.getReferenceById(resolved.projectId()));
+                part.setStatus(resolved.partStatus());
+                return part;
+            });
+        }
+        partRepository.saveAll(newParts.values());
+        newParts.forEach((code, part) -> partIds.put(code, part.getId()));
+
+        List<PartOperation> operations = new ArrayList<>(rows.size());
+        for (ResolvedRow resolved : rows) {
+            RoutingImportRow row = resolved.row();
+            Long partId = knownParts.getOrDefault(row.getPartCode(), partIds.get(row.getPartCode()));
+            PartOperation partOperation = new PartOperation();
+            partOperation.setSequence(row.getSequence());
+            partOperation.setPart(partRepository.getReferenceById(partId));
+            partOperation.setOperation(operationRepository.getReferenceById(resolved.operationId()));
+            partOperation.setMachine(machineRepository.getReferenceById(resolved.machineId()));
+            partOperation.setPartOperationStatus(resolved.partOperationStatus());
+            partOperation.setEstimatedDuration(row.getEstimatedDuration());
+            operations.add(partOperation);
+        }
+        partOperationRepository.saveAll(operations);
+
+        // chain each task to the previous task of the same part, in file order
+        TaskStatus pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
+        Map<String, PartOperationTask> chunkLast = new HashMap<>();
+        Map<Long, List<PartOperationTask>> tasksByPart = new LinkedHashMap<>();
+        List<PartOperationTask> tasks = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ResolvedRow resolved = rows.get(i);
+            if (!resolved.createTask()) continue;
+            String code = resolved.row().getPartCode();
+            Integer sequence = resolved.row().getSequence();
+            PartOperationTask parent = chunkLast.get(code);
+            if (parent != null) {
+                if (parent.getPartOperation().getSequence() >= sequence) parent = null;
+            } else if (lastTasks.containsKey(code) && lastTasks.get(code).sequence() < sequence) {
+                parent = partOperationTaskRepository.getReferenceById(lastTasks.get(code).taskId());
+            }
+            PartOperationTask task = new PartOperationTask();
+            task.setPartOperation(operations.get(i));
+            task.setTargetMachine(operations.get(i).getMachine());
+            task.setParentTask(parent);
+            task.setTaskStatus(pending);
+            tasks.add(task);
+            tasksByPart.computeIfAbsent(knownParts.getOrDefault(code, partIds.get(code)), id -> new ArrayList<>()).add(task);
+            chunkLast.put(code, task);
+        }
+        tasksByPart.forEach(taskReleaseService::admit);
+        partOperationTaskRepository.saveAll(tasks);
+        tasks.stream().filter(TaskReleaseService::isReleased).forEach(dispatchQueue::offerAfterCommit);
+
+        Map<String, TaskRef> taskRefs = chunkLast.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                e -> new TaskRef(e.getValue().getId(), e.getValue().getPartOperation().getSequence())));
+        return new ChunkResult(partIds, taskRefs, newParts.size(), operations.size(), tasks.size());
+    }
+
+    private RoutingImportRow fromCsv(Map<String, String> record, long line) {
+        return RoutingImportRow.builder()
+                .line(line)
+                .project(record.get("project"))
+                .partCode(record.get("partcode"))
+                .partName(record.get("partname"))
+                .partDescription(record.get("partdescription"))
+                .partStatus(record.get("partstatus"))
+                .sequence(parse(record.get("sequence"), Integer::valueOf, "sequence"))
+                .operation(record.get("operation"))
+                .machine(record.get("machine"))
+                .partOperationStatus(record.get("partoperationstatus"))
+                .estimatedDuration(parse(record.get("estimatedduration"), Long::valueOf, "estimatedDuration"))
+                .createTask(parseBoolean(record.get("createtask"), "createTask"))
+                .build();
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String column) {
+        if (value == null) return null;
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value, String column) {
+        if (value == null) return null;
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException(column + " must be true or false: " + value);
+    }
+
+    private static Map<String, Long> index(List<KeyId> keyIds) {
+        return keyIds.stream().collect(Collectors.toMap(KeyId::key, KeyId::id, (a, b) -> a));
+    }
+
+    public record ResolvedRow(RoutingImportRow row, Long projectId, Long operationId, Long machineId,
+                              PartStatus partStatus, PartOperationStatus partOperationStatus, boolean createTask) {
+    }
+
+    public record TaskRef(Long taskId, Integer sequence) {
+    }
+
+    public record ChunkResult(Map<String, Long> partIds, Map<String, TaskRef> lastTasks,
+                              int partsCreated, int partOperationsCreated, int tasksCreated) {
+    }
+
+    /**
+     * State of one import: reference maps, rows waiting for the next chunk and the report.
+     */
+    private final class ImportRun {
+        private final Map<String, Long> projects = index(projectRepository.findAllKeyIds());
+        private final Map<String, Long> operations = index(operationRepository.findAllKeyIds());
+        private final Map<String, Long> machines = index(machineRepository.findAllKeyIds());
+        private final Map<String, Long> knownParts = new HashMap<>();
+        private final Map<String, TaskRef> lastTasks = new HashMap<>();
+        private final Set<String> seenSequences = new HashSet<>();
+        private final Map<String, Long> partProjects = new HashMap<>();
+        private final List<ResolvedRow> chunk = new ArrayList<>();
+        private final RoutingImportReport report = new RoutingImportReport();
+
+        void accept(RoutingImportRow row) {
+            String error = validate(row);
+            if (error != null) {
+                reject(row.getLine(), error);
+                return;
+            }
+            report.setRowsRead(report.getRowsRead() + 1);
+            chunk.add(resolve(row));
+            if (chunk.size() >= chunkSize) flush();
+        }
+
+        void reject(long line, String message) {
+            report.setRowsRead(report.getRowsRead() + 1);
+            report.setErrorCount(report.getErrorCount() + 1);
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) report.getErrors().add(new ImportRowError(line, message));
+        }
+
+        RoutingImportReport finish() {
+            flush();
+            if (report.getPartsCreated() > 0) pageCacheVersions.bump("parts");
+            log.info("Routing import: {} rows, {} imported, {} parts, {} operations, {} tasks, {} errors",
+                    report.getRowsRead(), report.getRowsImported(), report.getPartsCreated(),
+                    report.getPartOperationsCreated(), report.getTasksCreated(), report.getErrorCount());
+            return report;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            List<ResolvedRow> rows = List.copyOf(chunk);
+            chunk.clear();
+            try {
+                apply(self.writeChunk(rows, knownParts, lastTasks), rows.size());
+            } catch (RuntimeException e) {
+                if (rows.size() == 1) {
+                    reject(rows.getFirst().row().getLine(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    return;
+                }
+                log.debug("Import chunk of {} rows failed, retrying row by row", rows.size(), e);
+                for (ResolvedRow row : rows) {
+                    try {
+                        apply(self.writeChunk(List.of(row), knownParts, lastTasks), 1);
+                    } catch (RuntimeException rowFailure) {
+                        reject(row.row().getLine(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    }
+                }
+            }
+        }
+
+        private void apply(ChunkResult result, int rows) {
+            knownParts.putAll(result.partIds());
+            lastTasks.putAll(result.lastTasks());
+            report.setRowsImported(report.getRowsImported() + rows);
+            report.setPartsCreated(report.getPartsCreated() + result.partsCreated());
+            report.setPartOperationsCreated(report.getPartOperationsCreated() + result.partOperationsCreated());
+            report.setTasksCreated(report.getTasksCreated() + result.tasksCreated());
+            report.setChunksCommitted(report.getChunksCommitted() + 1);
+        }
+
+        private String validate(RoutingImportRow row) {
+            if (isBlank(row.getPartCode())) return "partCode is required";
+            if (isBlank(row.getPartName())) return "partName is required";
+            if (isBlank(row.getProject())) return "project is required";
+            if (!projects.containsKey(row.getProject())) return "Unknown project: " + row.getProject();
+            if (row.getSequence() == null || row.getSequence() < 1) return "sequence must be a positive number";
+            if (isBlank(row.getOperation())) return "operation is required";
+            if (!operations.containsKey(row.getOperation())) return "Unknown operation: " + row.getOperation();
+            if (isBlank(row.getMachine())) return "machine is required";
+            if (!machines.containsKey(row.getMachine())) return "Unknown machine: " + row.getMachine();
+            if (row.getEstimatedDuration() != null && row.getEstimatedDuration() < 0) return "estimatedDuration must not be negative";
+            try {
+                if (row.getPartStatus() != null) baseDataRegistry.getByCode(PartStatus.class, row.getPartStatus());
+                if (row.getPartOperationStatus() != null)
+                    baseDataRegistry.getByCode(PartOperationStatus.class, row.getPartOperationStatus());
+            } catch (EntityNotFoundException e) {
+                return e.getMessage();
+            }
+            Long projectId = partProjects.putIfAbsent(row.getPartCode(), projects.get(row.getProject()));
+            if (projectId != null && !projectId.equals(projects.get(row.getProject())))
+                return "Part " + row.getPartCode() + " belongs to another project";
+            if (!seenSequences.add(row.getPartCode() + "#" + row.getSequence()))
+                return "Duplicate sequence " + row.getSequence() + " for part " + row.getPartCode();
+            return null;
+        }
+
+        private ResolvedRow resolve(RoutingImportRow row) {
+            PartStatus partStatus = row.getPartStatus() != null
+                    ? baseDataRegistry.getByCode(PartStatus.class, row.getPartStatus())
+                    : baseDataRegistry.get(PartStatus.class, PART_STATUS.NOT_STARTED);
+            PartOperationStatus operationStatus = row.getPartOperationStatus() != null
+                    ? baseDataRegistry.getByCode(PartOperationStatus.class, row.getPartOperationStatus())
+                    : baseDataRegistry.get(PartOperationStatus.class, PART_OPERATION_STATUS.PENDING);
+            return new ResolvedRow(row, projects.get(row.getProject()), operations.get(row.getOperation()),
+                    machines.get(row.getMachine()), partStatus, operationStatus, !Boolean.FALSE.equals(row.getCreateTask()));
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.Shift;
+import com.niam.kardan.model.basedata.MachineStatus;
+import com.niam.kardan.model.basedata.ShiftStatus;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.MACHINE_STATUS;
+import com.niam.kardan.model.basedata.enums.SHIFT_STATUS;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.MachineLoad;
+import com.niam.kardan.model.dto.ScheduleReport;
+import com.niam.kardan.model.dto.SchedulingMachine;
+import com.niam.kardan.model.dto.SchedulingTask;
+import com.niam.kardan.model.dto.TaskAssignment;
+import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.ShiftRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finite-capacity scheduling of open tasks. Input is read with a few projection queries, the plan is computed in
+ * memory by {@link ListScheduler}, and machine assignments and planned start/end times are written back with batched
+ * UPDATEs. Tasks claimed while the plan was computed are left untouched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulingService {
+    private static final String APPLY_SQL = "update part_operation_task set target_machine_id = ?, planned_start = ?, " +
+            "planned_end = ? where id = ? and status_id in (?, ?)";
+
+    private final PartOperationTaskRepository partOperationTaskRepository;
+    private final MachineRepository machineRepository;
+    private final ShiftRepository shiftRepository;
+    private final BaseDataRegistry baseDataRegistry;
+    private final DispatchQueue dispatchQueue;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Lazy
+    @Autowired
+    private SchedulingService self;
+
+    // used for tasks whose operation has no estimatedDuration
+    @Value("${kardan.scheduler.default-duration:3600}")
+    private long defaultDuration;
+
+    @Value("${kardan.scheduler.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Plan every PENDING and BLOCKED task from {@code from} (default now). With {@code apply = false} the plan is
+     * only reported. The report lists the first {@code limit} assignments by planned start.
+     */
+    public ScheduleReport schedule(LocalDateTime from, boolean apply, int limit) {
+        long started = System.nanoTime();
+        LocalDateTime horizon = (from != null ? from : LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS);
+        SchedulingInput input = self.loadInput(horizon);
+
+        long computeStarted = System.nanoTime();
+        ListScheduler.Result result = new ListScheduler(input.calendar(), defaultDuration)
+                .schedule(input.tasks(), input.machines(), input.machineReady(), horizon);
+        long computeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - computeStarted);
+
+        long applied = 0;
+        if (apply && !result.assignments().isEmpty()) {
+            applied = self.apply(result.assignments());
+            dispatchQueue.rebuild();
+        }
+        ScheduleReport report = ScheduleReport.builder()
+                .horizonStart(horizon)
+                .makespanEnd(result.makespanEnd())
+                .tasks(input.tasks().size())
+                .machines(input.machines().size())
+                .scheduled(result.assignments().size())
+                .reassigned(result.reassigned())
+                .applied(applied)
+                .computeMillis(computeMillis)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .assignments(result.assignments().stream()
+                        .sorted(Comparator.comparing(TaskAssignment::plannedStart).thenComparing(TaskAssignment::taskId))
+                        .limit(Math.max(0, limit))
+                        .toList())
+                .unschedulable(result.unschedulable())
+                .build();
+        log.info("Scheduled {} of {} tasks on {} machines ({} reassigned, {} applied) in {} ms, plan ends {}",
+                report.getScheduled(), report.getTasks(), report.getMachines(), report.getReassigned(),
+                report.getApplied(), report.getElapsedMillis(), report.getMakespanEnd());
+        return report;
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public SchedulingInput loadInput(LocalDateTime horizon) {
+        List<SchedulingTask> tasks = partOperationTaskRepository.findSchedulingTasks(
+                taskStatusIds(TASK_STATUS.PENDING, TASK_STATUS.BLOCKED));
+        List<SchedulingMachine> machines = machineRepository.findSchedulingMachines(List.of(
+                baseDataRegistry.get(MachineStatus.class, MACHINE_STATUS.ACTIVE).getId(),
+                baseDataRegistry.get(MachineStatus.class, MACHINE_STATUS.BUSY).getId(),
+                baseDataRegistry.get(MachineStatus.class, MACHINE_STATUS.STOPPED).getId()));
+
+        // a machine running a task is taken to be busy until that task's estimated end
+        Map<Long, LocalDateTime> machineReady = new HashMap<>();
+        for (MachineLoad load : partOperationTaskRepository.findMachineLoads(
+                taskStatusIds(TASK_STATUS.CLAIMED, TASK_STATUS.IN_PROGRESS))) {
+            if (load.machineId() == null || load.startedAt() == null) continue;
+            long duration = load.estimatedDuration() != null ? load.estimatedDuration() : defaultDuration;
+            machineReady.merge(load.machineId(), load.startedAt().plusSeconds(duration),
+                    (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        List<Shift> shifts = shiftRepository.findByStatusIdAndEndTimeAfter(
+                baseDataRegistry.get(ShiftStatus.class, SHIFT_STATUS.ACTIVE).getId(), horizon);
+        ListScheduler.WorkCalendar calendar = shifts.isEmpty() ? ListScheduler.WorkCalendar.continuous()
+                : ListScheduler.WorkCalendar.of(shifts.stream()
+                .map(s -> new LocalDateTime[]{s.getStartTime(), s.getEndTime()}).toList());
+        return new SchedulingInput(tasks, machines, machineReady, calendar);
+    }
+
+    /**
+     * Write the plan in one transaction as JDBC batches; returns the number of tasks updated.
+     */
+    @Transactional("transactionManager")
+    public long apply(List<TaskAssignment> assignments) {
+        Long pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING).getId();
+        Long blocked = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.BLOCKED).getId();
+        int[][] counts = jdbcTemplate.batchUpdate(APPLY_SQL, assignments, batchSize, (ps, assignment) -> {
+            ps.setLong(1, assignment.machineId());
+            ps.setTimestamp(2, Timestamp.valueOf(assignment.plannedStart()));
+            ps.setTimestamp(3, Timestamp.valueOf(assignment.plannedEnd()));
+            ps.setLong(4, assignment.taskId());
+            ps.setLong(5, pending);
+            ps.setLong(6, blocked);
+        });
+        // the driver may report SUCCESS_NO_INFO (-2) per statement
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).mapToLong(c -> c < 0 ? 1 : c).sum();
+    }
+
+    private List<Long> taskStatusIds(TASK_STATUS... statuses) {
+        return Arrays.stream(statuses).map(s -> baseDataRegistry.get(TaskStatus.class, s).getId()).toList();
+    }
+
+    public record SchedulingInput(List<SchedulingTask> tasks, List<SchedulingMachine> machines,
+                                  Map<Long, LocalDateTime> machineReady, ListScheduler.WorkCalendar calendar) {
+    }
+}
@@ -5,15 +5,18 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.Shift;
 import com.niam.kardan.model.basedata.ShiftStatus;
 import com.niam.kardan.repository.OperatorShiftRepository;
 import com.niam.kardan.repository.ShiftRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -34,22 +37,24 @@ public class ShiftService {
     private final OperatorShiftRepository operatorShiftRepository;
     private final GenericBaseDataServiceFactory baseDataServiceFactory;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private ShiftService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"shifts", "shift"}, allEntries = true)
     public Shift create(Shift shift) {
+        pageCacheVersions.bump("shifts");
         shift.setStatus(baseDataServiceFactory.create(ShiftStatus.class).getByCode(shift.getStatus().getCode()));
         return shiftRepository.save(shift);
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"shifts", "shift"}, allEntries = true)
     public Shift update(Long id, Shift updated) {
+        evictAfterCommit(id);
         Shift existing = self.getById(id);
         BeanUtils.copyProperties(updated, existing, "id");
         existing.setStatus(baseDataServiceFactory.create(ShiftStatus.class).getByCode(updated.getStatus().getCode()));
@@ -64,7 +69,7 @@ public class ShiftService {
                 messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "Shift")));
     }
 
-    @Cacheable(value = "shifts")
+    @Cacheable(value = "shifts", key = "@pageCacheVersions.key('shifts', #requestParams)")
     public Page<Shift> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<Shift> specification = (root, query, criteriaBuilder) -> {
@@ -77,8 +82,8 @@ public class ShiftService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"shifts", "shift"}, allEntries = true)
     public void delete(Long id) {
+        evictAfterCommit(id);
         Shift shift = self.getById(id);
         boolean hasActiveAssignments = operatorShiftRepository.existsByShiftIdAndUnassignedAtIsNull(shift.getId());
         if (hasActiveAssignments) {
@@ -92,4 +97,13 @@ public class ShiftService {
                     messageUtil.getMessage(ResultResponseStatus.ENTITY_HAS_DEPENDENCIES.getDescription(), "Shift"));
         }
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("shifts");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("shift");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
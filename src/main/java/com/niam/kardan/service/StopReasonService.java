@@ -5,14 +5,17 @@ import com.niam.common.exception.EntityNotFoundException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.StopReason;
 import com.niam.kardan.model.basedata.StopReasonCategory;
 import com.niam.kardan.repository.StopReasonRepository;
+import com.niam.kardan.util.AfterCommit;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -32,22 +35,24 @@ public class StopReasonService {
     private final StopReasonRepository stopReasonRepository;
     private final GenericBaseDataServiceFactory baseDataServiceFactory;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
     private final MessageUtil messageUtil;
+    private final CacheManager cacheManager;
 
     @Lazy
     @Autowired
     private StopReasonService self;
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"stopReasons", "stopReason"}, allEntries = true)
     public StopReason create(StopReason stopReason) {
+        pageCacheVersions.bump("stopReasons");
         stopReason.setCategory(baseDataServiceFactory.create(StopReasonCategory.class).getByCode(stopReason.getCategory().getCode()));
         return stopReasonRepository.save(stopReason);
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"stopReasons", "stopReason"}, allEntries = true)
     public StopReason update(Long id, StopReason updated) {
+        evictAfterCommit(id);
         StopReason existing = self.getById(id);
         BeanUtils.copyProperties(updated, existing, "id");
         existing.setCategory(baseDataServiceFactory.create(StopReasonCategory.class).getByCode(updated.getCategory().getCode()));
@@ -62,7 +67,7 @@ public class StopReasonService {
                 messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "StopReason")));
     }
 
-    @Cacheable(value = "stopReasons")
+    @Cacheable(value = "stopReasons", key = "@pageCacheVersions.key('stopReasons', #requestParams)")
     public Page<StopReason> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<StopReason> specification = (root, query, criteriaBuilder) -> {
@@ -75,8 +80,8 @@ public class StopReasonService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"stopReasons", "stopReason"}, allEntries = true)
     public void delete(Long id) {
+        evictAfterCommit(id);
         StopReason reason = self.getById(id);
         try {
             stopReasonRepository.delete(reason);
@@ -85,4 +90,13 @@ public class StopReasonService {
                     messageUtil.getMessage(ResultResponseStatus.ENTITY_HAS_DEPENDENCIES.getDescription(), "StopReason"));
         }
     }
+
+    // after commit, so a read racing the write cannot put the old row back
+    private void evictAfterCommit(Long id) {
+        pageCacheVersions.bump("stopReasons");
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("stopReason");
+            if (cache != null) cache.evict(id);
+        });
+    }
 }
\ No newline at end of file
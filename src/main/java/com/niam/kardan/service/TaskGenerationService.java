@@ -0,0 +1,168 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.common.exception.ResultResponseStatus;
+import com.niam.common.utils.MessageUtil;
+import com.niam.kardan.config.generation.TaskGenerationProperties;
+import com.niam.kardan.model.PartOperation;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.TaskGenerationReport;
+import com.niam.kardan.model.dto.TaskLink;
+import com.niam.kardan.repository.PartOperationRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.PartRepository;
+import com.niam.kardan.repository.ProjectRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Turns part routings into tasks. A project's parts are split into slices that are generated in parallel, each slice
+ * reading its routings in one query and inserting its tasks as JDBC batches in its own transaction. Operations that
+ * already have a task are skipped, so a failed or partial run can simply be repeated. A run holds its project's row
+ * lock until every slice has finished and each slice locks its parts, so two runs never both see an operation as
+ * missing a task. Only tasks the
+ * {@link TaskReleaseService} lets through start PENDING; later operations wait BLOCKED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskGenerationService {
+    private final PartRepository partRepository;
+    private final PartOperationRepository partOperationRepository;
+    private final PartOperationTaskRepository partOperationTaskRepository;
+    private final ProjectRepository projectRepository;
+    private final BaseDataRegistry baseDataRegistry;
+    private final DispatchQueue dispatchQueue;
+    private final TaskReleaseService taskReleaseService;
+    private final TaskGenerationProperties properties;
+    private final MessageUtil messageUtil;
+
+    @Lazy
+    @Autowired
+    private TaskGenerationService self;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "task-generation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Transactional("transactionManager")
+    public TaskGenerationReport generateForProject(Long projectId) {
+        if (projectRepository.lockById(projectId).isEmpty()) {
+            throw new EntityNotFoundException(
+                    ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
+                    ResultResponseStatus.ENTITY_NOT_FOUND.getReasonCode(),
+                    messageUtil.getMessage(ResultResponseStatus.ENTITY_NOT_FOUND.getDescription(), "Project"));
+        }
+        long started = System.nanoTime();
+        List<Long> partIds = partRepository.findIdsByProjectId(projectId);
+        int size = Math.max(1, properties.getPartitionSize());
+        List<List<Long>> partitions = new ArrayList<>();
+        for (int from = 0; from < partIds.size(); from += size) {
+            partitions.add(partIds.subList(from, Math.min(from + size, partIds.size())));
+        }
+
+        List<CompletableFuture<PartitionResult>> futures = partitions.stream()
+                .map(slice -> CompletableFuture.supplyAsync(() -> self.generatePartition(slice), executor))
+                .toList();
+        TaskGenerationReport report = TaskGenerationReport.builder()
+                .projectId(projectId).parts(partIds.size()).partitions(partitions.size()).build();
+        for (CompletableFuture<PartitionResult> future : futures) {
+            try {
+                PartitionResult result = future.join();
+                report.setTasksCreated(report.getTasksCreated() + result.tasksCreated());
+                report.setOperationsSkipped(report.getOperationsSkipped() + result.operationsSkipped());
+            } catch (CompletionException e) {
+                report.setFailedPartitions(report.getFailedPartitions() + 1);
+                report.getErrors().add(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                log.warn("Task generation partition failed for project {}", projectId, e.getCause());
+            }
+        }
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Generated {} tasks for {} parts of project {} in {} partitions ({} failed) in {} ms",
+                report.getTasksCreated(), report.getParts(), projectId, report.getPartitions(),
+                report.getFailedPartitions(), report.getElapsedMillis());
+        return report;
+    }
+
+    /**
+     * Create the missing tasks of a slice of parts. Each task's parent is the task of the part's previous operation,
+     * whether that task is new or already existed.
+     */
+    @Transactional(value = "transactionManager", propagation = Propagation.REQUIRES_NEW)
+    public PartitionResult generatePartition(List<Long> partIds) {
+        partRepository.lockByIdIn(partIds);
+        List<PartOperation> routings = partOperationRepository.findByPartIdInOrderByPartIdAscSequenceAsc(partIds);
+        Map<Long, Long> existing = partOperationTaskRepository.findTaskLinksByPartIdIn(partIds).stream()
+                .collect(Collectors.toMap(TaskLink::partOperationId, TaskLink::taskId));
+        TaskStatus pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
+
+        Map<Long, List<PartOperationTask>> tasksByPart = new LinkedHashMap<>();
+        List<PartOperationTask> tasks = new ArrayList<>();
+        Long currentPartId = null;
+        PartOperationTask previous = null;
+        for (PartOperation operation : routings) {
+            Long partId = operation.getPart().getId();
+            if (!Objects.equals(partId, currentPartId)) {
+                currentPartId = partId;
+                previous = null;
+            }
+            Long existingTaskId = existing.get(operation.getId());
+            if (existingTaskId != null) {
+                previous = partOperationTaskRepository.getReferenceById(existingTaskId);
+                continue;
+            }
+            PartOperationTask task = new PartOperationTask();
+            task.setPartOperation(operation);
+            task.setTargetMachine(operation.getMachine());
+            task.setParentTask(previous);
+            task.setTaskStatus(pending);
+            tasks.add(task);
+            tasksByPart.computeIfAbsent(partId, id -> new ArrayList<>()).add(task);
+            previous = task;
+        }
+        tasksByPart.forEach(taskReleaseService::admit);
+        partOperationTaskRepository.saveAll(tasks);
+        tasks.stream().filter(TaskReleaseService::isReleased).forEach(dispatchQueue::offerAfterCommit);
+        return new PartitionResult(tasks.size(), existing.size());
+    }
+
+    public record PartitionResult(int tasksCreated, int operationsSkipped) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.PartProgressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Enforces operation order within a part. Each part has a next releasable sequence, stored in {@code part_progress};
+ * tasks of later operations are created BLOCKED and only become PENDING when the operations before them are
+ * finished. Releasing happens in the finishing transaction, so claims only ever check the status of the task they
+ * lock.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskReleaseService {
+    private static final List<TASK_STATUS> OPEN = List.of(
+            TASK_STATUS.BLOCKED, TASK_STATUS.PENDING, TASK_STATUS.CLAIMED, TASK_STATUS.IN_PROGRESS);
+
+    private final PartProgressRepository partProgressRepository;
+    private final PartOperationTaskRepository partOperationTaskRepository;
+    private final BaseDataRegistry baseDataRegistry;
+    private final DispatchQueue dispatchQueue;
+
+    /**
+     * Decide the initial status of new tasks of one part, before they are saved: tasks up to the part's releasable
+     * sequence stay PENDING, the rest become BLOCKED. The tasks must carry their part operation.
+     * Holds the part's progress row like {@link #release}, so a concurrent finish either sees these tasks or has
+     * committed the sequence read here.
+     */
+    public void admit(Long partId, List<PartOperationTask> tasks) {
+        if (tasks.isEmpty()) return;
+        partProgressRepository.lock(partId);
+        Integer tracked = partProgressRepository.findNextSequence(partId);
+        int lowest = tasks.stream().mapToInt(t -> t.getPartOperation().getSequence()).min().getAsInt();
+        int releasable = tracked == null || lowest < tracked ? lowest : tracked;
+        TaskStatus pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
+        TaskStatus blocked = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.BLOCKED);
+        tasks.forEach(t -> t.setTaskStatus(t.getPartOperation().getSequence() <= releasable ? pending : blocked));
+        if (tracked == null || releasable != tracked) {
+            partProgressRepository.track(partId, releasable);
+        }
+    }
+
+    /**
+     * Runs inside the finishing transaction, so released tasks commit together with the finished one.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExecutionEvent(ExecutionEvent event) {
+        if (event.getType() != ExecutionEventType.FINISHED || event.getPartId() == null) return;
+        release(event.getPartId());
+    }
+
+    /**
+     * Recompute the part's releasable sequence from its open tasks and unblock the tasks at that sequence.
+     * Must run in the transaction that completed or cancelled a task of the part.
+     */
+    public List<PartOperationTask> release(Long partId) {
+        partProgressRepository.lock(partId);
+        List<Long> openIds = OPEN.stream().map(s -> baseDataRegistry.get(TaskStatus.class, s).getId()).toList();
+        List<PartOperationTask> open = partOperationTaskRepository.findOpenByPartId(partId, openIds);
+        Integer next = open.stream().map(t -> t.getPartOperation().getSequence())
+                .min(Comparator.naturalOrder()).orElse(null);
+
+        TaskStatus pending = baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING);
+        List<PartOperationTask> released = new ArrayList<>();
+        for (PartOperationTask task : open) {
+            if (TASK_STATUS.BLOCKED.name().equalsIgnoreCase(task.getTaskStatus().getCode())
+                    && task.getPartOperation().getSequence().equals(next)) {
+                task.setTaskStatus(pending);
+                released.add(task);
+            }
+        }
+        if (!released.isEmpty()) {
+            partOperationTaskRepository.saveAll(released);
+            released.forEach(dispatchQueue::offerAfterCommit);
+            log.debug("Released {} tasks of part {} at sequence {}", released.size(), partId, next);
+        }
+        partProgressRepository.track(partId, next);
+        return released;
+    }
+
+    public static boolean isReleased(PartOperationTask task) {
+        return TASK_STATUS.PENDING.name().equalsIgnoreCase(task.getTaskStatus().getCode());
+    }
+}
@@ -5,18 +5,21 @@ import com.niam.common.exception.IllegalStateException;
 import com.niam.common.exception.ResultResponseStatus;
 import com.niam.common.utils.MessageUtil;
 import com.niam.common.utils.PaginationUtils;
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.UserAccount;
 import com.niam.kardan.model.dto.AccountDTO;
 import com.niam.kardan.repository.OperatorShiftRepository;
 import com.niam.kardan.repository.UserAccountRepository;
 import com.niam.kardan.util.UserAccountMapper;
+import com.niam.kardan.util.AfterCommit;
 import com.niam.usermanagement.model.entities.User;
 import com.niam.usermanagement.service.UserService;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -39,6 +42,8 @@ public class UserAccountService {
     private final UserAccountMapper userAccountMapper;
     private final OperatorShiftRepository operatorShiftRepository;
     private final PaginationUtils paginationUtils;
+    private final PageCacheVersions pageCacheVersions;
+    private final CacheManager cacheManager;
     private final MessageUtil messageUtil;
 
     @Lazy
@@ -46,8 +51,8 @@ public class UserAccountService {
     private UserAccountService self;
 
     @Transactional(value = "transactionManager")
-    @CacheEvict(value = {"userAccount", "userAccounts"}, allEntries = true)
     public void create(AccountDTO accountDTO) {
+        pageCacheVersions.bump("userAccounts");
         User user;
         try {
             user = userService.createUser(accountDTO.getUserDTO());
@@ -66,15 +71,14 @@ public class UserAccountService {
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"userAccount", "userAccounts"}, allEntries = true)
     public void update(String username, AccountDTO updatedUserAccount) {
         UserAccount existing = self.getByUsername(username);
         BeanUtils.copyProperties(updatedUserAccount, existing, "id", "user");
         userAccountRepository.save(existing);
+        evictCaches(existing, username);
     }
 
     @Transactional("transactionManager")
-    @CacheEvict(value = {"userAccount", "userAccounts"}, allEntries = true)
     public void delete(String username) {
         UserAccount userAccount = self.getByUsername(username);
         boolean hasActiveShift = operatorShiftRepository.existsByOperatorIdAndUnassignedAtIsNull(userAccount.getId());
@@ -84,10 +88,11 @@ public class UserAccountService {
         }
 
         userAccountRepository.delete(userAccount);
+        evictCaches(userAccount, username);
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
-    @Cacheable(value = "userAccounts")
+    @Cacheable(value = "userAccounts", key = "@pageCacheVersions.key('userAccounts', #requestParams)")
     public List<AccountDTO> getAll(Map<String, Object> requestParams) {
         PageRequest pageRequest = paginationUtils.pageHandler(requestParams);
         Specification<UserAccount> specification = (root, query, criteriaBuilder) -> {
@@ -113,7 +118,7 @@ public class UserAccountService {
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
-    @Cacheable(value = "userAccount", key = "#userId")
+    @Cacheable(value = "userAccountByUserId", key = "#userId")
     public UserAccount getByUserId(Long userId) {
         return userAccountRepository.findByUser_id(userId).orElseThrow(() -> new EntityNotFoundException(
                 ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
@@ -122,7 +127,7 @@ public class UserAccountService {
     }
 
     @Transactional(readOnly = true, value = "transactionManager")
-    @Cacheable(value = "userAccount", key = "#username")
+    @Cacheable(value = "userAccountByUsername", key = "#username")
     public UserAccount getByUsername(String username) {
         User user = userService.getUserByUsername(username);
         return getByUserId(user.getId());
@@ -131,4 +136,25 @@ public class UserAccountService {
     public boolean existsByUsername(String username) {
         return userAccountRepository.existsByUser_username(username);
     }
+
+    /**
+     * An account is cached under three keys (id, user id, username); drop exactly those and the list pages once the
+     * transaction commits.
+     */
+    private void evictCaches(UserAccount account, String username) {
+        Long id = account.getId();
+        Long userId = account.getUser() != null ? account.getUser().getId() : null;
+        // after commit, so a read racing the write cannot put the old account back
+        AfterCommit.run(() -> {
+            evict("userAccount", id);
+            evict("userAccountByUserId", userId);
+            evict("userAccountByUsername", username);
+        });
+        pageCacheVersions.bump("userAccounts");
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache c = cacheManager.getCache(cacheName);
+        if (c != null && key != null) c.evict(key);
+    }
 }
\ No newline at end of file
@@ -1,15 +1,24 @@
 package com.niam.kardan.util;
 
-import com.niam.kardan.model.basedata.BaseData;
-import org.hibernate.Hibernate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.core.JsonGenerator;
+import com.niam.kardan.model.basedata.BaseData;
+
 import java.io.IOException;
-import java.lang.reflect.Field;
-import org.springframework.util.ReflectionUtils;
 
+/**
+ * Writes a {@link BaseData} as {@code {id, code, name, description}} through plain getters: no reflection and no
+ * unproxying. On a Hibernate proxy {@code getId()} never initializes it and the other getters delegate to the
+ * target, so an initialized proxy is written as is.
+ */
 public class BaseDataSerializer extends JsonSerializer<BaseData> {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
 
     @Override
     public void serialize(BaseData value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
@@ -18,25 +27,17 @@ public class BaseDataSerializer extends JsonSerializer<BaseData> {
             return;
         }
 
-        BaseData real = (BaseData) Hibernate.unproxy(value);
-
-        gen.writeStartObject();
-        gen.writeNumberField("id", getId(real));
-        gen.writeStringField("code", real.getCode());
-        gen.writeStringField("name", real.getName());
-        gen.writeStringField("description", real.getDescription());
+        gen.writeStartObject(value);
+        gen.writeFieldName(ID);
+        Long id = value.getId();
+        if (id == null) gen.writeNull();
+        else gen.writeNumber(id);
+        gen.writeFieldName(CODE);
+        gen.writeString(value.getCode());
+        gen.writeFieldName(NAME);
+        gen.writeString(value.getName());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(value.getDescription());
         gen.writeEndObject();
     }
-
-    private Long getId(BaseData baseData) {
-        try {
-            Class<?> realClass = Hibernate.getClass(baseData);
-            Field field = ReflectionUtils.findField(realClass, "id");
-            if (field == null) return null;
-            field.setAccessible(true);
-            return (Long) field.get(baseData);
-        } catch (Exception e) {
-            throw new IllegalStateException("Cannot read BaseData id", e);
-        }
-    }
-}
\ No newline at end of file
+}
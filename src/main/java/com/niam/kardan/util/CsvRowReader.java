@@ -0,0 +1,99 @@
+package com.niam.kardan.util;
+
+import com.niam.common.exception.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming RFC 4180 reader: one record in memory at a time, keyed by the lower-cased header names of the first
+ * record. Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+public class CsvRowReader implements Closeable {
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvRowReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<String> names = readRecord();
+        if (names == null) throw new BusinessException("CSV file is empty");
+        this.header = names.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    /**
+     * The next record, or {@code null} at end of input. Blank lines are skipped.
+     */
+    public Map<String, String> next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) return null;
+        } while (values.size() == 1 && values.getFirst().isBlank());
+        Map<String, String> row = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) row.put(header.get(i), value);
+        }
+        return row;
+    }
+
+    /**
+     * Physical line number on which the record last returned by {@link #next()} starts.
+     */
+    public long line() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+        recordLine = line;
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (peek != -1) reader.reset();
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,84 @@
+package com.niam.kardan.util;
+
+import com.niam.common.exception.BusinessException;
+import com.niam.kardan.model.dto.KeysetPage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cursor (seek) pagination over {@code id DESC}, opted into with {@code ?pagination=keyset} or an {@code after} cursor.
+ * Each page is one index range scan on {@code id < :after}; no OFFSET and no COUNT query.
+ * Associations named in {@code fetch} are joined into that same statement.
+ * <p>
+ * The contract is a stable order, not creation order: ids are unique and never change, so a scroll returns every row
+ * that existed when it started exactly once. Ids are handed out in pooled-lo blocks per instance, so rows created by
+ * different instances interleave, and a row created during a scroll with an id below the cursor is only seen by a new
+ * scroll.
+ */
+@Component
+public class KeysetPaginationUtils {
+    public static final String MODE_PARAM = "pagination";
+    public static final String KEYSET_MODE = "keyset";
+    public static final String AFTER_PARAM = "after";
+    public static final String SIZE_PARAM = "size";
+    private static final int DEFAULT_SIZE = 20;
+    private static final int MAX_SIZE = 500;
+
+    public boolean isRequested(Map<String, Object> requestParams) {
+        return requestParams.get(AFTER_PARAM) != null || KEYSET_MODE.equals(requestParams.get(MODE_PARAM));
+    }
+
+    public <T> KeysetPage<T> page(JpaSpecificationExecutor<T> repository, Specification<T> filters,
+                                  Map<String, Object> requestParams, Function<T, Long> idOf, String... fetch) {
+        int size = size(requestParams);
+        Long after = decode(requestParams.get(AFTER_PARAM));
+        Specification<T> specification = after == null ? filters : filters.and(
+                (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("id"), after));
+        // fetch one extra row to learn whether another page exists
+        List<T> rows = repository.findBy(specification, q -> (fetch.length == 0 ? q : q.project(fetch))
+                .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+                .limit(size + 1)
+                .all());
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return KeysetPage.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encode(idOf.apply(content.getLast())) : null)
+                .build();
+    }
+
+    private int size(Map<String, Object> requestParams) {
+        Object size = requestParams.get(SIZE_PARAM);
+        if (size == null) return DEFAULT_SIZE;
+        try {
+            return Math.clamp(Integer.parseInt(size.toString()), 1, MAX_SIZE);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid page size: " + size);
+        }
+    }
+
+    private String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decode(Object cursor) {
+        if (cursor == null || cursor.toString().isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.toString()), StandardCharsets.UTF_8);
+            if (!decoded.startsWith("id:")) throw new IllegalArgumentException(decoded);
+            return Long.parseLong(decoded.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid pagination cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- Entities use pooled-lo sequence allocation (allocationSize = 50); existing sequences must step by the same amount.
+ALTER SEQUENCE IF EXISTS execution_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS machine_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS machine_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS machine_type_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS operation_execution_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS operation_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS operation_stop_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS operator_machine_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS operator_shift_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS part_operation_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS part_operation_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS part_operation_task_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS part_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS part_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS project_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS project_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS shift_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS shift_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS stop_reason_category_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS stop_reason_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS task_status_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS user_account_seq INCREMENT BY 50;
@@ -0,0 +1,148 @@
+-- Monthly range partitioning for operation_execution (claimed_at) and operation_stop (started_at).
+-- Flyway runs before Hibernate creates or updates the tables, so PartitionMaintenance calls these functions once the
+-- schema is in place. Every function is idempotent.
+
+-- Turn a plain table into a table partitioned by month on part_key. Existing rows stay where they are: the old heap is
+-- attached as <tbl>_legacy covering everything up to the end of the current month, so no data is copied.
+CREATE OR REPLACE FUNCTION kardan_partition_by_month(tbl text, part_key text, backfill text) RETURNS boolean
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    legacy text := tbl || '_legacy';
+    bound  timestamp;
+    defs   text[];
+    def    text;
+    r      record;
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_class c
+                            JOIN pg_namespace n ON n.oid = c.relnamespace
+                   WHERE c.relname = tbl
+                     AND n.nspname = current_schema()
+                     AND c.relkind = 'r') THEN
+        RETURN false; -- not created yet, or already partitioned
+    END IF;
+
+    EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', tbl);
+    EXECUTE format('UPDATE %I SET %I = %s WHERE %I IS NULL', tbl, part_key, backfill, part_key);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN %I SET NOT NULL', tbl, part_key);
+    EXECUTE format('SELECT date_trunc(''month'', greatest(max(%I), localtimestamp)) + interval ''1 month'' FROM %I',
+                   part_key, tbl) INTO bound;
+
+    -- a foreign key can only reference a partitioned table through a unique key containing the partition key
+    FOR r IN SELECT conname, conrelid::regclass AS src
+             FROM pg_constraint
+             WHERE contype = 'f'
+               AND confrelid = tbl::regclass
+        LOOP
+            EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', r.src, r.conname);
+        END LOOP;
+
+    SELECT array_agg(i.indexdef)
+    INTO defs
+    FROM pg_indexes i
+             JOIN pg_class c ON c.relname = i.indexname AND c.relnamespace = current_schema()::regnamespace
+             JOIN pg_index x ON x.indexrelid = c.oid
+    WHERE i.schemaname = current_schema()
+      AND i.tablename = tbl
+      AND NOT x.indisprimary;
+
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', tbl, legacy);
+    -- free the index names for the partitioned parent
+    FOR r IN SELECT c.relname
+             FROM pg_index x
+                      JOIN pg_class c ON c.oid = x.indexrelid
+             WHERE x.indrelid = legacy::regclass
+        LOOP
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', r.relname, left(r.relname, 56) || '_legacy');
+        END LOOP;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED INCLUDING STORAGE) '
+                       || 'PARTITION BY RANGE (%I)', tbl, legacy, part_key);
+    EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, %I)', tbl, part_key);
+    FOREACH def IN ARRAY coalesce(defs, ARRAY []::text[])
+        LOOP
+            EXECUTE def;
+        END LOOP;
+    FOR r IN SELECT conname, pg_get_constraintdef(oid) AS condef
+             FROM pg_constraint
+             WHERE contype = 'f'
+               AND conrelid = legacy::regclass
+        LOOP
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I %s', tbl, r.conname, r.condef);
+        END LOOP;
+
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)', tbl, legacy, bound);
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', tbl || '_default', tbl);
+    RETURN true;
+END;
+$$;
+
+-- Create <tbl>_pYYYYMM for the current month and the next months_ahead months.
+CREATE OR REPLACE FUNCTION kardan_ensure_month_partitions(tbl text, months_ahead int) RETURNS int
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    m       timestamp;
+    part    text;
+    created int := 0;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(tbl)) THEN
+        RETURN 0;
+    END IF;
+    FOR i IN 0..months_ahead
+        LOOP
+            m := date_trunc('month', localtimestamp) + make_interval(months => i);
+            part := tbl || to_char(m, '"_p"YYYYMM');
+            IF to_regclass(part) IS NULL THEN
+                BEGIN
+                    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                                   part, tbl, m, m + interval '1 month');
+                    created := created + 1;
+                EXCEPTION
+                    WHEN invalid_object_definition THEN
+                        NULL; -- month still covered by the legacy partition
+                END;
+            END IF;
+        END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Detach monthly partitions that ended more than retention_months ago and move them to archive_schema.
+-- Archived tables keep their rows and indexes but lose their foreign keys, so they no longer pin referenced rows.
+CREATE OR REPLACE FUNCTION kardan_archive_month_partitions(tbl text, retention_months int, archive_schema text) RETURNS int
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    cutoff   timestamp := date_trunc('month', localtimestamp) - make_interval(months => retention_months);
+    r        record;
+    fk       record;
+    archived int       := 0;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(tbl)) THEN
+        RETURN 0;
+    END IF;
+    EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', archive_schema);
+    FOR r IN SELECT c.relname
+             FROM pg_inherits i
+                      JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = to_regclass(tbl)
+               AND c.relname ~ ('^' || tbl || '_p[0-9]{6}$')
+               AND to_timestamp(right(c.relname, 6), 'YYYYMM')::timestamp < cutoff
+             ORDER BY c.relname
+        LOOP
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', tbl, r.relname);
+            FOR fk IN SELECT conname
+                      FROM pg_constraint
+                      WHERE contype = 'f'
+                        AND conrelid = to_regclass(r.relname)
+                LOOP
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', r.relname, fk.conname);
+                END LOOP;
+            EXECUTE format('ALTER TABLE %I SET SCHEMA %I', r.relname, archive_schema);
+            archived := archived + 1;
+        END LOOP;
+    RETURN archived;
+END;
+$$;
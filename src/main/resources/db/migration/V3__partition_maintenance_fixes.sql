@@ -0,0 +1,114 @@
+-- Fixes to the monthly partition maintenance of V2:
+-- * a month whose rows already landed in <tbl>_default could never get its partition, because attaching it fails the
+--   default partition's constraint check; the rows now move into the new partition as it is created.
+-- * history attached as <tbl>_legacy was never archived; it is now archived month by month like the _pYYYYMM
+--   partitions, and the emptied legacy partition is dropped.
+
+-- Create <tbl>_pYYYYMM for the current month and the next months_ahead months.
+CREATE OR REPLACE FUNCTION kardan_ensure_month_partitions(tbl text, months_ahead int) RETURNS int
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    part_key text;
+    m        timestamp;
+    part     text;
+    created  int := 0;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(tbl)) THEN
+        RETURN 0;
+    END IF;
+    part_key := substring(pg_get_partkeydef(to_regclass(tbl)) FROM '\(([^)]*)\)');
+    FOR i IN 0..months_ahead
+        LOOP
+            m := date_trunc('month', localtimestamp) + make_interval(months => i);
+            part := tbl || to_char(m, '"_p"YYYYMM');
+            IF to_regclass(part) IS NULL THEN
+                BEGIN
+                    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED '
+                                       || 'INCLUDING STORAGE)', part, tbl);
+                    -- take along the month's rows written to the default partition before it existed
+                    IF to_regclass(tbl || '_default') IS NOT NULL THEN
+                        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                                           || 'INSERT INTO %I SELECT * FROM moved',
+                                       tbl || '_default', part_key, m, part_key, m + interval '1 month', part);
+                    END IF;
+                    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                                   tbl, part, m, m + interval '1 month');
+                    created := created + 1;
+                EXCEPTION
+                    WHEN invalid_object_definition THEN
+                        NULL; -- month still covered by the legacy partition; the block rolls back the table and rows
+                END;
+            END IF;
+        END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Detach monthly partitions that ended more than retention_months ago and move them to archive_schema.
+-- Archived tables keep their rows and indexes but lose their foreign keys, so they no longer pin referenced rows.
+-- Months of <tbl>_legacy past retention are moved out row-wise into archive_schema.<tbl>_pYYYYMM; once the legacy
+-- partition is empty and its range is past retention, it is dropped.
+CREATE OR REPLACE FUNCTION kardan_archive_month_partitions(tbl text, retention_months int, archive_schema text) RETURNS int
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    cutoff      timestamp := date_trunc('month', localtimestamp) - make_interval(months => retention_months);
+    legacy      text      := tbl || '_legacy';
+    part_key    text;
+    m           timestamp;
+    upper_bound timestamp;
+    part        text;
+    r           record;
+    fk          record;
+    archived    int       := 0;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(tbl)) THEN
+        RETURN 0;
+    END IF;
+    EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', archive_schema);
+    FOR r IN SELECT c.relname
+             FROM pg_inherits i
+                      JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = to_regclass(tbl)
+               AND c.relname ~ ('^' || tbl || '_p[0-9]{6}$')
+               AND to_timestamp(right(c.relname, 6), 'YYYYMM')::timestamp < cutoff
+             ORDER BY c.relname
+        LOOP
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', tbl, r.relname);
+            FOR fk IN SELECT conname
+                      FROM pg_constraint
+                      WHERE contype = 'f'
+                        AND conrelid = to_regclass(r.relname)
+                LOOP
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', r.relname, fk.conname);
+                END LOOP;
+            EXECUTE format('ALTER TABLE %I SET SCHEMA %I', r.relname, archive_schema);
+            archived := archived + 1;
+        END LOOP;
+
+    IF to_regclass(legacy) IS NOT NULL THEN
+        part_key := substring(pg_get_partkeydef(to_regclass(tbl)) FROM '\(([^)]*)\)');
+        EXECUTE format('SELECT date_trunc(''month'', min(%I)) FROM %I', part_key, legacy) INTO m;
+        WHILE m IS NOT NULL AND m < cutoff
+            LOOP
+                part := tbl || to_char(m, '"_p"YYYYMM');
+                EXECUTE format('CREATE TABLE IF NOT EXISTS %I.%I (LIKE %I INCLUDING ALL)', archive_schema, part, legacy);
+                EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I < %L RETURNING *) INSERT INTO %I.%I SELECT * FROM moved',
+                               legacy, part_key, m + interval '1 month', archive_schema, part);
+                archived := archived + 1;
+                EXECUTE format('SELECT date_trunc(''month'', min(%I)) FROM %I', part_key, legacy) INTO m;
+            END LOOP;
+        SELECT substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \(''([^'']*)''\)')::timestamp
+        INTO upper_bound
+        FROM pg_class c
+        WHERE c.oid = to_regclass(legacy);
+        IF m IS NULL AND upper_bound <= cutoff THEN
+            -- all legacy history archived and its range past retention; nothing of it is left to keep
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', tbl, legacy);
+            EXECUTE format('DROP TABLE %I', legacy);
+        END IF;
+    END IF;
+    RETURN archived;
+END;
+$$;
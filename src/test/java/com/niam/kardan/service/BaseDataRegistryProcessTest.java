@@ -0,0 +1,155 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.MachineStatus;
+import com.niam.kardan.model.basedata.enums.MACHINE_STATUS;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BaseDataRegistryProcessTest {
+    @Mock
+    EntityManager em;
+    @Mock
+    Metamodel metamodel;
+    @Mock
+    EntityType<MachineStatus> machineStatusType;
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+    @Mock
+    PersistenceUnitUtil persistenceUnitUtil;
+    @Mock
+    TypedQuery<MachineStatus> query;
+    @Mock
+    CacheManager cacheManager;
+    @InjectMocks
+    BaseDataRegistry registry;
+
+    // what the table holds; read by every load
+    List<MachineStatus> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "self", registry);
+        when(em.getMetamodel()).thenReturn(metamodel);
+        doReturn(Set.of(machineStatusType)).when(metamodel).getEntities();
+        when(machineStatusType.getJavaType()).thenReturn(MachineStatus.class);
+        when(em.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(any())).thenAnswer(i -> ((BaseData) i.getArgument(0)).getId());
+        when(em.createQuery("SELECT e FROM MachineStatus e", MachineStatus.class)).thenReturn(query);
+        when(query.getResultList()).thenAnswer(i -> List.copyOf(rows));
+        rows.add(status(1L, "ACTIVE", "Active"));
+        rows.add(status(2L, "MAINTENANCE", "Maintenance"));
+        registry.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lookup_byCodeEnumAndIdIsServedFromTheSnapshot() {
+        assertThat(registry.getByCode(MachineStatus.class, "ACTIVE").getId()).isEqualTo(1L);
+        assertThat(registry.get(MachineStatus.class, MACHINE_STATUS.MAINTENANCE).getId()).isEqualTo(2L);
+        assertThat(registry.getById(MachineStatus.class, 1L).getCode()).isEqualTo("ACTIVE");
+        assertThat(registry.getAll(MachineStatus.class)).extracting(BaseData::getCode)
+                .containsExactly("ACTIVE", "MAINTENANCE");
+
+        verify(query, times(1)).getResultList();
+    }
+
+    @Test
+    void unknownCode_isNotFoundWithoutReloading() {
+        assertThatThrownBy(() -> registry.getByCode(MachineStatus.class, "SCRAPPED"))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> registry.getById(MachineStatus.class, 99L))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> registry.getByCode(ExecutionStatus.class, "STARTED"))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        verify(query, times(1)).getResultList();
+        verify(em, never()).createQuery("SELECT e FROM ExecutionStatus e", ExecutionStatus.class);
+    }
+
+    @Test
+    void create_isVisibleOnceItsTransactionCommits() {
+        GenericBaseDataService<MachineStatus> service = service();
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.create(status(null, "SCRAPPED", "Scrapped"));
+        rows.add(status(3L, "SCRAPPED", "Scrapped"));
+        assertThatThrownBy(() -> registry.getByCode(MachineStatus.class, "SCRAPPED"))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        commit();
+        assertThat(registry.getByCode(MachineStatus.class, "SCRAPPED").getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void updateAndDelete_areVisibleOnceTheirTransactionsCommit() {
+        GenericBaseDataService<MachineStatus> service = service();
+        when(em.find(MachineStatus.class, 1L)).thenReturn(status(1L, "ACTIVE", "Active"));
+        when(em.find(MachineStatus.class, 2L)).thenReturn(status(2L, "MAINTENANCE", "Maintenance"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.update(1L, status(null, "ACTIVE", "In service"));
+        rows.set(0, status(1L, "ACTIVE", "In service"));
+        assertThat(registry.getById(MachineStatus.class, 1L).getName()).isEqualTo("Active");
+        commit();
+        assertThat(registry.getById(MachineStatus.class, 1L).getName()).isEqualTo("In service");
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.delete(2L);
+        rows.remove(1);
+        assertThat(registry.getByCode(MachineStatus.class, "MAINTENANCE")).isNotNull();
+        commit();
+        assertThatThrownBy(() -> registry.getByCode(MachineStatus.class, "MAINTENANCE"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private GenericBaseDataService<MachineStatus> service() {
+        return new GenericBaseDataService<>(MachineStatus.class, em, cacheManager, registry);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static MachineStatus status(Long id, String code, String name) {
+        MachineStatus status = BaseData.ofCode(MachineStatus.class, code);
+        status.setId(id);
+        status.setName(name);
+        return status;
+    }
+}
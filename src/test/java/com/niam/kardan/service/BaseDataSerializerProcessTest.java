@@ -0,0 +1,123 @@
+package com.niam.kardan.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niam.kardan.model.basedata.MachineStatus;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BaseDataSerializerProcessTest {
+    @Mock
+    LazyInitializer lazyInitializer;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void baseData_roundTripsAsIdCodeNameDescription() throws Exception {
+        MachineStatus status = status(1L, "ACTIVE", "Active", "Ready for work");
+
+        String json = objectMapper.writeValueAsString(Map.of("status", status));
+
+        JsonNode node = objectMapper.readTree(json).get("status");
+        List<String> fields = new ArrayList<>();
+        node.fieldNames().forEachRemaining(fields::add);
+        assertThat(fields).containsExactly("id", "code", "name", "description");
+        assertThat(node.get("id").isNumber()).isTrue();
+        MachineStatus read = objectMapper.treeToValue(node, MachineStatus.class);
+        assertThat(read.getId()).isEqualTo(1L);
+        assertThat(read.getCode()).isEqualTo("ACTIVE");
+        assertThat(read.getName()).isEqualTo("Active");
+        assertThat(read.getDescription()).isEqualTo("Ready for work");
+    }
+
+    @Test
+    void nullIdAndDescription_areWrittenAsNull() throws Exception {
+        JsonNode node = objectMapper.readTree(objectMapper.writeValueAsString(status(null, "ACTIVE", "Active", null)));
+
+        assertThat(node.has("id")).isTrue();
+        assertThat(node.get("id").isNull()).isTrue();
+        assertThat(node.get("description").isNull()).isTrue();
+        assertThat(node.get("code").asText()).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void uninitializedProxy_idIsReadWithoutInitializingIt() throws Exception {
+        when(lazyInitializer.isUninitialized()).thenReturn(true);
+        when(lazyInitializer.getIdentifier()).thenReturn(7L);
+        when(lazyInitializer.getImplementation()).thenReturn(status(7L, "ACTIVE", "Active", null));
+
+        JsonNode node = objectMapper.readTree(objectMapper.writeValueAsString(new MachineStatusProxy(lazyInitializer)));
+
+        assertThat(node.get("id").asLong()).isEqualTo(7L);
+        assertThat(node.get("code").asText()).isEqualTo("ACTIVE");
+        // the id comes from the proxy's identifier; only the other getters reach the target
+        InOrder order = inOrder(lazyInitializer);
+        order.verify(lazyInitializer).getIdentifier();
+        order.verify(lazyInitializer, atLeastOnce()).getImplementation();
+    }
+
+    private static MachineStatus status(Long id, String code, String name, String description) {
+        MachineStatus status = new MachineStatus();
+        status.setId(id);
+        status.setCode(code);
+        status.setName(name);
+        status.setDescription(description);
+        return status;
+    }
+
+    // behaves like a Hibernate proxy: the identifier getter answers from the initializer, the rest load the target
+    static class MachineStatusProxy extends MachineStatus implements HibernateProxy {
+        private final transient LazyInitializer lazyInitializer;
+
+        MachineStatusProxy(LazyInitializer lazyInitializer) {
+            this.lazyInitializer = lazyInitializer;
+        }
+
+        @Override
+        public Long getId() {
+            return lazyInitializer.isUninitialized() ? (Long) lazyInitializer.getIdentifier() : target().getId();
+        }
+
+        @Override
+        public String getCode() {
+            return target().getCode();
+        }
+
+        @Override
+        public String getName() {
+            return target().getName();
+        }
+
+        @Override
+        public String getDescription() {
+            return target().getDescription();
+        }
+
+        @Override
+        public Object writeReplace() {
+            return this;
+        }
+
+        @Override
+        public LazyInitializer getHibernateLazyInitializer() {
+            return lazyInitializer;
+        }
+
+        private MachineStatus target() {
+            return (MachineStatus) lazyInitializer.getImplementation();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.BusinessException;
+import com.niam.common.exception.IllegalStateException;
+import com.niam.common.utils.MessageUtil;
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.OperationExecution;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.UserAccount;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.TaskClaimResult;
+import com.niam.kardan.model.enums.TransitionOutcome;
+import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchClaimProcessTest {
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Mock
+    OperationExecutionRepository operationExecutionRepository;
+    @Mock
+    OperatorAuthorization operatorAuthorization;
+    @Mock
+    MachineService machineService;
+    @Mock
+    UserAccountService operatorService;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @Mock
+    DispatchQueue dispatchQueue;
+    @Mock
+    MessageUtil messageUtil;
+    @Mock
+    OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    OperationExecutionService operationExecutionService;
+
+    private UserAccount operator;
+    private Machine machine;
+
+    @BeforeEach
+    void setUp() {
+        operator = new UserAccount();
+        operator.setId(1L);
+        machine = new Machine();
+        machine.setId(700L);
+
+        when(operatorService.getById(1L)).thenReturn(operator);
+        when(machineService.getById(700L)).thenReturn(machine);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.IN_PROGRESS))
+                .thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.IN_PROGRESS.name()));
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED))
+                .thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STARTED.name()));
+    }
+
+    @Test
+    void claimAndStartTasks_reportsPerTaskOutcome() {
+        PartOperationTask pending = task(1L, TASK_STATUS.PENDING, machine);
+        PartOperationTask claimed = task(2L, TASK_STATUS.IN_PROGRESS, machine);
+        Machine other = new Machine();
+        other.setId(800L);
+        PartOperationTask otherMachine = task(3L, TASK_STATUS.PENDING, other);
+
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(true);
+        when(partOperationTaskRepository.findAllByIdInForUpdate(any()))
+                .thenReturn(List.of(pending, claimed, otherMachine));
+        when(operationExecutionRepository.saveAll(anyList())).thenAnswer(i -> {
+            List<OperationExecution> saved = i.getArgument(0);
+            saved.forEach(e -> e.setId(e.getTask().getId() * 10));
+            return saved;
+        });
+
+        List<TaskClaimResult> results = operationExecutionService.claimAndStartTasks(List.of(1L, 2L, 3L, 4L), 1L, 700L);
+
+        assertThat(results).extracting(TaskClaimResult::getTaskId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(results).extracting(TaskClaimResult::isSuccess).containsExactly(true, false, false, false);
+        assertThat(results).extracting(TaskClaimResult::getOutcome).containsExactly(TransitionOutcome.SUCCESS,
+                TransitionOutcome.NOT_PENDING, TransitionOutcome.MACHINE_MISMATCH, TransitionOutcome.NOT_FOUND);
+        assertThat(results.getFirst().getExecutionId()).isEqualTo(10L);
+        assertThat(pending.getTaskStatus().getCode()).isEqualTo(TASK_STATUS.IN_PROGRESS.name());
+        assertThat(pending.getClaimedBy()).isEqualTo(operator);
+        verify(partOperationTaskRepository, times(1)).findAllByIdInForUpdate(any());
+        verify(operatorAuthorization, times(1)).isAssigned(1L, 700L);
+        verify(operationExecutionRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void claimAndStartTasks_looksUpTheShiftOncePerBatch() {
+        PartOperationTask first = task(1L, TASK_STATUS.PENDING, machine);
+        PartOperationTask second = task(2L, TASK_STATUS.PENDING, machine);
+        PartOperationTask third = task(3L, TASK_STATUS.PENDING, machine);
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(true);
+        when(partOperationTaskRepository.findAllByIdInForUpdate(any())).thenReturn(List.of(first, second, third));
+        when(operationExecutionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        operationExecutionService.claimAndStartTasks(List.of(1L, 2L, 3L), 1L, 700L);
+
+        verify(eventPublisher, times(3)).publishEvent(any(ExecutionEvent.class));
+        verify(operatorShiftRepository, times(1)).findByOperatorIdAndUnassignedAtIsNull(1L);
+    }
+
+    @Test
+    void claimAndStartTasks_whenOperatorNotAssigned_throws() {
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(false);
+
+        assertThatThrownBy(() -> operationExecutionService.claimAndStartTasks(List.of(1L, 2L), 1L, 700L))
+                .isInstanceOf(IllegalStateException.class);
+        verify(partOperationTaskRepository, never()).findAllByIdInForUpdate(any());
+    }
+
+    @Test
+    void claimAndStartTasks_rejectsAnEmptyOversizedOrNullBatch() {
+        List<Long> oversized = LongStream.rangeClosed(1, OperationExecutionService.MAX_BATCH_CLAIM + 1).boxed().toList();
+
+        assertThatThrownBy(() -> operationExecutionService.claimAndStartTasks(List.of(), 1L, 700L))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> operationExecutionService.claimAndStartTasks(oversized, 1L, 700L))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> operationExecutionService.claimAndStartTasks(Arrays.asList(1L, null), 1L, 700L))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(partOperationTaskRepository, operatorService);
+    }
+
+    private PartOperationTask task(Long id, TASK_STATUS status, Machine target) {
+        PartOperationTask task = new PartOperationTask();
+        task.setId(id);
+        task.setTaskStatus(BaseData.ofCode(TaskStatus.class, status.name()));
+        task.setTargetMachine(target);
+        return task;
+    }
+}
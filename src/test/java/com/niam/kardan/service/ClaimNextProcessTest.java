@@ -0,0 +1,115 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.IllegalStateException;
+import com.niam.common.utils.MessageUtil;
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.OperationExecution;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.UserAccount;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClaimNextProcessTest {
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Mock
+    OperationExecutionRepository operationExecutionRepository;
+    @Mock
+    OperatorAuthorization operatorAuthorization;
+    @Mock
+    OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    MachineService machineService;
+    @Mock
+    UserAccountService operatorService;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @Mock
+    DispatchQueue dispatchQueue;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    MessageUtil messageUtil;
+    @InjectMocks
+    OperationExecutionService operationExecutionService;
+
+    private UserAccount operator;
+    private Machine machine;
+
+    @BeforeEach
+    void setUp() {
+        operator = new UserAccount();
+        operator.setId(1L);
+        machine = new Machine();
+        machine.setId(700L);
+        TaskStatus pending = BaseData.ofCode(TaskStatus.class, TASK_STATUS.PENDING.name());
+        pending.setId(5L);
+
+        when(operatorService.getById(1L)).thenReturn(operator);
+        when(machineService.getById(700L)).thenReturn(machine);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING)).thenReturn(pending);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.IN_PROGRESS))
+                .thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.IN_PROGRESS.name()));
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED))
+                .thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STARTED.name()));
+        when(operationExecutionRepository.save(any(OperationExecution.class))).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @Test
+    void claimNext_startsOldestUnlockedPendingTask() {
+        PartOperationTask task = new PartOperationTask();
+        task.setId(42L);
+        task.setTargetMachine(machine);
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(true);
+        when(partOperationTaskRepository.findNextForUpdateSkipLocked(700L, 5L)).thenReturn(Optional.of(task));
+
+        Optional<OperationExecution> exec = operationExecutionService.claimNext(1L, 700L);
+
+        assertThat(exec).isPresent();
+        assertThat(exec.get().getTask()).isEqualTo(task);
+        assertThat(task.getTaskStatus().getCode()).isEqualTo(TASK_STATUS.IN_PROGRESS.name());
+        assertThat(task.getClaimedBy()).isEqualTo(operator);
+        verify(partOperationTaskRepository).save(task);
+    }
+
+    @Test
+    void claimNext_whenNothingPending_returnsEmpty() {
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(true);
+        when(partOperationTaskRepository.findNextForUpdateSkipLocked(700L, 5L)).thenReturn(Optional.empty());
+
+        assertThat(operationExecutionService.claimNext(1L, 700L)).isEmpty();
+        verify(operationExecutionRepository, never()).save(any());
+    }
+
+    @Test
+    void claimNext_whenOperatorNotAssigned_throws() {
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(false);
+
+        assertThatThrownBy(() -> operationExecutionService.claimNext(1L, 700L))
+                .isInstanceOf(IllegalStateException.class);
+        verify(partOperationTaskRepository, never()).findNextForUpdateSkipLocked(any(), any());
+    }
+}
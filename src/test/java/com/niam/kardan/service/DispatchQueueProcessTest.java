@@ -0,0 +1,71 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.DispatchEntry;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchQueueProcessTest {
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @InjectMocks
+    DispatchQueue dispatchQueue;
+
+    @Test
+    void rebuild_queuesPendingTasksPerMachineInReleaseOrder() {
+        TaskStatus pending = new TaskStatus();
+        pending.setId(1L);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING)).thenReturn(pending);
+        when(partOperationTaskRepository.findDispatchEntriesByStatusId(1L)).thenReturn(List.of(
+                new DispatchEntry(30L, 700L, 5L, null),
+                new DispatchEntry(10L, 700L, 5L, null),
+                new DispatchEntry(20L, 800L, 6L, null),
+                new DispatchEntry(40L, 700L, 7L, LocalDateTime.of(2025, 3, 1, 8, 0))));
+
+        dispatchQueue.rebuild();
+
+        // scheduled tasks first, in planned start order, then unscheduled ones by id
+        assertThat(dispatchQueue.nextTask(700L)).map(DispatchEntry::taskId).contains(40L);
+        assertThat(dispatchQueue.peek(700L, 5)).extracting(DispatchEntry::taskId).containsExactly(40L, 10L, 30L);
+        assertThat(dispatchQueue.peek(800L, 5)).extracting(DispatchEntry::taskId).containsExactly(20L);
+        assertThat(dispatchQueue.nextTask(900L)).isEmpty();
+    }
+
+    @Test
+    void offerAndRemove_keepQueueCurrent() {
+        PartOperationTask task = new PartOperationTask();
+        task.setId(42L);
+        Machine machine = new Machine();
+        machine.setId(700L);
+        task.setTargetMachine(machine);
+
+        dispatchQueue.offerAfterCommit(task);
+        assertThat(dispatchQueue.nextTask(700L)).map(DispatchEntry::taskId).contains(42L);
+
+        Machine other = new Machine();
+        other.setId(800L);
+        task.setTargetMachine(other);
+        dispatchQueue.offerAfterCommit(task);
+        assertThat(dispatchQueue.nextTask(700L)).isEmpty();
+        assertThat(dispatchQueue.nextTask(800L)).map(DispatchEntry::taskId).contains(42L);
+
+        dispatchQueue.removeAfterCommit(List.of(42L));
+        assertThat(dispatchQueue.peek(800L, 5)).isEmpty();
+    }
+}
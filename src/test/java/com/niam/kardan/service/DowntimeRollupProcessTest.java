@@ -0,0 +1,85 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.StopInterval;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.DowntimeRollupRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DowntimeRollupProcessTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Mock
+    OperationStopRepository operationStopRepository;
+    @Mock
+    DowntimeRollupRepository downtimeRollupRepository;
+    @InjectMocks
+    DowntimeRollupService downtimeRollupService;
+
+    @Test
+    void resume_splitsClosedStopsIntoHourBuckets() {
+        StopInterval stop = new StopInterval(5L, 700L, 30L, 3L, DAY.plusHours(8).plusMinutes(40), DAY.plusHours(10).plusMinutes(10));
+        when(operationStopRepository.findClosedIntervalsByIdIn(List.of(5L))).thenReturn(List.of(stop));
+
+        downtimeRollupService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.RESUMED).executionId(1L).closedStopIds(List.of(5L)).build());
+
+        verify(downtimeRollupRepository).lockShared(anyLong());
+        verify(downtimeRollupRepository).accumulate(700L, 30L, DAY.plusHours(8), 3L, 1200L, 1L);
+        verify(downtimeRollupRepository).accumulate(700L, 30L, DAY.plusHours(9), 3L, 3600L, 0L);
+        verify(downtimeRollupRepository).accumulate(700L, 30L, DAY.plusHours(10), 3L, 600L, 0L);
+        verifyNoMoreInteractions(downtimeRollupRepository);
+    }
+
+    @Test
+    void finish_rollsUpTheStopItClosed() {
+        StopInterval stop = new StopInterval(6L, 700L, 30L, 3L, DAY.plusHours(11).plusMinutes(50), DAY.plusHours(12));
+        when(operationStopRepository.findClosedIntervalsByIdIn(List.of(6L))).thenReturn(List.of(stop));
+
+        downtimeRollupService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.FINISHED).executionId(1L).closedStopIds(List.of(6L)).build());
+
+        verify(downtimeRollupRepository).lockShared(anyLong());
+        verify(downtimeRollupRepository).accumulate(700L, 30L, DAY.plusHours(11), 3L, 600L, 1L);
+        verifyNoMoreInteractions(downtimeRollupRepository);
+    }
+
+    @Test
+    void otherTransitions_areIgnored() {
+        downtimeRollupService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.STOPPED).executionId(1L).closedStopIds(List.of()).build());
+        downtimeRollupService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.FINISHED).executionId(1L).closedStopIds(List.of()).build());
+
+        verifyNoInteractions(operationStopRepository, downtimeRollupRepository);
+    }
+
+    @Test
+    void rebuild_replacesRangeAndClipsStops() {
+        StopInterval spanning = new StopInterval(5L, 700L, 30L, 3L, DAY.plusHours(8).plusMinutes(40), DAY.plusHours(10).plusMinutes(10));
+        StopInterval inside = new StopInterval(6L, 700L, 30L, 3L, DAY.plusHours(9).plusMinutes(15), DAY.plusHours(9).plusMinutes(20));
+        when(operationStopRepository.findClosedIntervalsOverlapping(eq(DAY.plusHours(9)), eq(DAY.plusHours(10)), eq(0L), any()))
+                .thenReturn(List.of(spanning, inside));
+
+        int buckets = downtimeRollupService.rebuild(DAY.plusHours(9), DAY.plusHours(9).plusMinutes(30));
+
+        assertThat(buckets).isEqualTo(1);
+        InOrder order = inOrder(downtimeRollupRepository);
+        order.verify(downtimeRollupRepository).lock(anyLong());
+        order.verify(downtimeRollupRepository).deleteByBucketRange(DAY.plusHours(9), DAY.plusHours(10));
+        verify(downtimeRollupRepository).accumulate(700L, 30L, DAY.plusHours(9), 3L, 3900L, 1L);
+    }
+}
@@ -0,0 +1,169 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionEventStreamProcessTest {
+    ExecutionEventStream stream = new ExecutionEventStream();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stream, "bufferSize", 2);
+        ReflectionTestUtils.setField(stream, "timeout", Duration.ofMinutes(1));
+        stream.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void subscribers_receiveOnlyTheirMachineShiftOrPart() throws InterruptedException {
+        RecordingEmitter all = new RecordingEmitter();
+        RecordingEmitter machine = new RecordingEmitter();
+        RecordingEmitter shift = new RecordingEmitter();
+        RecordingEmitter part = new RecordingEmitter();
+        stream.subscribe(all, null, null, null);
+        stream.subscribe(machine, 700L, null, null);
+        stream.subscribe(shift, null, 3L, null);
+        stream.subscribe(part, null, null, 40L);
+
+        stream.onExecutionEvent(event(1L, 700L, 3L, 41L));
+        stream.onExecutionEvent(event(2L, 800L, 4L, 40L));
+
+        assertThat(all.next(2)).extracting(ExecutionEvent::getExecutionId).containsExactly(1L, 2L);
+        assertThat(machine.next(1)).extracting(ExecutionEvent::getExecutionId).containsExactly(1L);
+        assertThat(shift.next(1)).extracting(ExecutionEvent::getExecutionId).containsExactly(1L);
+        assertThat(part.next(1)).extracting(ExecutionEvent::getExecutionId).containsExactly(2L);
+        assertThat(machine.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void slowClient_keepsTheNewestEventsAndDropsTheOldest() throws InterruptedException {
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockFirstSend();
+        stream.subscribe(slow, null, null, null);
+
+        stream.onExecutionEvent(event(1L, 700L, 3L, 40L));
+        assertThat(slow.firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // buffer of 2 while the sender is stuck on the first event: 2 and 3 are pushed out by 4 and 5
+        for (long id = 2; id <= 5; id++) stream.onExecutionEvent(event(id, 700L, 3L, 40L));
+        slow.releaseFirstSend.countDown();
+
+        assertThat(slow.next(3)).extracting(ExecutionEvent::getExecutionId).containsExactly(1L, 4L, 5L);
+        assertThat(slow.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void completionAndTimeout_removeTheSubscriber() {
+        RecordingEmitter completed = new RecordingEmitter();
+        RecordingEmitter timedOut = new RecordingEmitter();
+        stream.subscribe(completed, null, null, null);
+        stream.subscribe(timedOut, null, null, null);
+        assertThat(stream.subscriberCount()).isEqualTo(2);
+
+        completed.onCompletion.run();
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        timedOut.onTimeout.run();
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    @Test
+    void failedSend_removesTheSubscriber() throws InterruptedException {
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failSends = true;
+        stream.subscribe(broken, null, null, null);
+
+        stream.onExecutionEvent(event(1L, 700L, 3L, 40L));
+
+        for (int i = 0; i < 50 && stream.subscriberCount() > 0; i++) Thread.sleep(20);
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    private static ExecutionEvent event(Long executionId, Long machineId, Long shiftId, Long partId) {
+        return ExecutionEvent.builder().type(ExecutionEventType.CLAIMED).executionId(executionId)
+                .machineId(machineId).shiftId(shiftId).partId(partId).build();
+    }
+
+    // records what the sender writes instead of needing a servlet response
+    static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<ExecutionEvent> sent = new LinkedBlockingQueue<>();
+        final CountDownLatch firstSendStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+        boolean blocking;
+        boolean failSends;
+        Runnable onCompletion;
+        Runnable onTimeout;
+
+        void blockFirstSend() {
+            blocking = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) throw new IOException("client gone");
+            if (blocking && firstSendStarted.getCount() > 0) {
+                firstSendStarted.countDown();
+                try {
+                    releaseFirstSend.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof ExecutionEvent event) sent.add(event);
+            }
+        }
+
+        @Override
+        public void send(Object object, MediaType mediaType) {
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            onCompletion = callback;
+        }
+
+        @Override
+        public synchronized void onTimeout(Runnable callback) {
+            onTimeout = callback;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+        }
+
+        @Override
+        public synchronized void complete() {
+        }
+
+        List<ExecutionEvent> next(int count) throws InterruptedException {
+            List<ExecutionEvent> events = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ExecutionEvent event = sent.poll(5, TimeUnit.SECONDS);
+                if (event == null) break;
+                events.add(event);
+            }
+            return events;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.niam.kardan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niam.kardan.config.outbox.LocalEventSink;
+import com.niam.kardan.config.outbox.OutboxProperties;
+import com.niam.kardan.model.ExecutionOutbox;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.OutboxMessage;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.ExecutionOutboxRepository;
+import com.niam.kardan.repository.ExecutionOutboxSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionOutboxProcessTest {
+    @Mock
+    ExecutionOutboxRepository executionOutboxRepository;
+    @Mock
+    ExecutionOutboxSequenceRepository executionOutboxSequenceRepository;
+
+    LocalEventSink sink = new LocalEventSink(100);
+    ExecutionOutboxService executionOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        executionOutboxService = new ExecutionOutboxService(executionOutboxRepository, executionOutboxSequenceRepository,
+                List.of(sink), new OutboxProperties(), new ObjectMapper());
+        ReflectionTestUtils.setField(executionOutboxService, "self", executionOutboxService);
+    }
+
+    @Test
+    void event_isWrittenWithTheMachinesNextSequence() {
+        when(executionOutboxSequenceRepository.next(700L)).thenReturn(8L);
+
+        executionOutboxService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.CLAIMED).executionId(5L).taskId(9L).machineId(700L).build());
+
+        ArgumentCaptor<ExecutionOutbox> saved = ArgumentCaptor.forClass(ExecutionOutbox.class);
+        verify(executionOutboxRepository).save(saved.capture());
+        assertThat(saved.getValue().getMachineId()).isEqualTo(700L);
+        assertThat(saved.getValue().getMachineSequence()).isEqualTo(8L);
+        assertThat(saved.getValue().getEventType()).isEqualTo("CLAIMED");
+        assertThat(saved.getValue().getPayload()).contains("\"taskId\":9");
+        assertThat(saved.getValue().getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void event_isNotWrittenWithoutASink() {
+        ExecutionOutboxService withoutSinks = new ExecutionOutboxService(executionOutboxRepository,
+                executionOutboxSequenceRepository, List.of(), new OutboxProperties(), new ObjectMapper());
+
+        withoutSinks.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.CLAIMED).executionId(5L).taskId(9L).machineId(700L).build());
+
+        verifyNoInteractions(executionOutboxSequenceRepository, executionOutboxRepository);
+    }
+
+    @Test
+    void relay_deliversInOrderPerMachineAndHoldsBackAFailingMachine() {
+        when(executionOutboxRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(executionOutboxRepository.findNextBatch(200, 20)).thenReturn(List.of(
+                row(1L, 700L, 1), row(2L, 800L, 1), row(3L, 700L, 2), row(4L, 800L, 2), row(5L, 800L, 3)));
+        sink.addListener(message -> {
+            if (message.id() == 4L) throw new IllegalStateException("endpoint down");
+        });
+
+        ExecutionOutboxService.Round round = executionOutboxService.relay();
+
+        assertThat(round).isEqualTo(new ExecutionOutboxService.Round(5, 3));
+        assertThat(sink.delivered()).extracting(OutboxMessage::id).containsExactly(1L, 2L, 3L);
+        verify(executionOutboxRepository).lease(eq(List.of(1L, 2L, 3L, 4L, 5L)), any(LocalDateTime.class));
+        verify(executionOutboxRepository).recordFailure(eq(4L), contains("endpoint down"));
+        verify(executionOutboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+        verify(executionOutboxRepository).release(List.of(4L, 5L));
+    }
+
+    @Test
+    void relay_parksAnEventOutOfAttemptsAndLetsItsMachineMoveOn() {
+        when(executionOutboxRepository.tryRelayLock(anyLong())).thenReturn(true);
+        ExecutionOutbox poisoned = row(1L, 700L, 1);
+        poisoned.setAttempts(9);
+        when(executionOutboxRepository.findNextBatch(200, 20)).thenReturn(List.of(poisoned, row(2L, 700L, 2)));
+        sink.addListener(message -> {
+            if (message.id() == 1L) throw new IllegalStateException("rejected");
+        });
+
+        ExecutionOutboxService.Round round = executionOutboxService.relay();
+
+        assertThat(round).isEqualTo(new ExecutionOutboxService.Round(2, 1));
+        assertThat(sink.delivered()).extracting(OutboxMessage::id).containsExactly(2L);
+        verify(executionOutboxRepository).park(eq(1L), contains("rejected"), any(LocalDateTime.class));
+        verify(executionOutboxRepository, never()).recordFailure(anyLong(), anyString());
+        verify(executionOutboxRepository).deleteByIdIn(List.of(2L));
+        verify(executionOutboxRepository).release(List.of(1L));
+    }
+
+    @Test
+    void relay_skipsTheRoundWhenAnotherInstanceHoldsTheLock() {
+        when(executionOutboxRepository.tryRelayLock(anyLong())).thenReturn(false);
+
+        assertThat(executionOutboxService.relay().delivered()).isZero();
+        verify(executionOutboxRepository, never()).lease(anyCollection(), any());
+        verify(executionOutboxRepository, never()).findNextBatch(anyInt(), anyInt());
+    }
+
+    private static ExecutionOutbox row(Long id, Long machineId, long sequence) {
+        return ExecutionOutbox.builder().id(id).machineId(machineId).machineSequence(sequence)
+                .eventType("CLAIMED").payload("{}").createdAt(LocalDateTime.now()).build();
+    }
+}
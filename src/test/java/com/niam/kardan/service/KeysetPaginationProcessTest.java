@@ -0,0 +1,120 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.BusinessException;
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.dto.KeysetPage;
+import com.niam.kardan.model.dto.PartOperationTaskView;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.util.KeysetPaginationUtils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPaginationProcessTest {
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Spy
+    KeysetPaginationUtils keysetPaginationUtils;
+    @InjectMocks
+    PartOperationTaskService partOperationTaskService;
+
+    @Test
+    void scroll_returnsCursorWhenMoreRowsExist() {
+        when(partOperationTaskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(task(30L), task(20L), task(10L)));
+        Map<String, Object> params = new HashMap<>(Map.of("pagination", "keyset", "size", "2"));
+
+        KeysetPage<PartOperationTaskView> page = partOperationTaskService.scroll(params);
+
+        assertThat(page.getContent()).extracting(PartOperationTaskView::getId).containsExactly(30L, 20L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+        verify(partOperationTaskRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void scroll_lastPageHasNoCursor() {
+        String cursor = firstPageCursor();
+        when(partOperationTaskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(task(10L)));
+        Map<String, Object> params = new HashMap<>(Map.of("after", cursor, "size", "2"));
+
+        KeysetPage<PartOperationTaskView> page = partOperationTaskService.scroll(params);
+
+        assertThat(page.getContent()).extracting(PartOperationTaskView::getId).containsExactly(10L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scroll_seeksStrictlyBelowTheLastIdOfThePreviousPage() {
+        String cursor = firstPageCursor();
+        when(partOperationTaskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(task(10L)));
+        partOperationTaskService.scroll(new HashMap<>(Map.of("after", cursor, "size", "2")));
+
+        ArgumentCaptor<Specification<PartOperationTask>> specification = ArgumentCaptor.forClass(Specification.class);
+        verify(partOperationTaskRepository, times(2)).findBy(specification.capture(), any());
+        Root<PartOperationTask> root = mock(Root.class);
+        Path<Long> id = mock(Path.class);
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+        when(root.<Long>get("id")).thenReturn(id);
+        specification.getValue().toPredicate(root, mock(CriteriaQuery.class), criteriaBuilder);
+
+        verify(criteriaBuilder).lessThan(id, 30L);
+    }
+
+    @Test
+    void scroll_withMalformedCursor_throws() {
+        Map<String, Object> params = new HashMap<>(Map.of("after", "not-a-cursor!"));
+
+        assertThatThrownBy(() -> partOperationTaskService.scroll(params)).isInstanceOf(BusinessException.class);
+        verify(partOperationTaskRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void getView_flattensFetchedAssociations() {
+        Machine machine = new Machine();
+        machine.setId(700L);
+        machine.setCode("M-700");
+        PartOperationTask task = task(10L);
+        task.setTargetMachine(machine);
+        when(partOperationTaskRepository.findDetailedById(10L)).thenReturn(Optional.of(task));
+
+        PartOperationTaskView view = partOperationTaskService.getView(10L);
+
+        assertThat(view.getTargetMachineId()).isEqualTo(700L);
+        assertThat(view.getTargetMachineCode()).isEqualTo("M-700");
+        verify(partOperationTaskRepository, never()).findById(any());
+    }
+
+    private String firstPageCursor() {
+        when(partOperationTaskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(task(30L), task(20L)));
+        return partOperationTaskService.scroll(new HashMap<>(Map.of("size", "1"))).getNextCursor();
+    }
+
+    private PartOperationTask task(Long id) {
+        PartOperationTask task = new PartOperationTask();
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,163 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.dto.BoardMachine;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.ExecutionSlot;
+import com.niam.kardan.model.dto.MachineBoardEntry;
+import com.niam.kardan.model.dto.OpenExecution;
+import com.niam.kardan.model.dto.OpenStop;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.model.enums.MachineActivity;
+import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MachineBoardProcessTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 3, 8, 0);
+
+    @Mock
+    MachineRepository machineRepository;
+    @Mock
+    OperationExecutionRepository operationExecutionRepository;
+    @Mock
+    OperationStopRepository operationStopRepository;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @InjectMocks
+    MachineBoard machineBoard;
+
+    @BeforeEach
+    void setUp() {
+        for (EXECUTION_STATUS status : List.of(EXECUTION_STATUS.STARTED, EXECUTION_STATUS.RUNNING, EXECUTION_STATUS.STOPPED)) {
+            ExecutionStatus executionStatus = BaseData.ofCode(ExecutionStatus.class, status.name());
+            executionStatus.setId((long) status.ordinal());
+            when(baseDataRegistry.get(ExecutionStatus.class, status)).thenReturn(executionStatus);
+        }
+        when(machineRepository.findBoardMachines()).thenReturn(List.of(
+                new BoardMachine(702L, "M-2", "ACTIVE"), new BoardMachine(701L, "M-1", "ACTIVE"),
+                new BoardMachine(703L, "M-3", "MAINTENANCE")));
+        when(operationExecutionRepository.findOpen(anyCollection())).thenReturn(List.of(
+                new OpenExecution(50L, 701L, 5L, 9L, "STARTED", T0, null),
+                new OpenExecution(51L, 702L, 6L, 9L, "STOPPED", T0, T0.plusMinutes(30))));
+        when(operationStopRepository.findOpen()).thenReturn(List.of(
+                new OpenStop(80L, 51L, 3L, "Tool change", T0.plusMinutes(30))));
+        machineBoard.rebuild();
+    }
+
+    @Test
+    void rebuild_loadsWholeBoardFromThreeQueries() {
+        List<MachineBoardEntry> board = machineBoard.board();
+
+        assertThat(board).extracting(MachineBoardEntry::code).containsExactly("M-1", "M-2", "M-3");
+        assertThat(board).extracting(MachineBoardEntry::activity)
+                .containsExactly(MachineActivity.RUNNING, MachineActivity.STOPPED, MachineActivity.IDLE);
+        assertThat(board.get(0).since()).isEqualTo(T0);
+        ExecutionSlot stopped = board.get(1).executions().getFirst();
+        assertThat(stopped.stopReason()).isEqualTo("Tool change");
+        assertThat(stopped.since()).isEqualTo(T0.plusMinutes(30));
+        assertThat(board.get(2).machineStatus()).isEqualTo("MAINTENANCE");
+    }
+
+    @Test
+    void transitions_updateTheBoardWithoutQueries() {
+        clearInvocations(machineRepository, operationExecutionRepository, operationStopRepository);
+
+        machineBoard.onExecutionEvent(event(ExecutionEventType.CLAIMED, 52L, 703L, T0.plusHours(1)).build());
+        assertThat(machineBoard.get(703L).orElseThrow().activity()).isEqualTo(MachineActivity.RUNNING);
+        assertThat(machineBoard.get(703L).orElseThrow().since()).isEqualTo(T0.plusHours(1));
+
+        machineBoard.onExecutionEvent(event(ExecutionEventType.STOPPED, 50L, 701L, T0.plusHours(2))
+                .stopId(81L).stopReasonId(4L).stopReason("Break").build());
+        MachineBoardEntry m1 = machineBoard.get(701L).orElseThrow();
+        assertThat(m1.activity()).isEqualTo(MachineActivity.STOPPED);
+        assertThat(m1.executions().getFirst().stopReason()).isEqualTo("Break");
+
+        machineBoard.onExecutionEvent(event(ExecutionEventType.RESUMED, 51L, 702L, T0.plusHours(2)).build());
+        assertThat(machineBoard.get(702L).orElseThrow().activity()).isEqualTo(MachineActivity.RUNNING);
+        assertThat(machineBoard.get(702L).orElseThrow().executions().getFirst().stopId()).isNull();
+
+        machineBoard.onExecutionEvent(event(ExecutionEventType.FINISHED, 51L, 702L, T0.plusHours(3)).build());
+        assertThat(machineBoard.get(702L).orElseThrow().activity()).isEqualTo(MachineActivity.IDLE);
+        assertThat(machineBoard.get(702L).orElseThrow().since()).isEqualTo(T0.plusHours(3));
+
+        machineBoard.onExecutionEvent(event(ExecutionEventType.REASSIGNED, 50L, 702L, T0.plusHours(4))
+                .previousMachineId(701L).build());
+        assertThat(machineBoard.get(701L).orElseThrow().activity()).isEqualTo(MachineActivity.IDLE);
+        assertThat(machineBoard.get(702L).orElseThrow().executions()).extracting(ExecutionSlot::executionId)
+                .containsExactly(50L);
+        assertThat(machineBoard.get(702L).orElseThrow().activity()).isEqualTo(MachineActivity.STOPPED);
+
+        verifyNoInteractions(machineRepository, operationExecutionRepository, operationStopRepository);
+    }
+
+    @Test
+    void transitionsDuringARebuild_surviveTheSwap() {
+        // committed after the executions were read, delivered while the rebuild is still reading stops
+        when(operationStopRepository.findOpen()).thenAnswer(inv -> {
+            machineBoard.onExecutionEvent(event(ExecutionEventType.CLAIMED, 52L, 703L, T0.plusHours(1)).build());
+            machineBoard.onExecutionEvent(event(ExecutionEventType.FINISHED, 50L, 701L, T0.plusHours(1)).build());
+            return List.of(new OpenStop(80L, 51L, 3L, "Tool change", T0.plusMinutes(30)));
+        });
+
+        machineBoard.rebuild();
+
+        assertThat(machineBoard.get(703L).orElseThrow().executions()).extracting(ExecutionSlot::executionId)
+                .containsExactly(52L);
+        assertThat(machineBoard.get(701L).orElseThrow().activity()).isEqualTo(MachineActivity.IDLE);
+        assertThat(machineBoard.get(702L).orElseThrow().activity()).isEqualTo(MachineActivity.STOPPED);
+
+        // the buffer is gone once the rebuild is over
+        doReturn(List.of()).when(operationStopRepository).findOpen();
+        when(operationExecutionRepository.findOpen(anyCollection())).thenReturn(List.of());
+        machineBoard.rebuild();
+        assertThat(machineBoard.get(703L).orElseThrow().activity()).isEqualTo(MachineActivity.IDLE);
+    }
+
+    @Test
+    void reassignReplayedOntoItsTarget_keepsTheSlot() {
+        machineBoard.onExecutionEvent(event(ExecutionEventType.REASSIGNED, 51L, 702L, T0.plusHours(1))
+                .previousMachineId(701L).build());
+
+        ExecutionSlot slot = machineBoard.get(702L).orElseThrow().executions().getFirst();
+        assertThat(slot.stopped()).isTrue();
+        assertThat(slot.stopReason()).isEqualTo("Tool change");
+    }
+
+    @Test
+    void outOfOrderTransition_isIgnored() {
+        machineBoard.onExecutionEvent(event(ExecutionEventType.RESUMED, 51L, 702L, T0.plusMinutes(10)).build());
+
+        assertThat(machineBoard.get(702L).orElseThrow().activity()).isEqualTo(MachineActivity.STOPPED);
+    }
+
+    @Test
+    void claimDeliveredAfterFinish_leavesNoSlot() {
+        machineBoard.onExecutionEvent(event(ExecutionEventType.FINISHED, 52L, 703L, T0.plusHours(1)).build());
+        machineBoard.onExecutionEvent(event(ExecutionEventType.CLAIMED, 52L, 703L, T0.plusMinutes(50)).build());
+
+        assertThat(machineBoard.get(703L).orElseThrow().executions()).isEmpty();
+        assertThat(machineBoard.get(703L).orElseThrow().activity()).isEqualTo(MachineActivity.IDLE);
+    }
+
+    private static ExecutionEvent.ExecutionEventBuilder event(ExecutionEventType type, Long executionId, Long machineId,
+                                                              LocalDateTime at) {
+        return ExecutionEvent.builder().type(type).executionId(executionId).machineId(machineId).taskId(executionId)
+                .operatorId(9L).occurredAt(at);
+    }
+}
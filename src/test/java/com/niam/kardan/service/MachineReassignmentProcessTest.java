@@ -5,13 +5,17 @@ import com.niam.kardan.model.OperationExecution;
 import com.niam.kardan.model.basedata.BaseData;
 import com.niam.kardan.model.basedata.ExecutionStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
 import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -24,6 +28,10 @@ class MachineReassignmentProcessTest {
     private OperationExecutionRepository executionRepository;
     @Mock
     private MachineService machineService;
+    @Mock
+    private OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private OperationExecutionService service;
 
@@ -49,5 +57,7 @@ class MachineReassignmentProcessTest {
 
         assertThat(updated.getMachine()).isEqualTo(newMachine);
         verify(executionRepository, times(1)).save(updated);
+        verify(eventPublisher).publishEvent(argThat((ExecutionEvent e) ->
+                e.getType() == ExecutionEventType.REASSIGNED && e.getMachineId().equals(99L)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.ExecutionStatus;
+import com.niam.kardan.model.basedata.MachineStatus;
+import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.basedata.enums.MACHINE_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.MachineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MachineStatusSyncProcessTest {
+    @Mock
+    MachineRepository machineRepository;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @Mock
+    MachineService machineService;
+    @Mock
+    MachineBoard machineBoard;
+    @InjectMocks
+    MachineStatusSync machineStatusSync;
+
+    @BeforeEach
+    void setUp() {
+        for (EXECUTION_STATUS status : List.of(EXECUTION_STATUS.STARTED, EXECUTION_STATUS.RUNNING)) {
+            ExecutionStatus executionStatus = BaseData.ofCode(ExecutionStatus.class, status.name());
+            executionStatus.setId(10L + status.ordinal());
+            when(baseDataRegistry.get(ExecutionStatus.class, status)).thenReturn(executionStatus);
+        }
+        for (MACHINE_STATUS status : List.of(MACHINE_STATUS.ACTIVE, MACHINE_STATUS.BUSY, MACHINE_STATUS.STOPPED)) {
+            MachineStatus machineStatus = BaseData.ofCode(MachineStatus.class, status.name());
+            machineStatus.setId(20L + status.ordinal());
+            when(baseDataRegistry.get(MachineStatus.class, status)).thenReturn(machineStatus);
+            when(baseDataRegistry.getById(MachineStatus.class, machineStatus.getId())).thenReturn(machineStatus);
+        }
+    }
+
+    @Test
+    void claim_updatesTheStatusInOneStatementWithoutLockingFirst() {
+        when(machineRepository.syncStatus(eq(700L), anyCollection(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(21L);
+
+        machineStatusSync.onExecutionEvent(event(ExecutionEventType.CLAIMED, 700L).build());
+
+        InOrder order = inOrder(machineRepository);
+        order.verify(machineRepository).flush();
+        order.verify(machineRepository).syncStatus(eq(700L), eq(List.of(10L, 12L)), eq(21L), eq(22L), eq(20L), any());
+        verify(machineRepository, never()).save(any());
+        verify(machineService, never()).getById(anyLong());
+        verify(machineService).evictAfterCommit(700L);
+        verify(machineBoard).statusAfterCommit(700L, "BUSY");
+    }
+
+    @Test
+    void unchangedStatus_leavesCachesAlone() {
+        when(machineRepository.syncStatus(eq(700L), anyCollection(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(null);
+
+        machineStatusSync.onExecutionEvent(event(ExecutionEventType.RESUMED, 700L).build());
+
+        verify(machineRepository).syncStatus(eq(700L), anyCollection(), anyLong(), anyLong(), anyLong(), any());
+        verifyNoInteractions(machineService, machineBoard);
+    }
+
+    @Test
+    void reassign_syncsBothMachinesInIdOrder() {
+        when(machineRepository.syncStatus(eq(700L), anyCollection(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(20L);
+        when(machineRepository.syncStatus(eq(800L), anyCollection(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(21L);
+
+        machineStatusSync.onExecutionEvent(event(ExecutionEventType.REASSIGNED, 700L).previousMachineId(800L).build());
+
+        // lower id first whichever way the task moved
+        InOrder order = inOrder(machineRepository);
+        order.verify(machineRepository).syncStatus(eq(700L), anyCollection(), anyLong(), anyLong(), anyLong(), any());
+        order.verify(machineRepository).syncStatus(eq(800L), anyCollection(), anyLong(), anyLong(), anyLong(), any());
+
+        verify(machineBoard).statusAfterCommit(700L, "ACTIVE");
+        verify(machineBoard).statusAfterCommit(800L, "BUSY");
+    }
+
+    private static ExecutionEvent.ExecutionEventBuilder event(ExecutionEventType type, Long machineId) {
+        return ExecutionEvent.builder().type(type).executionId(5L).taskId(9L).machineId(machineId);
+    }
+}
@@ -12,7 +12,7 @@ import com.niam.kardan.model.basedata.TaskStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
 import com.niam.kardan.model.basedata.enums.TASK_STATUS;
 import com.niam.kardan.repository.OperationExecutionRepository;
-import com.niam.kardan.repository.OperatorMachineRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import com.niam.kardan.repository.PartOperationTaskRepository;
 import com.niam.usermanagement.model.entities.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -36,17 +37,21 @@ class MultiOperatorClaimConflictTest {
     @Mock
     private OperationExecutionRepository operationExecutionRepository;
     @Mock
-    private OperatorMachineRepository operatorMachineRepository;
+    private OperatorAuthorization operatorAuthorization;
     @Mock
     private MachineService machineService;
     @Mock
     private UserAccountService operatorService;
     @Mock
-    private GenericBaseDataServiceFactory baseDataServiceFactory;
+    private BaseDataRegistry baseDataRegistry;
     @Mock
-    private BaseDataServiceProxy baseDataService;
+    private DispatchQueue dispatchQueue;
     @Mock
     private MessageUtil messageUtil;
+    @Mock
+    private OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private OperationExecutionService operationExecutionService;
 
@@ -80,11 +85,9 @@ class MultiOperatorClaimConflictTest {
 
     @Test
     void firstOperatorWinsClaimSecondFails() {
-        when(baseDataServiceFactory.create((Class<BaseData>) any())).thenReturn(baseDataService);
-
-        when(baseDataService.getByCode(TASK_STATUS.IN_PROGRESS.name()))
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.IN_PROGRESS))
                 .thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.IN_PROGRESS.name()));
-        when(baseDataService.getByCode(EXECUTION_STATUS.STARTED.name()))
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED))
                 .thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STARTED.name()));
 
         // when findByIdForUpdate called first time, return task (PENDING)
@@ -92,7 +95,7 @@ class MultiOperatorClaimConflictTest {
 
         when(operatorService.getById(1L)).thenReturn(op1);
         when(machineService.getById(700L)).thenReturn(machine);
-        when(operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(1L, 700L))
+        when(operatorAuthorization.isAssigned(1L, 700L))
                 .thenReturn(true);
 
         when(partOperationTaskRepository.save(any(PartOperationTask.class))).thenAnswer(i -> i.getArgument(0));
@@ -0,0 +1,118 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.MachineOee;
+import com.niam.kardan.model.OperationExecution;
+import com.niam.kardan.model.OperationStop;
+import com.niam.kardan.model.PartOperation;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.dto.OeeReport;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.MachineOeeRepository;
+import com.niam.kardan.repository.OperationExecutionRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OeeProcessTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    @Mock
+    OperationExecutionRepository operationExecutionRepository;
+    @Mock
+    OperationStopRepository operationStopRepository;
+    @Mock
+    MachineOeeRepository machineOeeRepository;
+    @InjectMocks
+    OeeService oeeService;
+
+    private OperationExecution exec;
+
+    @BeforeEach
+    void setUp() {
+        Machine machine = new Machine();
+        machine.setId(700L);
+        PartOperationTask task = new PartOperationTask();
+        task.setId(5L);
+        task.setStartedAt(START);
+        PartOperation partOperation = new PartOperation();
+        partOperation.setEstimatedDuration(2400L);
+        exec = new OperationExecution();
+        exec.setId(50L);
+        exec.setMachine(machine);
+        exec.setTask(task);
+        exec.setPartOperation(partOperation);
+        exec.setStartTime(START.plusMinutes(20));
+        exec.setEndTime(START.plusHours(1));
+    }
+
+    @Test
+    void finishedExecution_accumulatesRunDownAndIdealTime() {
+        OperationStop closed = stop(START.plusMinutes(10), START.plusMinutes(20));
+        OperationStop open = stop(START.plusMinutes(55), null);
+        when(operationExecutionRepository.findById(50L)).thenReturn(Optional.of(exec));
+        when(operationStopRepository.findAllByOperationExecutionId(50L)).thenReturn(List.of(closed, open));
+
+        oeeService.onExecutionEvent(event(ExecutionEventType.FINISHED, 3L));
+
+        // 60 min elapsed, 10 + 5 min down
+        verify(machineOeeRepository).accumulate(700L, 3L, LocalDate.of(2025, 3, 1), 2700L, 900L, 2400L, 1L, 1L);
+    }
+
+    @Test
+    void finishedExecution_withoutShift_isBookedUnderNoShift() {
+        when(operationExecutionRepository.findById(50L)).thenReturn(Optional.of(exec));
+        when(operationStopRepository.findAllByOperationExecutionId(50L)).thenReturn(List.of());
+
+        oeeService.onExecutionEvent(event(ExecutionEventType.FINISHED, null));
+
+        verify(machineOeeRepository).accumulate(eq(700L), eq(MachineOee.NO_SHIFT), any(), eq(3600L), eq(0L),
+                eq(2400L), eq(1L), eq(1L));
+    }
+
+    @Test
+    void otherTransitions_areIgnored() {
+        oeeService.onExecutionEvent(event(ExecutionEventType.STOPPED, 3L));
+
+        verifyNoInteractions(operationExecutionRepository, machineOeeRepository);
+    }
+
+    @Test
+    void toReport_derivesRatios() {
+        MachineOee oee = MachineOee.builder().machineId(700L).shiftId(3L).day(LocalDate.of(2025, 3, 1))
+                .runSeconds(3000).downSeconds(1000).idealSeconds(2400).totalCount(4).goodCount(4).build();
+
+        OeeReport report = OeeService.toReport(oee);
+
+        assertThat(report.getAvailability()).isCloseTo(0.75, within(1e-9));
+        assertThat(report.getPerformance()).isCloseTo(0.8, within(1e-9));
+        assertThat(report.getQuality()).isCloseTo(1.0, within(1e-9));
+        assertThat(report.getOee()).isCloseTo(0.6, within(1e-9));
+    }
+
+    private ExecutionEvent event(ExecutionEventType type, Long shiftId) {
+        return ExecutionEvent.builder().type(type).executionId(50L).machineId(700L).shiftId(shiftId).build();
+    }
+
+    private OperationStop stop(LocalDateTime startedAt, LocalDateTime endedAt) {
+        OperationStop stop = new OperationStop();
+        stop.setStartedAt(startedAt);
+        stop.setEndedAt(endedAt);
+        return stop;
+    }
+}
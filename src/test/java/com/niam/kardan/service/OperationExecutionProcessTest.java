@@ -8,8 +8,11 @@ import com.niam.kardan.model.basedata.ExecutionStatus;
 import com.niam.kardan.model.basedata.TaskStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
 import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
 import com.niam.kardan.repository.OperationExecutionRepository;
-import com.niam.kardan.repository.OperatorMachineRepository;
+import com.niam.kardan.repository.OperationStopRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import com.niam.kardan.repository.PartOperationTaskRepository;
 import com.niam.usermanagement.model.entities.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -36,15 +40,19 @@ class OperationExecutionProcessTest {
     @Mock
     UserAccountService operatorService;
     @Mock
-    OperatorMachineRepository operatorMachineRepository;
+    OperatorAuthorization operatorAuthorization;
+    @Mock
+    OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    OperationStopRepository operationStopRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
     @InjectMocks
     OperationExecutionService operationExecutionService;
     @Mock
-    private GenericBaseDataServiceFactory baseDataServiceFactory;
+    private BaseDataRegistry baseDataRegistry;
     @Mock
-    private BaseDataServiceProxy<TaskStatus> taskStatusService;
-    @Mock
-    private BaseDataServiceProxy<ExecutionStatus> executionStatusService;
+    private DispatchQueue dispatchQueue;
     @Mock
     private MessageUtil messageUtil;
     private PartOperationTask task;
@@ -81,18 +89,15 @@ class OperationExecutionProcessTest {
         ExecutionStatus startedStatus = BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STARTED.name());
         ExecutionStatus completedExecStatus = BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.COMPLETED.name());
 
-        when(baseDataServiceFactory.create(TaskStatus.class)).thenReturn(taskStatusService);
-        when(baseDataServiceFactory.create(ExecutionStatus.class)).thenReturn(executionStatusService);
-
-        when(taskStatusService.getByCode(TASK_STATUS.IN_PROGRESS.name())).thenReturn(inProgressStatus);
-        when(taskStatusService.getByCode(TASK_STATUS.COMPLETED.name())).thenReturn(completedTaskStatus);
-        when(executionStatusService.getByCode(EXECUTION_STATUS.STARTED.name())).thenReturn(startedStatus);
-        when(executionStatusService.getByCode(EXECUTION_STATUS.COMPLETED.name())).thenReturn(completedExecStatus);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.IN_PROGRESS)).thenReturn(inProgressStatus);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.COMPLETED)).thenReturn(completedTaskStatus);
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED)).thenReturn(startedStatus);
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.COMPLETED)).thenReturn(completedExecStatus);
 
         when(partOperationTaskRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(task));
         when(operatorService.getById(10L)).thenReturn(operator);
         when(machineService.getById(200L)).thenReturn(machine);
-        when(operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(10L, 200L)).thenReturn(true);
+        when(operatorAuthorization.isAssigned(10L, 200L)).thenReturn(true);
         when(operationExecutionRepository.save(any(OperationExecution.class))).thenAnswer(i -> i.getArguments()[0]);
         when(partOperationTaskRepository.save(any(PartOperationTask.class))).thenAnswer(i -> i.getArguments()[0]);
 
@@ -118,6 +123,8 @@ class OperationExecutionProcessTest {
         assertThat(finished.getEndTime()).isNotNull();
         verify(partOperationTaskRepository, atLeastOnce()).save(any(PartOperationTask.class));
         verify(operationExecutionRepository, atLeastOnce()).save(exec);
+        verify(eventPublisher).publishEvent(argThat((ExecutionEvent e) -> e.getType() == ExecutionEventType.CLAIMED));
+        verify(eventPublisher).publishEvent(argThat((ExecutionEvent e) -> e.getType() == ExecutionEventType.FINISHED));
     }
 
     @Test
@@ -136,7 +143,7 @@ class OperationExecutionProcessTest {
         when(partOperationTaskRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(task));
         when(operatorService.getById(10L)).thenReturn(operator);
         when(machineService.getById(200L)).thenReturn(machine);
-        when(operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(10L, 200L)).thenReturn(false);
+        when(operatorAuthorization.isAssigned(10L, 200L)).thenReturn(false);
 
         assertThatThrownBy(() -> operationExecutionService.claimAndStartTask(100L, 10L, 200L))
                 .isInstanceOf(IllegalStateException.class);
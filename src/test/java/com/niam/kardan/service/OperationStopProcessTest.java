@@ -9,6 +9,7 @@ import com.niam.kardan.model.basedata.ExecutionStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
 import com.niam.kardan.repository.OperationExecutionRepository;
 import com.niam.kardan.repository.OperationStopRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -33,12 +35,14 @@ class OperationStopProcessTest {
     OperationStopRepository stopRepository;
     @Mock
     StopReasonService stopReasonService;
+    @Mock
+    OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
     @InjectMocks
     OperationExecutionService operationExecutionService;
     @Mock
-    private GenericBaseDataServiceFactory baseDataServiceFactory;
-    @Mock
-    private BaseDataServiceProxy<ExecutionStatus> executionStatusService;
+    private BaseDataRegistry baseDataRegistry;
     @Mock
     private MessageUtil messageUtil;
     private OperationExecution execution;
@@ -57,8 +61,9 @@ class OperationStopProcessTest {
 
         stoppedStatus = BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STOPPED.name());
 
-        when(baseDataServiceFactory.create(ExecutionStatus.class)).thenReturn(executionStatusService);
-        when(executionStatusService.getByCode(EXECUTION_STATUS.STOPPED.name())).thenReturn(stoppedStatus);
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STOPPED)).thenReturn(stoppedStatus);
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.RUNNING))
+                .thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.RUNNING.name()));
     }
 
     @Test
@@ -68,7 +73,7 @@ class OperationStopProcessTest {
 
         when(executionRepository.findById(55L)).thenReturn(Optional.of(execution));
         when(stopReasonService.getById(2L)).thenReturn(stopReason);
-        when(executionStatusService.getByCode(EXECUTION_STATUS.STOPPED.name())).thenReturn(stoppedStatus);
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STOPPED)).thenReturn(stoppedStatus);
 
         when(stopRepository.save(any(OperationStop.class))).thenAnswer(i -> {
             OperationStop s = (OperationStop) i.getArguments()[0];
@@ -0,0 +1,73 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.ActiveOperatorMachine;
+import com.niam.kardan.repository.OperatorMachineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperatorAuthorizationProcessTest {
+    @Mock
+    OperatorMachineRepository operatorMachineRepository;
+    @InjectMocks
+    OperatorAuthorization operatorAuthorization;
+
+    @BeforeEach
+    void setUp() {
+        when(operatorMachineRepository.findActive()).thenReturn(List.of(
+                new ActiveOperatorMachine(1L, 703L), new ActiveOperatorMachine(1L, 701L),
+                new ActiveOperatorMachine(2L, 702L)));
+        operatorAuthorization.rebuild();
+    }
+
+    @Test
+    void assignedOperator_isAuthorizedWithoutQuery() {
+        assertThat(operatorAuthorization.isAssigned(1L, 701L)).isTrue();
+        assertThat(operatorAuthorization.isAssigned(1L, 703L)).isTrue();
+        assertThat(operatorAuthorization.isAssigned(2L, 702L)).isTrue();
+
+        verify(operatorMachineRepository, never()).existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(anyLong(), anyLong());
+    }
+
+    @Test
+    void miss_isCheckedOnceAgainstTheDatabaseAndRemembered() {
+        when(operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(2L, 701L)).thenReturn(true);
+        when(operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(2L, 703L)).thenReturn(false);
+
+        assertThat(operatorAuthorization.isAssigned(2L, 701L)).isTrue();
+        assertThat(operatorAuthorization.isAssigned(2L, 701L)).isTrue();
+        assertThat(operatorAuthorization.isAssigned(2L, 703L)).isFalse();
+
+        verify(operatorMachineRepository, times(1)).existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(2L, 701L);
+    }
+
+    @Test
+    void assignAndUnassign_updateTheIndex() {
+        operatorAuthorization.assignAfterCommit(3L, 704L);
+        operatorAuthorization.unassignAfterCommit(1L, 701L);
+
+        assertThat(operatorAuthorization.isAssigned(3L, 704L)).isTrue();
+        assertThat(operatorAuthorization.isAssigned(1L, 701L)).isFalse();
+        assertThat(operatorAuthorization.isAssigned(1L, 703L)).isTrue();
+    }
+
+    @Test
+    void rebuild_dropsAnAssignmentEndedOnAnotherInstance() {
+        when(operatorMachineRepository.findActive()).thenReturn(List.of(
+                new ActiveOperatorMachine(1L, 703L), new ActiveOperatorMachine(2L, 702L)));
+
+        operatorAuthorization.rebuild();
+
+        assertThat(operatorAuthorization.isAssigned(1L, 701L)).isFalse();
+        assertThat(operatorAuthorization.isAssigned(1L, 703L)).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.niam.kardan.service;
 
+import com.niam.kardan.config.cache.PageCacheVersions;
 import com.niam.kardan.model.OperatorShift;
 import com.niam.kardan.model.Shift;
 import com.niam.kardan.model.UserAccount;
@@ -10,6 +11,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -20,6 +25,10 @@ import static org.mockito.Mockito.*;
 class OperatorShiftProcessTest {
     @Mock
     OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    PageCacheVersions pageCacheVersions;
+    @Mock
+    CacheManager cacheManager;
     @InjectMocks
     OperatorShiftService operatorShiftService;
 
@@ -57,5 +66,31 @@ class OperatorShiftProcessTest {
         operatorShiftService.unassign(1000L);
         verify(operatorShiftRepository, times(2)).save(any(OperatorShift.class));
         verify(operatorShiftRepository, atLeastOnce()).save(argThat(op -> op.getUnassignedAt() != null));
+        verify(pageCacheVersions, times(2)).bump("operatorShifts");
+    }
+
+    @Test
+    void readDuringTheWriteTransaction_leavesNoStaleEntry() {
+        CacheManager caches = new ConcurrentMapCacheManager("operatorShift");
+        OperatorShiftService service = new OperatorShiftService(operatorShiftRepository, null, new PageCacheVersions(),
+                null, caches);
+        service.self = service;
+        OperatorShift os = new OperatorShift();
+        os.setId(1000L);
+        os.setOperator(operator);
+        os.setShift(shift);
+        when(operatorShiftRepository.findById(1000L)).thenReturn(Optional.of(os));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.unassign(1000L);
+            // a concurrent getById before the commit caches the row as it was
+            caches.getCache("operatorShift").put(1000L, new OperatorShift());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(caches.getCache("operatorShift").get(1000L)).isNull();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.config.cache.PageCacheVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCacheVersionsProcessTest {
+    PageCacheVersions pageCacheVersions = new PageCacheVersions();
+    Cache machines = new ConcurrentMapCache("machines");
+    Cache parts = new ConcurrentMapCache("parts");
+    Map<String, Object> firstPage = Map.of("page", "0", "size", "20");
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void write_makesCachedPagesOfItsListUnreachable() {
+        machines.put(pageCacheVersions.key("machines", firstPage), "machines page");
+        parts.put(pageCacheVersions.key("parts", firstPage), "parts page");
+
+        pageCacheVersions.bump("machines");
+
+        assertThat(machines.get(pageCacheVersions.key("machines", firstPage))).isNull();
+        assertThat(parts.get(pageCacheVersions.key("parts", firstPage))).isNotNull()
+                .extracting(Cache.ValueWrapper::get).isEqualTo("parts page");
+    }
+
+    @Test
+    void sameParams_hitTheSameEntryUntilTheNextWrite() {
+        Object key = pageCacheVersions.key("machines", firstPage);
+
+        assertThat(pageCacheVersions.key("machines", Map.of("size", "20", "page", "0"))).isEqualTo(key);
+        assertThat(pageCacheVersions.key("machines", Map.of("page", "1", "size", "20"))).isNotEqualTo(key);
+        pageCacheVersions.bump("parts", "projects");
+        assertThat(pageCacheVersions.key("machines", firstPage)).isEqualTo(key);
+    }
+
+    @Test
+    void writeInATransaction_invalidatesOnlyAfterCommit() {
+        machines.put(pageCacheVersions.key("machines", firstPage), "machines page");
+        TransactionSynchronizationManager.initSynchronization();
+
+        pageCacheVersions.bump("machines");
+        assertThat(machines.get(pageCacheVersions.key("machines", firstPage))).isNotNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(machines.get(pageCacheVersions.key("machines", firstPage))).isNull();
+    }
+}
@@ -5,16 +5,21 @@ import com.niam.kardan.model.OperationStop;
 import com.niam.kardan.model.basedata.BaseData;
 import com.niam.kardan.model.basedata.ExecutionStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
 import com.niam.kardan.repository.OperationExecutionRepository;
 import com.niam.kardan.repository.OperationStopRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +31,12 @@ class ResumeAfterStopProcessTest {
     private OperationExecutionRepository executionRepository;
     @Mock
     private OperationStopRepository stopRepository;
+    @Mock
+    private BaseDataRegistry baseDataRegistry;
+    @Mock
+    private OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private OperationExecutionService service;
 
@@ -46,6 +57,8 @@ class ResumeAfterStopProcessTest {
     @Test
     void resumeAfterStop_setsResumedStatusAndStartTime() {
         when(executionRepository.findById(1L)).thenReturn(Optional.of(exec));
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.RUNNING))
+                .thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.RUNNING.name()));
         when(executionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         OperationExecution resumed = service.resumeAfterStop(1L);
@@ -54,4 +67,22 @@ class ResumeAfterStopProcessTest {
         assertThat(resumed.getStartTime()).isNotNull();
         verify(executionRepository, times(1)).save(resumed);
     }
-}
\ No newline at end of file
+
+    @Test
+    void resumeAfterStop_closesOpenStopsAndPublishesTheirIds() {
+        OperationStop open = new OperationStop();
+        open.setId(6L);
+        open.setOperationExecution(exec);
+        when(executionRepository.findById(1L)).thenReturn(Optional.of(exec));
+        when(stopRepository.findAllByOperationExecutionIdAndEndedAtIsNull(1L)).thenReturn(List.of(open));
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.RUNNING))
+                .thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.RUNNING.name()));
+
+        service.resumeAfterStop(1L);
+
+        assertThat(open.getEndedAt()).isNotNull();
+        verify(stopRepository).save(open);
+        verify(eventPublisher).publishEvent(argThat((ExecutionEvent e) ->
+                e.getType() == ExecutionEventType.RESUMED && e.getClosedStopIds().equals(List.of(6L))));
+    }
+}
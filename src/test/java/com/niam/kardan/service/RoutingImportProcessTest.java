@@ -0,0 +1,188 @@
+package com.niam.kardan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niam.kardan.config.cache.PageCacheVersions;
+import com.niam.kardan.model.Part;
+import com.niam.kardan.model.PartOperation;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.PartOperationStatus;
+import com.niam.kardan.model.basedata.PartStatus;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.PART_OPERATION_STATUS;
+import com.niam.kardan.model.basedata.enums.PART_STATUS;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ImportRowError;
+import com.niam.kardan.model.dto.KeyId;
+import com.niam.kardan.model.dto.PartRef;
+import com.niam.kardan.model.dto.RoutingImportReport;
+import com.niam.kardan.repository.MachineRepository;
+import com.niam.kardan.repository.OperationRepository;
+import com.niam.kardan.repository.PartOperationRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.PartRepository;
+import com.niam.kardan.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingImportProcessTest {
+    private static final String HEADER = "project,partCode,partName,sequence,operation,machine,estimatedDuration\n";
+
+    @Mock
+    PartRepository partRepository;
+    @Mock
+    PartOperationRepository partOperationRepository;
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Mock
+    ProjectRepository projectRepository;
+    @Mock
+    OperationRepository operationRepository;
+    @Mock
+    MachineRepository machineRepository;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @Mock
+    DispatchQueue dispatchQueue;
+    @Mock
+    TaskReleaseService taskReleaseService;
+    @Mock
+    PageCacheVersions pageCacheVersions;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+    @InjectMocks
+    RoutingImportService routingImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(routingImportService, "self", routingImportService);
+        ReflectionTestUtils.setField(routingImportService, "chunkSize", 500);
+        when(projectRepository.findAllKeyIds()).thenReturn(List.of(new KeyId("P1", 1L), new KeyId("P2", 5L)));
+        when(operationRepository.findAllKeyIds()).thenReturn(List.of(new KeyId("Milling", 2L), new KeyId("Drilling", 3L)));
+        when(machineRepository.findAllKeyIds()).thenReturn(List.of(new KeyId("M1", 4L)));
+        when(baseDataRegistry.get(PartStatus.class, PART_STATUS.NOT_STARTED)).thenReturn(new PartStatus());
+        when(baseDataRegistry.get(PartOperationStatus.class, PART_OPERATION_STATUS.PENDING)).thenReturn(new PartOperationStatus());
+        lenient().when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING)).thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.PENDING.name()));
+        lenient().when(partRepository.findRefsByCodeIn(any())).thenReturn(List.of());
+        lenient().when(partRepository.saveAll(anyIterable())).thenAnswer(inv -> assignIds(inv.getArgument(0), 100L));
+        lenient().when(partOperationTaskRepository.saveAll(anyIterable())).thenAnswer(inv -> assignIds(inv.getArgument(0), 300L));
+    }
+
+    @Test
+    void csv_importsValidRowsChainsTasksAndReportsBadRows() throws Exception {
+        when(partOperationRepository.saveAll(anyIterable())).thenAnswer(inv -> inv.getArgument(0));
+        String csv = HEADER
+                + "P1,A-1,Bracket,10,Milling,M1,600\n"
+                + "P1,A-1,Bracket,20,Drilling,M1,300\n"
+                + "P1,B-1,\"Plate, large\",10,Milling,M9,100\n"
+                + "P1,A-1,Bracket,20,Milling,M1,100\n";
+
+        RoutingImportReport report = routingImportService.importCsv(stream(csv));
+
+        assertThat(report.getRowsRead()).isEqualTo(4);
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(report.getPartsCreated()).isEqualTo(1);
+        assertThat(report.getPartOperationsCreated()).isEqualTo(2);
+        assertThat(report.getTasksCreated()).isEqualTo(2);
+        assertThat(report.getChunksCommitted()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(ImportRowError::line).containsExactly(4L, 5L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartOperationTask>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(partOperationTaskRepository).saveAll(tasks.capture());
+        assertThat(tasks.getValue()).hasSize(2);
+        assertThat(tasks.getValue().get(0).getParentTask()).isNull();
+        assertThat(tasks.getValue().get(1).getParentTask()).isSameAs(tasks.getValue().get(0));
+        verify(dispatchQueue, times(2)).offerAfterCommit(any());
+        verify(pageCacheVersions).bump("parts");
+    }
+
+    @Test
+    void failedChunk_isRetriedRowByRow() throws Exception {
+        ReflectionTestUtils.setField(routingImportService, "chunkSize", 10);
+        when(partOperationRepository.saveAll(anyIterable())).thenAnswer(inv -> {
+            Iterable<PartOperation> operations = inv.getArgument(0);
+            for (PartOperation operation : operations) {
+                if (operation.getSequence() == 99) throw new DataIntegrityViolationException("duplicate key");
+            }
+            return operations;
+        });
+        String csv = HEADER
+                + "P1,A-1,Bracket,10,Milling,M1,600\n"
+                + "P1,B-1,Plate,99,Milling,M1,100\n";
+
+        RoutingImportReport report = routingImportService.importCsv(stream(csv));
+
+        assertThat(report.getRowsImported()).isEqualTo(1);
+        assertThat(report.getChunksCommitted()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(new ImportRowError(3L, "duplicate key"));
+    }
+
+    @Test
+    void existingPartOfAnotherProject_isRejectedNotAttached() throws Exception {
+        when(partRepository.findRefsByCodeIn(any())).thenAnswer(inv -> {
+            Collection<String> codes = inv.getArgument(0);
+            return codes.contains("A-1") ? List.of(new PartRef("A-1", 50L, 1L)) : List.of();
+        });
+        when(partOperationRepository.saveAll(anyIterable())).thenAnswer(inv -> inv.getArgument(0));
+        String csv = HEADER
+                + "P2,A-1,Bracket,10,Milling,M1,600\n"
+                + "P2,B-1,Plate,10,Milling,M1,100\n"
+                + "P1,B-1,Plate,20,Milling,M1,100\n";
+
+        RoutingImportReport report = routingImportService.importCsv(stream(csv));
+
+        assertThat(report.getRowsImported()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(
+                new ImportRowError(4L, "Part B-1 belongs to another project"),
+                new ImportRowError(2L, "Part A-1 belongs to another project"));
+        verify(partRepository, never()).getReferenceById(50L);
+    }
+
+    @Test
+    void createTask_mustBeTrueOrFalse() throws Exception {
+        when(partOperationRepository.saveAll(anyIterable())).thenAnswer(inv -> inv.getArgument(0));
+        String csv = "project,partCode,partName,sequence,operation,machine,createTask\n"
+                + "P1,A-1,Bracket,10,Milling,M1,FALSE\n"
+                + "P1,A-1,Bracket,20,Milling,M1,yes\n";
+
+        RoutingImportReport report = routingImportService.importCsv(stream(csv));
+
+        assertThat(report.getRowsImported()).isEqualTo(1);
+        assertThat(report.getTasksCreated()).isZero();
+        assertThat(report.getErrors()).containsExactly(new ImportRowError(3L, "createTask must be true or false: yes"));
+    }
+
+    private static <T> List<T> assignIds(Iterable<T> entities, long firstId) {
+        List<T> saved = new ArrayList<>();
+        long id = firstId;
+        for (T entity : entities) {
+            if (entity instanceof Part part) part.setId(id++);
+            if (entity instanceof PartOperationTask task) task.setId(id++);
+            saved.add(entity);
+        }
+        return saved;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,91 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.dto.SchedulingMachine;
+import com.niam.kardan.model.dto.SchedulingTask;
+import com.niam.kardan.model.dto.TaskAssignment;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulingProcessTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 3, 8, 0);
+    private static final List<SchedulingMachine> MACHINES = List.of(
+            new SchedulingMachine(701L, 1L), new SchedulingMachine(702L, 1L));
+
+    @Test
+    void earliestDueDateFirst_respectingRoutingOrderAndBalancingMachines() {
+        SchedulingTask urgentFirst = task(1L, 10L, 10, 3600L, 701L, START.plusDays(1));
+        SchedulingTask urgentSecond = task(2L, 10L, 20, 1800L, 701L, START.plusDays(1));
+        SchedulingTask relaxed = task(3L, 20L, 10, 3600L, 701L, START.plusDays(5));
+
+        Map<Long, TaskAssignment> plan = plan(ListScheduler.WorkCalendar.continuous(),
+                List.of(relaxed, urgentSecond, urgentFirst), Map.of());
+
+        assertThat(plan.get(1L)).isEqualTo(new TaskAssignment(1L, 701L, START, START.plusHours(1)));
+        // waits for sequence 10 of its part; stays on its current machine on a tie
+        assertThat(plan.get(2L)).isEqualTo(new TaskAssignment(2L, 701L, START.plusHours(1), START.plusMinutes(90)));
+        // moved to the idle machine of the same type
+        assertThat(plan.get(3L)).isEqualTo(new TaskAssignment(3L, 702L, START, START.plusHours(1)));
+    }
+
+    @Test
+    void busyMachine_andParallelOperations() {
+        SchedulingTask parallelA = task(1L, 10L, 10, 1800L, 701L, null);
+        SchedulingTask parallelB = task(2L, 10L, 10, 3600L, 702L, null);
+        SchedulingTask next = task(3L, 10L, 20, 600L, 701L, null);
+
+        Map<Long, TaskAssignment> plan = plan(ListScheduler.WorkCalendar.continuous(),
+                List.of(parallelA, parallelB, next), Map.of(702L, START.plusMinutes(30)));
+
+        assertThat(plan.get(1L).plannedStart()).isEqualTo(START);
+        assertThat(plan.get(2L)).isEqualTo(new TaskAssignment(2L, 702L, START.plusMinutes(30), START.plusMinutes(90)));
+        // both operations of sequence 10 must end first
+        assertThat(plan.get(3L).plannedStart()).isEqualTo(START.plusMinutes(90));
+    }
+
+    @Test
+    void shiftCalendar_skipsNonWorkingTime() {
+        List<LocalDateTime[]> shifts = new ArrayList<>();
+        shifts.add(new LocalDateTime[]{START.plusHours(5), START.plusHours(9)});
+        shifts.add(new LocalDateTime[]{START, START.plusHours(4)});
+        ListScheduler.WorkCalendar calendar = ListScheduler.WorkCalendar.of(shifts);
+
+        Map<Long, TaskAssignment> plan = plan(calendar, List.of(task(1L, 10L, 10, 5 * 3600L, 701L, null),
+                task(2L, 10L, 20, 3600L, 701L, null)), Map.of());
+
+        // 4h before the break, 1h after it
+        assertThat(plan.get(1L).plannedEnd()).isEqualTo(START.plusHours(6));
+        assertThat(plan.get(2L).plannedEnd()).isEqualTo(START.plusHours(7));
+        assertThat(calendar.align(ListScheduler.toSeconds(START.plusHours(4).plusMinutes(30))))
+                .isEqualTo(ListScheduler.toSeconds(START.plusHours(5)));
+    }
+
+    @Test
+    void taskWithoutMachineOfItsType_isUnschedulable() {
+        SchedulingTask orphan = new SchedulingTask(9L, 10L, 10, 600L, 99L, 701L, null);
+
+        ListScheduler.Result result = new ListScheduler(ListScheduler.WorkCalendar.continuous(), 3600)
+                .schedule(List.of(orphan), MACHINES, Map.of(), START);
+
+        assertThat(result.assignments()).isEmpty();
+        assertThat(result.unschedulable()).containsExactly(9L);
+    }
+
+    private static Map<Long, TaskAssignment> plan(ListScheduler.WorkCalendar calendar, List<SchedulingTask> tasks,
+                                                  Map<Long, LocalDateTime> machineReady) {
+        return new ListScheduler(calendar, 3600).schedule(tasks, MACHINES, machineReady, START).assignments().stream()
+                .collect(Collectors.toMap(TaskAssignment::taskId, Function.identity()));
+    }
+
+    private static SchedulingTask task(Long id, Long partId, int sequence, Long duration, Long machineId,
+                                       LocalDateTime due) {
+        return new SchedulingTask(id, partId, sequence, duration, 1L, machineId, due);
+    }
+}
@@ -12,7 +12,7 @@ import com.niam.kardan.model.basedata.TaskStatus;
 import com.niam.kardan.model.basedata.enums.EXECUTION_STATUS;
 import com.niam.kardan.model.basedata.enums.TASK_STATUS;
 import com.niam.kardan.repository.OperationExecutionRepository;
-import com.niam.kardan.repository.OperatorMachineRepository;
+import com.niam.kardan.repository.OperatorShiftRepository;
 import com.niam.kardan.repository.PartOperationTaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +22,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -38,21 +39,23 @@ class TaskAssignmentProcessTest {
     @Mock
     OperationExecutionRepository operationExecutionRepository;
     @Mock
-    OperatorMachineRepository operatorMachineRepository;
+    OperatorAuthorization operatorAuthorization;
     @Mock
     MachineService machineService;
     @Mock
     UserAccountService operatorService;
     @Mock
     MessageUtil messageUtil;
+    @Mock
+    OperatorShiftRepository operatorShiftRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
     @InjectMocks
     OperationExecutionService operationExecutionService;
     @Mock
-    private GenericBaseDataServiceFactory baseDataServiceFactory;
+    private BaseDataRegistry baseDataRegistry;
     @Mock
-    private BaseDataServiceProxy<TaskStatus> taskStatusService;
-    @Mock
-    private BaseDataServiceProxy<ExecutionStatus> executionStatusService;
+    private DispatchQueue dispatchQueue;
     private PartOperationTask task;
     private UserAccount op1;
     private Machine machine;
@@ -67,9 +70,6 @@ class TaskAssignmentProcessTest {
         task.setTargetMachine(machine);
         op1 = new UserAccount();
         op1.setId(1L);
-
-        when(baseDataServiceFactory.create(TaskStatus.class)).thenReturn(taskStatusService);
-        when(baseDataServiceFactory.create(ExecutionStatus.class)).thenReturn(executionStatusService);
     }
 
     @Test
@@ -77,9 +77,9 @@ class TaskAssignmentProcessTest {
         when(partOperationTaskRepository.findByIdForUpdate(500L)).thenReturn(Optional.of(task));
         when(operatorService.getById(1L)).thenReturn(op1);
         when(machineService.getById(700L)).thenReturn(machine);
-        when(operatorMachineRepository.existsByOperatorIdAndMachineIdAndUnassignedAtIsNull(1L, 700L)).thenReturn(true);
-        when(taskStatusService.getByCode(TASK_STATUS.IN_PROGRESS.name())).thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.IN_PROGRESS.name()));
-        when(executionStatusService.getByCode(EXECUTION_STATUS.STARTED.name())).thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STARTED.name()));
+        when(operatorAuthorization.isAssigned(1L, 700L)).thenReturn(true);
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.IN_PROGRESS)).thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.IN_PROGRESS.name()));
+        when(baseDataRegistry.get(ExecutionStatus.class, EXECUTION_STATUS.STARTED)).thenReturn(BaseData.ofCode(ExecutionStatus.class, EXECUTION_STATUS.STARTED.name()));
         when(operationExecutionRepository.save(any(OperationExecution.class))).thenAnswer(i -> i.getArguments()[0]);
         when(partOperationTaskRepository.save(any(PartOperationTask.class))).thenAnswer(i -> i.getArguments()[0]);
 
@@ -0,0 +1,161 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.common.utils.MessageUtil;
+import com.niam.kardan.config.generation.TaskGenerationProperties;
+import com.niam.kardan.model.Machine;
+import com.niam.kardan.model.Part;
+import com.niam.kardan.model.PartOperation;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.TaskGenerationReport;
+import com.niam.kardan.model.dto.TaskLink;
+import com.niam.kardan.repository.PartOperationRepository;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.PartRepository;
+import com.niam.kardan.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskGenerationProcessTest {
+    @Mock
+    PartRepository partRepository;
+    @Mock
+    PartOperationRepository partOperationRepository;
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Mock
+    ProjectRepository projectRepository;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @Mock
+    DispatchQueue dispatchQueue;
+    @Mock
+    TaskReleaseService taskReleaseService;
+    @Mock
+    MessageUtil messageUtil;
+    @Spy
+    TaskGenerationProperties properties = new TaskGenerationProperties();
+    @InjectMocks
+    TaskGenerationService taskGenerationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskGenerationService, "self", taskGenerationService);
+        taskGenerationService.init();
+        when(baseDataRegistry.get(TaskStatus.class, TASK_STATUS.PENDING)).thenReturn(BaseData.ofCode(TaskStatus.class, TASK_STATUS.PENDING.name()));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        taskGenerationService.shutdown();
+    }
+
+    @Test
+    void partition_chainsTasksPerPartAndSkipsExistingOnes() {
+        PartOperation first = operation(11L, 1L, 10);
+        PartOperation second = operation(12L, 1L, 20);
+        PartOperation third = operation(13L, 1L, 30);
+        PartOperation other = operation(21L, 2L, 10);
+        PartOperationTask existing = new PartOperationTask();
+        existing.setId(90L);
+        when(partOperationRepository.findByPartIdInOrderByPartIdAscSequenceAsc(List.of(1L, 2L)))
+                .thenReturn(List.of(first, second, third, other));
+        when(partOperationTaskRepository.findTaskLinksByPartIdIn(List.of(1L, 2L))).thenReturn(List.of(new TaskLink(11L, 90L)));
+        when(partOperationTaskRepository.getReferenceById(90L)).thenReturn(existing);
+
+        TaskGenerationService.PartitionResult result = taskGenerationService.generatePartition(List.of(1L, 2L));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartOperationTask>> saved = ArgumentCaptor.forClass(List.class);
+        verify(partOperationTaskRepository).saveAll(saved.capture());
+        List<PartOperationTask> tasks = saved.getValue();
+        assertThat(tasks).extracting(PartOperationTask::getPartOperation).containsExactly(second, third, other);
+        assertThat(tasks.get(0).getParentTask()).isSameAs(existing);
+        assertThat(tasks.get(1).getParentTask()).isSameAs(tasks.get(0));
+        assertThat(tasks.get(2).getParentTask()).isNull();
+        assertThat(tasks.get(2).getTargetMachine()).isSameAs(other.getMachine());
+        assertThat(result.tasksCreated()).isEqualTo(3);
+        assertThat(result.operationsSkipped()).isEqualTo(1);
+        verify(taskReleaseService).admit(1L, List.of(tasks.get(0), tasks.get(1)));
+        verify(taskReleaseService).admit(2L, List.of(tasks.get(2)));
+        verify(dispatchQueue, times(3)).offerAfterCommit(any());
+        verify(partRepository).lockByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void project_isSplitIntoPartitionsAndFailuresAreReported() {
+        properties.setPartitionSize(2);
+        when(projectRepository.lockById(5L)).thenReturn(Optional.of(5L));
+        when(partRepository.findIdsByProjectId(5L)).thenReturn(List.of(1L, 2L, 3L));
+        when(partOperationRepository.findByPartIdInOrderByPartIdAscSequenceAsc(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> partIds = inv.getArgument(0);
+            if (partIds.contains(3L)) throw new IllegalStateException("routing unavailable");
+            return List.of(operation(11L, 1L, 10), operation(21L, 2L, 10));
+        });
+        when(partOperationTaskRepository.findTaskLinksByPartIdIn(List.of(1L, 2L))).thenReturn(List.of());
+
+        TaskGenerationReport report = taskGenerationService.generateForProject(5L);
+
+        assertThat(report.getParts()).isEqualTo(3);
+        assertThat(report.getPartitions()).isEqualTo(2);
+        assertThat(report.getTasksCreated()).isEqualTo(2);
+        assertThat(report.getFailedPartitions()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly("routing unavailable");
+        verify(projectRepository).lockById(5L);
+    }
+
+    @Test
+    void partition_locksItsPartsBeforeLookingForExistingTasks() {
+        when(partOperationRepository.findByPartIdInOrderByPartIdAscSequenceAsc(List.of(1L))).thenReturn(List.of());
+        when(partOperationTaskRepository.findTaskLinksByPartIdIn(List.of(1L))).thenReturn(List.of());
+
+        taskGenerationService.generatePartition(List.of(1L));
+
+        InOrder order = inOrder(partRepository, partOperationTaskRepository);
+        order.verify(partRepository).lockByIdIn(List.of(1L));
+        order.verify(partOperationTaskRepository).findTaskLinksByPartIdIn(List.of(1L));
+    }
+
+    @Test
+    void unknownProject_isNotFound() {
+        when(projectRepository.lockById(6L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskGenerationService.generateForProject(6L))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(partRepository);
+    }
+
+    private static PartOperation operation(Long id, Long partId, int sequence) {
+        Part part = new Part();
+        part.setId(partId);
+        Machine machine = new Machine();
+        machine.setId(700L + partId);
+        PartOperation operation = new PartOperation();
+        operation.setId(id);
+        operation.setPart(part);
+        operation.setMachine(machine);
+        operation.setSequence(sequence);
+        return operation;
+    }
+}
@@ -0,0 +1,134 @@
+package com.niam.kardan.service;
+
+import com.niam.kardan.model.Part;
+import com.niam.kardan.model.PartOperation;
+import com.niam.kardan.model.PartOperationTask;
+import com.niam.kardan.model.basedata.BaseData;
+import com.niam.kardan.model.basedata.TaskStatus;
+import com.niam.kardan.model.basedata.enums.TASK_STATUS;
+import com.niam.kardan.model.dto.ExecutionEvent;
+import com.niam.kardan.model.enums.ExecutionEventType;
+import com.niam.kardan.repository.PartOperationTaskRepository;
+import com.niam.kardan.repository.PartProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReleaseProcessTest {
+    private static final Long PART_ID = 1L;
+
+    @Mock
+    PartProgressRepository partProgressRepository;
+    @Mock
+    PartOperationTaskRepository partOperationTaskRepository;
+    @Mock
+    BaseDataRegistry baseDataRegistry;
+    @Mock
+    DispatchQueue dispatchQueue;
+    @InjectMocks
+    TaskReleaseService taskReleaseService;
+
+    private final Map<TASK_STATUS, TaskStatus> statuses = new EnumMap<>(TASK_STATUS.class);
+    private long nextTaskId = 100;
+
+    @BeforeEach
+    void setUp() {
+        for (TASK_STATUS status : TASK_STATUS.values()) {
+            TaskStatus taskStatus = BaseData.ofCode(TaskStatus.class, status.name());
+            taskStatus.setId((long) status.ordinal() + 1);
+            statuses.put(status, taskStatus);
+            lenient().when(baseDataRegistry.get(TaskStatus.class, status)).thenReturn(taskStatus);
+        }
+    }
+
+    @Test
+    void admit_keepsOnlyTheFirstSequenceClaimable() {
+        PartOperationTask first = task(10, TASK_STATUS.PENDING);
+        PartOperationTask second = task(20, TASK_STATUS.PENDING);
+
+        taskReleaseService.admit(PART_ID, List.of(second, first));
+
+        assertThat(TaskReleaseService.isReleased(first)).isTrue();
+        assertThat(second.getTaskStatus().getCode()).isEqualTo(TASK_STATUS.BLOCKED.name());
+        verify(partProgressRepository).lock(PART_ID);
+        verify(partProgressRepository).track(PART_ID, 10);
+    }
+
+    @Test
+    void admit_decidesFromThePersistedSequenceUnderThePartLock() {
+        // another instance released sequence 10; this one has never seen the part
+        when(partProgressRepository.findNextSequence(PART_ID)).thenReturn(10);
+        PartOperationTask later = task(20, TASK_STATUS.PENDING);
+
+        taskReleaseService.admit(PART_ID, List.of(later));
+
+        InOrder order = inOrder(partProgressRepository);
+        order.verify(partProgressRepository).lock(PART_ID);
+        order.verify(partProgressRepository).findNextSequence(PART_ID);
+        assertThat(later.getTaskStatus().getCode()).isEqualTo(TASK_STATUS.BLOCKED.name());
+        verify(partProgressRepository, never()).track(anyLong(), any());
+    }
+
+    @Test
+    void finish_releasesEveryBlockedTaskOfTheNextSequence() {
+        PartOperationTask parallelA = task(20, TASK_STATUS.BLOCKED);
+        PartOperationTask parallelB = task(20, TASK_STATUS.BLOCKED);
+        PartOperationTask later = task(30, TASK_STATUS.BLOCKED);
+        when(partOperationTaskRepository.findOpenByPartId(eq(PART_ID), anyCollection()))
+                .thenReturn(List.of(later, parallelA, parallelB));
+
+        taskReleaseService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.FINISHED).executionId(5L).partId(PART_ID).build());
+
+        verify(partProgressRepository).lock(PART_ID);
+        verify(partOperationTaskRepository).saveAll(List.of(parallelA, parallelB));
+        verify(dispatchQueue).offerAfterCommit(parallelA);
+        verify(dispatchQueue).offerAfterCommit(parallelB);
+        assertThat(later.getTaskStatus().getCode()).isEqualTo(TASK_STATUS.BLOCKED.name());
+        verify(partProgressRepository).track(PART_ID, 20);
+    }
+
+    @Test
+    void finish_ofLastTask_clearsThePart() {
+        when(partOperationTaskRepository.findOpenByPartId(eq(PART_ID), anyCollection())).thenReturn(List.of());
+
+        List<PartOperationTask> released = taskReleaseService.release(PART_ID);
+
+        assertThat(released).isEmpty();
+        verify(partProgressRepository).track(PART_ID, null);
+        verifyNoInteractions(dispatchQueue);
+    }
+
+    @Test
+    void otherTransitions_areIgnored() {
+        taskReleaseService.onExecutionEvent(ExecutionEvent.builder()
+                .type(ExecutionEventType.STOPPED).executionId(5L).partId(PART_ID).build());
+
+        verifyNoInteractions(partProgressRepository, partOperationTaskRepository);
+    }
+
+    private PartOperationTask task(int sequence, TASK_STATUS status) {
+        Part part = new Part();
+        part.setId(PART_ID);
+        PartOperation partOperation = new PartOperation();
+        partOperation.setPart(part);
+        partOperation.setSequence(sequence);
+        PartOperationTask task = new PartOperationTask();
+        task.setId(nextTaskId++);
+        task.setPartOperation(partOperation);
+        task.setTaskStatus(statuses.get(status));
+        return task;
+    }
+}
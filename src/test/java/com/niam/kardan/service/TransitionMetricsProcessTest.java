@@ -0,0 +1,124 @@
+package com.niam.kardan.service;
+
+import com.niam.common.exception.EntityNotFoundException;
+import com.niam.common.exception.ResultResponseStatus;
+import com.niam.kardan.config.aop.MeteredTransition;
+import com.niam.kardan.config.aop.TransitionMetricsAspect;
+import com.niam.kardan.exception.TransitionRejectedException;
+import com.niam.kardan.model.dto.TaskClaimResult;
+import com.niam.kardan.model.enums.TransitionOutcome;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransitionMetricsProcessTest {
+    @Mock
+    ProceedingJoinPoint joinPoint;
+    @Mock
+    MeteredTransition transition;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    TransitionMetricsAspect aspect = new TransitionMetricsAspect(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transition.value()).thenReturn("claim");
+    }
+
+    @Test
+    void completedTransition_isTimedAsSuccess() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(new Object());
+
+        aspect.timeTransition(joinPoint, transition);
+
+        assertThat(transitionCount("success")).isEqualTo(1);
+    }
+
+    @Test
+    void emptyClaimNext_isTimedAsNoPendingTask() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Optional.empty());
+
+        aspect.timeTransition(joinPoint, transition);
+
+        assertThat(transitionCount("no-pending-task")).isEqualTo(1);
+        assertThat(transitionCount("success")).isZero();
+    }
+
+    @Test
+    void failures_areTimedByTheirOutcomeAndRethrown() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new TransitionRejectedException(TransitionOutcome.MACHINE_MISMATCH, "wrong machine"))
+                .thenThrow(new EntityNotFoundException(ResultResponseStatus.ENTITY_NOT_FOUND.getResponseCode(),
+                        ResultResponseStatus.ENTITY_NOT_FOUND.getReasonCode(), "task not found"))
+                .thenThrow(new RuntimeException("database down"));
+
+        assertThatThrownBy(() -> aspect.timeTransition(joinPoint, transition))
+                .isInstanceOf(TransitionRejectedException.class);
+        assertThatThrownBy(() -> aspect.timeTransition(joinPoint, transition))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> aspect.timeTransition(joinPoint, transition))
+                .hasMessage("database down");
+
+        assertThat(transitionCount("machine-mismatch")).isEqualTo(1);
+        assertThat(transitionCount("not-found")).isEqualTo(1);
+        assertThat(transitionCount("error")).isEqualTo(1);
+    }
+
+    @Test
+    void batchClaim_countsEachTaskByOutcome() throws Throwable {
+        when(transition.value()).thenReturn("claim-batch");
+        when(joinPoint.proceed()).thenReturn(List.of(
+                claim(1L, TransitionOutcome.SUCCESS), claim(2L, TransitionOutcome.SUCCESS),
+                claim(3L, TransitionOutcome.NOT_PENDING), claim(4L, null)));
+
+        aspect.timeTransition(joinPoint, transition);
+
+        assertThat(meterRegistry.get("kardan.execution.transition")
+                .tags("transition", "claim-batch", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(claimResults("success")).isEqualTo(2);
+        assertThat(claimResults("not-pending")).isEqualTo(1);
+        assertThat(meterRegistry.find("kardan.execution.claim.results").counters()).hasSize(2);
+    }
+
+    @Test
+    void lockWait_isTimedPerRepositoryMethod() throws Throwable {
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("findAllByIdInForUpdate");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn(List.of());
+
+        aspect.timeLockWait(joinPoint);
+
+        Timer timer = meterRegistry.get("kardan.task.lock.wait").tag("method", "findAllByIdInForUpdate").timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    private long transitionCount(String outcome) {
+        Timer timer = meterRegistry.find("kardan.execution.transition")
+                .tags("transition", "claim", "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double claimResults(String outcome) {
+        return meterRegistry.get("kardan.execution.claim.results")
+                .tags("transition", "claim-batch", "outcome", outcome).counter().count();
+    }
+
+    private static TaskClaimResult claim(Long taskId, TransitionOutcome outcome) {
+        return TaskClaimResult.builder().taskId(taskId).success(outcome == TransitionOutcome.SUCCESS).outcome(outcome).build();
+    }
+}